@@ -0,0 +1,162 @@
+package com.MediHubAPI.benchmark;
+
+import com.MediHubAPI.model.Appointment;
+import com.MediHubAPI.model.ERole;
+import com.MediHubAPI.model.Role;
+import com.MediHubAPI.model.Slot;
+import com.MediHubAPI.model.Specialization;
+import com.MediHubAPI.model.User;
+import com.MediHubAPI.model.enums.AppointmentStatus;
+import com.MediHubAPI.model.enums.AppointmentType;
+import com.MediHubAPI.model.enums.SlotStatus;
+import com.MediHubAPI.model.enums.SlotType;
+import com.MediHubAPI.monitoring.BookingMetrics;
+import com.MediHubAPI.repository.AppointmentRepository;
+import com.MediHubAPI.repository.SlotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Shared in-memory fixtures for the JMH benchmarks.
+ *
+ * <p>Repositories are replaced by JDK proxies so the benchmarks measure the service-layer
+ * code itself and not Mockito or a database.</p>
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User doctor(long id) {
+        Specialization specialization = new Specialization();
+        specialization.setId(1L);
+        specialization.setName("GENERAL_PHYSICIAN");
+
+        User doctor = new User();
+        doctor.setId(id);
+        doctor.setUsername("doctor" + id);
+        doctor.setEmail("doctor" + id + "@medihub.test");
+        doctor.setFirstName("Asha");
+        doctor.setLastName("Rao" + id);
+        doctor.setEnabled(true);
+        doctor.setRoles(new HashSet<>(Set.of(new Role(ERole.DOCTOR))));
+        doctor.setUserRoles(new HashSet<>());
+        doctor.setSpecialization(specialization);
+        return doctor;
+    }
+
+    public static User patient(long id) {
+        User patient = new User();
+        patient.setId(id);
+        patient.setUsername("patient" + id);
+        patient.setEmail("patient" + id + "@medihub.test");
+        patient.setFirstName("Ravi");
+        patient.setLastName("Kumar" + id);
+        patient.setEnabled(true);
+        patient.setRoles(new HashSet<>(Set.of(new Role(ERole.PATIENT))));
+        patient.setUserRoles(new HashSet<>());
+        return patient;
+    }
+
+    /**
+     * A full working day of 10-minute slots from 09:00 to 17:00, every third slot booked.
+     */
+    public static List<Slot> daySlots(User doctor, LocalDate date) {
+        List<Slot> slots = new ArrayList<>();
+        LocalTime current = LocalTime.of(9, 0);
+        long id = 1;
+        while (current.isBefore(LocalTime.of(17, 0))) {
+            Slot slot = Slot.builder()
+                    .id(id)
+                    .doctor(doctor)
+                    .date(date)
+                    .startTime(current)
+                    .endTime(current.plusMinutes(10))
+                    .status(id % 3 == 0 ? SlotStatus.BOOKED : SlotStatus.AVAILABLE)
+                    .type(SlotType.REGULAR)
+                    .build();
+            if (slot.getStatus() == SlotStatus.BOOKED) {
+                slot.setAppointment(appointment(id, doctor, patient(1000 + id), slot));
+            }
+            slots.add(slot);
+            current = current.plusMinutes(10);
+            id++;
+        }
+        return slots;
+    }
+
+    public static Appointment appointment(long id, User doctor, User patient, Slot slot) {
+        return Appointment.builder()
+                .id(id)
+                .doctor(doctor)
+                .patient(patient)
+                .slot(slot)
+                .appointmentDate(slot != null ? slot.getDate() : LocalDate.now())
+                .slotTime(slot != null ? slot.getStartTime() : LocalTime.of(10, 0))
+                .type(AppointmentType.IN_PERSON)
+                .status(AppointmentStatus.BOOKED)
+                .build();
+    }
+
+    /** Booking meters on a throwaway registry, so metric recording is part of the measured cost. */
+    public static BookingMetrics bookingMetrics() {
+        return new BookingMetrics(new SimpleMeterRegistry(),
+                repositoryStub(SlotRepository.class, Map.of()),
+                repositoryStub(AppointmentRepository.class, Map.of()),
+                true, 7);
+    }
+
+    /**
+     * Builds a repository stub that answers {@code findById} (and its {@code findWith...ById}
+     * fetch-plan variants) from {@code byId}, returns
+     * {@code false} for {@code exists*} probes, echoes the argument of {@code save*} and
+     * returns a neutral default for everything else.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> R repositoryStub(Class<R> repositoryType, Map<Object, Object> byId) {
+        return (R) Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    Class<?> returnType = method.getReturnType();
+                    if (name.equals("findById") || (name.startsWith("findWith") && name.endsWith("ById"))) {
+                        return Optional.ofNullable(byId.get(args[0]));
+                    }
+                    if (name.startsWith("save")) {
+                        return args[0];
+                    }
+                    if (name.equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (name.equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (name.equals("toString")) {
+                        return repositoryType.getSimpleName() + "Stub";
+                    }
+                    if (returnType == boolean.class || returnType == Boolean.class) {
+                        return false;
+                    }
+                    if (returnType == Optional.class) {
+                        return Optional.empty();
+                    }
+                    if (List.class.isAssignableFrom(returnType)) {
+                        return List.of();
+                    }
+                    if (returnType == long.class) {
+                        return 0L;
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,56 @@
+package com.MediHubAPI.config;
+
+import com.MediHubAPI.benchmark.BenchmarkFixtures;
+import com.MediHubAPI.dto.AppointmentResponseDto;
+import com.MediHubAPI.dto.SlotResponseDto;
+import com.MediHubAPI.dto.UserDto;
+import com.MediHubAPI.model.Appointment;
+import com.MediHubAPI.model.Slot;
+import com.MediHubAPI.model.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link ModelMapper} mappings used by the list endpoints, configured exactly as
+ * {@link MapperConfig} configures the application bean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private Appointment appointment;
+    private User user;
+    private Slot slot;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new MapperConfig().modelMapper();
+        User doctor = BenchmarkFixtures.doctor(1L);
+        user = BenchmarkFixtures.patient(2L);
+        slot = BenchmarkFixtures.daySlots(doctor, LocalDate.of(2025, 8, 1)).get(2);
+        appointment = BenchmarkFixtures.appointment(1L, doctor, user, slot);
+    }
+
+    @Benchmark
+    public AppointmentResponseDto appointmentToResponseDto() {
+        return modelMapper.map(appointment, AppointmentResponseDto.class);
+    }
+
+    @Benchmark
+    public UserDto userToUserDto() {
+        return modelMapper.map(user, UserDto.class);
+    }
+
+    @Benchmark
+    public SlotResponseDto slotToSlotResponseDto() {
+        return modelMapper.map(slot, SlotResponseDto.class);
+    }
+}
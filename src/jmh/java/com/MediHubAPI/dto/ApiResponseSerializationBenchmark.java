@@ -0,0 +1,65 @@
+package com.MediHubAPI.dto;
+
+import com.MediHubAPI.model.enums.AppointmentType;
+import com.MediHubAPI.model.enums.SlotStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of the paged {@link ApiResponse} envelope returned by the
+ * appointment list endpoints, using the same date settings as {@code application.properties}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<AppointmentResponseDto>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        List<AppointmentResponseDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            AppointmentResponseDto dto = new AppointmentResponseDto();
+            dto.setId((long) i);
+            dto.setDoctorName("Asha Rao");
+            dto.setPatientName("Ravi Kumar" + i);
+            dto.setAppointmentDate(LocalDate.of(2025, 8, 1));
+            dto.setSlotTime(LocalTime.of(9, 0).plusMinutes(10L * i));
+            dto.setStatus("BOOKED");
+            dto.setType(AppointmentType.IN_PERSON);
+            dto.setSlot(new SlotInfoDto((long) i, dto.getSlotTime(), dto.getSlotTime().plusMinutes(10), SlotStatus.BOOKED));
+            content.add(dto);
+        }
+        Page<AppointmentResponseDto> page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+        response = ApiResponse.success(page, "/appointments", "Appointments fetched with filters");
+    }
+
+    @Benchmark
+    public byte[] serializePagedResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
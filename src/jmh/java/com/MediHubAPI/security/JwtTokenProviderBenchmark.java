@@ -0,0 +1,57 @@
+package com.MediHubAPI.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JWT issue and verification, which {@link JwtAuthenticationFilter} pays on every
+ * authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET =
+            "CxeFMdekmPWcmfBydra5EOE2794sYyIFEgF66tzuz7R6sz8ae7z76YsYggC9cveWRQWkNh8SJ3biwhXnhkFkfg==";
+
+    /** 0 disables the parsed-claims cache, i.e. every call verifies the signature. */
+    @Param({"0", "10000"})
+    private int claimsCacheSize;
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 604800000L, claimsCacheSize);
+        authentication = new UsernamePasswordAuthenticationToken("superadmin1", null, List.of());
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    /**
+     * What the filter actually does per request: validate, then parse again for the subject.
+     */
+    @Benchmark
+    public String validateAndExtractUsername() {
+        return tokenProvider.validateToken(token) ? tokenProvider.getUsernameFromToken(token) : null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.MediHubAPI.service.impl;
+
+import com.MediHubAPI.benchmark.BenchmarkFixtures;
+import com.MediHubAPI.dto.HourlySlotGroupDto;
+import com.MediHubAPI.model.Slot;
+import com.MediHubAPI.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AppointmentServiceImpl#groupSlotsByHour(List)}, which runs once per doctor
+ * on every {@code /appointments/doctor-schedules/paged} call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentScheduleBenchmark {
+
+    /**
+     * Number of working days folded into one list, i.e. 48, 240 or 960 slots.
+     */
+    @Param({"1", "5", "20"})
+    private int days;
+
+    private AppointmentServiceImpl appointmentService;
+    private List<Slot> slots;
+
+    @Setup
+    public void setUp() {
+        appointmentService = new AppointmentServiceImpl(null, null, null, null, null, null);
+        User doctor = BenchmarkFixtures.doctor(1L);
+        slots = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            slots.addAll(BenchmarkFixtures.daySlots(doctor, LocalDate.of(2025, 8, 1).plusDays(day)));
+        }
+    }
+
+    @Benchmark
+    public List<HourlySlotGroupDto> groupSlotsByHour() {
+        return appointmentService.groupSlotsByHour(slots);
+    }
+}
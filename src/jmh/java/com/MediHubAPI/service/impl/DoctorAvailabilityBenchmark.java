@@ -0,0 +1,99 @@
+package com.MediHubAPI.service.impl;
+
+import com.MediHubAPI.benchmark.BenchmarkFixtures;
+import com.MediHubAPI.dto.DoctorAvailabilityDto;
+import com.MediHubAPI.repository.SlotRepository;
+import com.MediHubAPI.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the slot generation loop behind {@link DoctorServiceImpl#defineAvailability} and the
+ * per-date overlap check it runs for every requested time range.
+ *
+ * <p>Repositories are no-op stubs, so the numbers are the CPU cost of the loop itself; the real
+ * endpoint adds one {@code exists} query and one insert per generated slot on top.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoctorAvailabilityBenchmark {
+
+    @Param({"10", "30"})
+    private int slotDurationInMinutes;
+
+    /**
+     * Number of ranges already tracked for the date when {@code checkOverlap} is called.
+     */
+    @Param({"4", "32"})
+    private int trackedRanges;
+
+    private DoctorServiceImpl doctorService;
+    private DoctorAvailabilityDto weeklyAvailability;
+    private List<DoctorAvailabilityDto.TimeRange> existingRanges;
+    private DoctorAvailabilityDto.TimeRange probe;
+    private final LocalDate date = LocalDate.of(2025, 8, 1);
+
+    @Setup
+    public void setUp() {
+        Map<Object, Object> users = new HashMap<>();
+        users.put(1L, BenchmarkFixtures.doctor(1L));
+        doctorService = new DoctorServiceImpl(
+                BenchmarkFixtures.repositoryStub(UserRepository.class, users),
+                BenchmarkFixtures.repositoryStub(SlotRepository.class, Map.of()),
+                null,
+                null,
+                BenchmarkFixtures.bookingMetrics());
+
+        Map<DayOfWeek, List<DoctorAvailabilityDto.TimeRange>> weekly = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+            weekly.put(day, List.of(
+                    range(LocalTime.of(9, 0), LocalTime.of(13, 0)),
+                    range(LocalTime.of(14, 0), LocalTime.of(18, 0))));
+        }
+        weeklyAvailability = new DoctorAvailabilityDto();
+        weeklyAvailability.setSlotDurationInMinutes(slotDurationInMinutes);
+        weeklyAvailability.setWeeklyAvailability(weekly);
+
+        existingRanges = new ArrayList<>();
+        LocalTime start = LocalTime.of(0, 0);
+        for (int i = 0; i < trackedRanges; i++) {
+            existingRanges.add(range(start, start.plusMinutes(20)));
+            start = start.plusMinutes(30);
+        }
+        probe = range(LocalTime.of(23, 30), LocalTime.of(23, 50));
+    }
+
+    @Benchmark
+    public void defineWeeklyAvailability() {
+        doctorService.defineAvailability(1L, weeklyAvailability);
+    }
+
+    @Benchmark
+    public Map<LocalDate, List<DoctorAvailabilityDto.TimeRange>> checkOverlap() {
+        Map<LocalDate, List<DoctorAvailabilityDto.TimeRange>> tracker = new HashMap<>();
+        tracker.put(date, new ArrayList<>(existingRanges));
+        doctorService.checkOverlap(tracker, date, probe);
+        return tracker;
+    }
+
+    private static DoctorAvailabilityDto.TimeRange range(LocalTime start, LocalTime end) {
+        DoctorAvailabilityDto.TimeRange range = new DoctorAvailabilityDto.TimeRange();
+        range.setStart(start);
+        range.setEnd(end);
+        return range;
+    }
+}
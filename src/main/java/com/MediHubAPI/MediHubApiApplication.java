@@ -5,23 +5,26 @@ import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.boot.autoconfigure.domain.EntityScan;
-import org.springframework.context.annotation.ComponentScan;
-import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import javax.crypto.SecretKey;
 
+// Entities, repositories and components are all under this package, so the defaults cover them
 @SpringBootApplication
-@EntityScan("com.MediHubAPI.model")
-@EnableJpaRepositories("com.MediHubAPI.repository")
-@ComponentScan("com.MediHubAPI")
+@EnableScheduling
 public class MediHubApiApplication {
 
+	/** Startup steps kept for the timing report and {@code /actuator/startup}. */
+	private static final int STARTUP_STEPS = 20_000;
+
 	public static void main(String[] args) {
 		// To generate key: Uncomment below line, run, then comment it back
 		//generateJwtSecretKey();
 
-		SpringApplication.run(MediHubApiApplication.class, args);
+		SpringApplication application = new SpringApplication(MediHubApiApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		application.run(args);
 	}
 
 	private static void generateJwtSecretKey() {
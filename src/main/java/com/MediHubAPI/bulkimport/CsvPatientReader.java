@@ -0,0 +1,162 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.dto.PatientCreateDto;
+import com.MediHubAPI.exception.HospitalAPIException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RFC 4180 CSV with a header row. Columns are named after {@link PatientCreateDto} properties;
+ * profile sections use a dotted prefix, e.g. {@code address.city} or {@code details.bloodGroup}.
+ * Empty cells are treated as absent and quoted fields may span lines.
+ */
+final class CsvPatientReader extends PatientRecordReader {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final String[][] columns;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+
+    CsvPatientReader(Reader reader, ObjectReader dtoReader) throws IOException {
+        super(reader, dtoReader);
+        List<String> header = readFields();
+        if (header == null) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Import file is empty");
+        }
+        this.columns = new String[header.size()][];
+        ObjectNode probe = NODES.objectNode();
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (name.isEmpty()) {
+                throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Column " + (i + 1) + " has no name");
+            }
+            if (!names.add(name)) {
+                throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Duplicate column: " + name);
+            }
+            columns[i] = name.split("\\.");
+            if (columns[i].length > 2) {
+                throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Unknown column: " + name);
+            }
+            target(probe, columns[i]).putNull(columns[i][columns[i].length - 1]);
+        }
+        for (String[] column : columns) {
+            if (column.length == 2 && names.contains(column[0])) {
+                throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Column " + column[0] + " clashes with its section columns");
+            }
+        }
+        // reject unknown columns once here instead of failing every row on them
+        try {
+            dtoReader.treeToValue(probe, PatientCreateDto.class);
+        } catch (JsonProcessingException e) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Invalid header: " + describe(e));
+        }
+    }
+
+    @Override
+    PatientRecord next() throws IOException {
+        while (true) {
+            long recordLine = line;
+            List<String> values = readFields();
+            if (values == null) {
+                return null;
+            }
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            if (values.size() != columns.length) {
+                return PatientRecord.malformed(recordLine,
+                        "Expected " + columns.length + " columns but found " + values.size());
+            }
+            ObjectNode node = NODES.objectNode();
+            for (int i = 0; i < columns.length; i++) {
+                String value = values.get(i).trim();
+                if (!value.isEmpty()) {
+                    target(node, columns[i]).put(columns[i][columns[i].length - 1], value);
+                }
+            }
+            try {
+                return PatientRecord.parsed(recordLine, dtoReader.treeToValue(node, PatientCreateDto.class));
+            } catch (JsonProcessingException e) {
+                return PatientRecord.malformed(recordLine, describe(e));
+            }
+        }
+    }
+
+    private static ObjectNode target(ObjectNode root, String[] path) {
+        if (path.length == 1) {
+            return root;
+        }
+        JsonNode section = root.get(path[0]);
+        if (section == null) {
+            return root.putObject(path[0]);
+        }
+        if (!(section instanceof ObjectNode object)) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Column " + path[0] + " clashes with its section columns");
+        }
+        return object;
+    }
+
+    /**
+     * Fields of the next record, or {@code null} at the end of the input. The returned list is
+     * reused by the next call.
+     */
+    private List<String> readFields() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        int length = 0;
+        for (; c != -1; c = read()) {
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IOException("Record at line " + line + " exceeds " + MAX_RECORD_CHARS
+                        + " characters; check for an unbalanced quote");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        field.append((char) read());
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
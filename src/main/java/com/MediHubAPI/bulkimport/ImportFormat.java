@@ -0,0 +1,25 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.exception.HospitalAPIException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Input formats the patient import reads: a CSV file with a header row, or one JSON object per
+ * line shaped like {@link com.MediHubAPI.dto.PatientCreateDto}.
+ */
+public enum ImportFormat {
+    CSV,
+    JSONL;
+
+    public static ImportFormat from(String value) {
+        if ("ndjson".equalsIgnoreCase(value)) {
+            return JSONL;
+        }
+        for (ImportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Unsupported import format: " + value);
+    }
+}
@@ -0,0 +1,54 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.dto.PatientCreateDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * One {@link PatientCreateDto} JSON object per line; blank lines are skipped.
+ */
+final class JsonLinesPatientReader extends PatientRecordReader {
+
+    private final StringBuilder text = new StringBuilder();
+    private long line;
+
+    JsonLinesPatientReader(Reader reader, ObjectReader dtoReader) {
+        super(reader, dtoReader);
+    }
+
+    @Override
+    PatientRecord next() throws IOException {
+        while (readLine()) {
+            if (text.toString().isBlank()) {
+                continue;
+            }
+            try {
+                return PatientRecord.parsed(line, dtoReader.readValue(text.toString()));
+            } catch (JsonProcessingException e) {
+                return PatientRecord.malformed(line, describe(e));
+            }
+        }
+        return null;
+    }
+
+    private boolean readLine() throws IOException {
+        text.setLength(0);
+        int c = read();
+        if (c == -1) {
+            return false;
+        }
+        line++;
+        for (; c != -1 && c != '\n'; c = read()) {
+            if (c != '\r') {
+                text.append((char) c);
+            }
+            if (text.length() > MAX_RECORD_CHARS) {
+                throw new IOException("Line " + line + " exceeds " + MAX_RECORD_CHARS + " characters");
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.MediHubAPI.bulkimport;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bulk patient import; tune it with the {@code app.patient-import.*} properties.
+ */
+@Configuration
+@EnableConfigurationProperties(PatientImportProperties.class)
+public class PatientImportConfig {
+}
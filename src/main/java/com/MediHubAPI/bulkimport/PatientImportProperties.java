@@ -0,0 +1,30 @@
+package com.MediHubAPI.bulkimport;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.patient-import")
+public class PatientImportProperties {
+
+    /** Validation worker threads; 0 uses one per available processor. */
+    private int workers = 0;
+
+    /** Records per validation chunk, which is also the JDBC batch and commit size. */
+    private int chunkSize = 1000;
+
+    /** Chunks parsed ahead of the writer; with the chunk size this bounds import memory. */
+    private int chunksInFlight = 8;
+
+    /** Fetch size of the queries that preload the duplicate index. */
+    private int indexFetchSize = 5000;
+
+    /** Rejected rows listed per report; the counters keep counting past it. */
+    private int maxIssues = 1000;
+
+    /** Finished import reports kept for the status endpoint. */
+    private int retainedReports = 20;
+
+    /** Where uploads wait for the background import; empty uses {@code java.io.tmpdir}. */
+    private String spoolDir = "";
+}
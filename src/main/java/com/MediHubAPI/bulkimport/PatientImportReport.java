@@ -0,0 +1,124 @@
+package com.MediHubAPI.bulkimport;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Live progress and outcome of one patient import. The counters are updated while the import
+ * runs, so the status endpoint can be polled from another session; each counter has a single
+ * writing thread (the reader counts rows read, the writer everything else).
+ */
+@Getter
+public class PatientImportReport {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    /** {@code POSSIBLE_DUPLICATE} rows are still imported; the issue only flags them for review. */
+    public enum IssueKind { INVALID, DUPLICATE, POSSIBLE_DUPLICATE, FAILED }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Issue {
+        private final long line;
+        private final IssueKind kind;
+        private final String message;
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final ImportFormat format;
+    private final boolean dryRun;
+    private final boolean createAccounts;
+    private final Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+    private volatile Status status = Status.RUNNING;
+    private volatile String failure;
+
+    private volatile long read;
+    private volatile long invalid;
+    private volatile long duplicates;
+    private volatile long possibleDuplicates;
+    /** Rows imported without the similarity check, because the search index was building or disabled. */
+    private volatile long possibleDuplicatesUnchecked;
+    private volatile long failed;
+    /** Patients written; on a dry run, the ones that would have been. */
+    private volatile long imported;
+    private volatile long accountsCreated;
+    /** Accounts not created because their email already belongs to a user. */
+    private volatile long accountsSkipped;
+
+    private final List<Issue> issues = new CopyOnWriteArrayList<>();
+    private volatile boolean issuesTruncated;
+    @JsonIgnore
+    private final int maxIssues;
+
+    PatientImportReport(ImportFormat format, boolean dryRun, boolean createAccounts, int maxIssues) {
+        this.format = format;
+        this.dryRun = dryRun;
+        this.createAccounts = createAccounts;
+        this.maxIssues = maxIssues;
+    }
+
+    public long getElapsedMillis() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+
+    public long getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? read : read * 1000 / elapsed;
+    }
+
+    void recordRead() {
+        read++;
+    }
+
+    void recordImported(boolean accountCreated) {
+        imported++;
+        if (accountCreated) {
+            accountsCreated++;
+        }
+    }
+
+    void recordPossibleDuplicateUnchecked() {
+        possibleDuplicatesUnchecked++;
+    }
+
+    void recordAccountSkipped() {
+        accountsSkipped++;
+    }
+
+    void recordIssue(long line, IssueKind kind, String message) {
+        switch (kind) {
+            case INVALID -> invalid++;
+            case DUPLICATE -> duplicates++;
+            case POSSIBLE_DUPLICATE -> possibleDuplicates++;
+            case FAILED -> failed++;
+        }
+        if (issues.size() < maxIssues) {
+            issues.add(new Issue(line, kind, message));
+        } else {
+            issuesTruncated = true;
+        }
+    }
+
+    void complete() {
+        if (status == Status.RUNNING) {
+            status = Status.COMPLETED;
+        }
+        finishedAt = Instant.now();
+    }
+
+    void fail(String reason) {
+        if (status == Status.RUNNING) {
+            failure = reason;
+            status = Status.FAILED;
+        }
+    }
+}
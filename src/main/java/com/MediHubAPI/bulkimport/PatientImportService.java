@@ -0,0 +1,395 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.bulkimport.PatientImportReport.Status;
+import com.MediHubAPI.dto.PatientSuggestionDto;
+import com.MediHubAPI.exception.HospitalAPIException;
+import com.MediHubAPI.factory.PatientFactory;
+import com.MediHubAPI.model.ERole;
+import com.MediHubAPI.model.Patient;
+import com.MediHubAPI.model.Role;
+import com.MediHubAPI.model.User;
+import com.MediHubAPI.reference.ReferenceDataRegistry;
+import com.MediHubAPI.search.PatientSearchIndex;
+import com.MediHubAPI.util.PatientToUserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk import of legacy patient records. The request body is spooled to a file and its header
+ * checked on the request thread; the import itself then runs as a background job, followed through
+ * its {@link PatientImportReport}, as a three-stage pipeline:
+ * <ol>
+ *   <li>the job thread stream-parses the file into chunks of {@code chunk-size} records;</li>
+ *   <li>a pool of workers validates chunks in parallel through {@link PatientFactory}, the same
+ *       rules as single registration;</li>
+ *   <li>one writer thread takes the validated chunks <em>in input order</em>, drops duplicates and
+ *       writes the rest in JDBC batches ({@link PatientImportWriter}).</li>
+ * </ol>
+ * The hand-off queue holds at most {@code chunks-in-flight} chunks, which bounds memory whatever
+ * the size of the file; keeping the order makes the first of two duplicate rows win on every run.
+ * Only one import runs at a time, because each preloads its own duplicate index.
+ */
+@Service
+@Slf4j
+public class PatientImportService implements DisposableBean {
+
+    private static final Future<List<ValidatedRecord>> END = CompletableFuture.completedFuture(List.of());
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final PatientFactory patientFactory;
+    private final ReferenceDataRegistry referenceData;
+    private final PatientImportProperties properties;
+    private final ObjectProvider<PatientSearchIndex> searchIndex;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Deque<PatientImportReport> reports = new ArrayDeque<>();
+    private final ExecutorService jobs = Executors.newSingleThreadExecutor(threads("patient-import-job-"));
+
+    public PatientImportService(DataSource dataSource, ObjectMapper objectMapper, PatientFactory patientFactory,
+                                ReferenceDataRegistry referenceData, PatientImportProperties properties, ObjectProvider<PatientSearchIndex> searchIndex) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.patientFactory = patientFactory;
+        this.referenceData = referenceData;
+        this.properties = properties;
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Spools {@code body} to disk, checks its header and starts the import in the background.
+     * Returns the report of the new import while it is still {@code RUNNING}; rows written before
+     * a failure stay committed.
+     *
+     * @param gzip           {@code body} is gzip-compressed
+     * @param createAccounts also create a PATIENT login per imported patient
+     * @param dryRun         validate and deduplicate only, writing nothing
+     * @throws HospitalAPIException 409 if another import is running, 400 if the header is unusable
+     */
+    public PatientImportReport startImport(InputStream body, boolean gzip, ImportFormat format,
+                                           boolean createAccounts, boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new HospitalAPIException(HttpStatus.CONFLICT, "Another patient import is already running");
+        }
+        Path upload = null;
+        PatientRecordReader reader = null;
+        boolean started = false;
+        try {
+            upload = spool(body);
+            InputStream in = new BufferedInputStream(Files.newInputStream(upload), 64 * 1024);
+            reader = PatientRecordReader.open(format, gzip ? new GZIPInputStream(in, 64 * 1024) : in, objectMapper);
+            Role patientRole = createAccounts ? referenceData.findRole(ERole.PATIENT)
+                    .orElseThrow(() -> new HospitalAPIException(HttpStatus.INTERNAL_SERVER_ERROR, "Role not found: PATIENT"))
+                    : null;
+            PatientImportReport report = new PatientImportReport(format, dryRun, createAccounts, properties.getMaxIssues());
+            PatientRecordReader records = reader;
+            Path file = upload;
+            jobs.execute(() -> run(records, report, patientRole, file));
+            remember(report);
+            started = true;
+            log.info("📥 Patient import {} started ({}, accounts={}, dryRun={})", report.getId(), format, createAccounts, dryRun);
+            return report;
+        } catch (IOException e) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Could not read the import: " + e.getMessage());
+        } finally {
+            if (!started) {
+                closeQuietly(reader);
+                delete(upload);
+                running.set(false);
+            }
+        }
+    }
+
+    private void run(PatientRecordReader reader, PatientImportReport report, Role patientRole, Path upload) {
+        try {
+            new Run(reader, report, patientRole).execute();
+            log.info("📥 Patient import {} {} in {} ms: {} read, {} imported, {} duplicates, {} invalid, {} failed",
+                    report.getId(), report.getStatus(), report.getElapsedMillis(), report.getRead(),
+                    report.getImported(), report.getDuplicates(), report.getInvalid(), report.getFailed());
+        } catch (RuntimeException e) {
+            log.error("❌ Patient import {} failed: {}", report.getId(), e.getMessage(), e);
+            report.fail("Import failed: " + e.getMessage());
+            report.complete();
+        } finally {
+            closeQuietly(reader);
+            delete(upload);
+            running.set(false);
+        }
+    }
+
+    private Path spool(InputStream body) throws IOException {
+        Path directory = properties.getSpoolDir() == null || properties.getSpoolDir().isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"))
+                : Path.of(properties.getSpoolDir());
+        Files.createDirectories(directory);
+        Path upload = Files.createTempFile(directory, "patient-import-", ".upload");
+        try {
+            Files.copy(body, upload, StandardCopyOption.REPLACE_EXISTING);
+            return upload;
+        } catch (IOException | RuntimeException e) {
+            delete(upload);
+            throw e;
+        }
+    }
+
+    private static void delete(Path upload) {
+        if (upload == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete import upload {}: {}", upload, e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(PatientRecordReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.debug("Closing the import reader failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        jobs.shutdownNow();
+    }
+
+    /**
+     * The running import, if any, followed by the most recent finished ones.
+     */
+    public List<PatientImportReport> getRecentImports() {
+        synchronized (reports) {
+            return new ArrayList<>(reports);
+        }
+    }
+
+    public Optional<PatientImportReport> getImport(String id) {
+        synchronized (reports) {
+            return reports.stream().filter(report -> report.getId().equals(id)).findFirst();
+        }
+    }
+
+    private void remember(PatientImportReport report) {
+        synchronized (reports) {
+            reports.addFirst(report);
+            while (reports.size() > Math.max(1, properties.getRetainedReports())) {
+                reports.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Only committed patients are in the index, so rows of the same chunk are matched by exact keys
+     * alone. Rows are not checked against the database while the index builds, which would cost a
+     * query each; the report counts them instead.
+     */
+    private List<PatientSuggestionDto> findDuplicates(Patient patient, PatientImportReport report) {
+        PatientSearchIndex index = searchIndex.getIfAvailable();
+        if (index == null || !index.isReady()) {
+            report.recordPossibleDuplicateUnchecked();
+            return List.of();
+        }
+        return index.findDuplicates(patient, 1);
+    }
+
+    /**
+     * One import: owns the worker pools and the hand-off queue between the stages.
+     */
+    private final class Run {
+
+        private final PatientRecordReader reader;
+        private final PatientImportReport report;
+        private final Role patientRole;
+        private final int chunkSize = Math.max(1, properties.getChunkSize());
+        private final BlockingQueue<Future<List<ValidatedRecord>>> queue =
+                new ArrayBlockingQueue<>(Math.max(1, properties.getChunksInFlight()));
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        Run(PatientRecordReader reader, PatientImportReport report, Role patientRole) {
+            this.reader = reader;
+            this.report = report;
+            this.patientRole = patientRole;
+        }
+
+        void execute() {
+            int workers = properties.getWorkers() > 0 ? properties.getWorkers() : Runtime.getRuntime().availableProcessors();
+            ExecutorService validators = Executors.newFixedThreadPool(workers, threads("patient-import-validator-"));
+            ExecutorService writer = Executors.newSingleThreadExecutor(threads("patient-import-writer-"));
+            try {
+                Future<?> writing = writer.submit(this::write);
+                try {
+                    read(validators);
+                } finally {
+                    enqueue(END);
+                    await(writing);
+                }
+            } finally {
+                validators.shutdownNow();
+                writer.shutdownNow();
+                report.complete();
+            }
+        }
+
+        private void read(ExecutorService validators) {
+            try {
+                List<PatientRecord> chunk = new ArrayList<>(chunkSize);
+                PatientRecord record;
+                while (!stopped.get() && (record = reader.next()) != null) {
+                    report.recordRead();
+                    chunk.add(record);
+                    if (chunk.size() == chunkSize) {
+                        List<PatientRecord> full = chunk;
+                        enqueue(validators.submit(() -> validate(full)));
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    List<PatientRecord> last = chunk;
+                    enqueue(validators.submit(() -> validate(last)));
+                }
+            } catch (IOException | RuntimeException e) {
+                stop("Reading the import failed at row " + (report.getRead() + 1) + ": " + e.getMessage());
+            }
+        }
+
+        private List<ValidatedRecord> validate(List<PatientRecord> records) {
+            List<ValidatedRecord> validated = new ArrayList<>(records.size());
+            for (PatientRecord record : records) {
+                if (record.error != null) {
+                    validated.add(ValidatedRecord.invalid(record.line, record.error));
+                    continue;
+                }
+                try {
+                    Patient patient = patientFactory.createPatient(record.dto);
+                    User account = patientRole != null ? PatientToUserMapper.convertPatientToUser(patient, patientRole) : null;
+                    long[] keys = PatientKeyIndex.keysOf(patient.getFileNumber(), patient.getGovtIdNumber(),
+                            patient.getMobileNumber(), patient.getFirstName());
+                    validated.add(ValidatedRecord.valid(record.line, patient, account, keys));
+                } catch (RuntimeException e) {
+                    validated.add(ValidatedRecord.invalid(record.line, e.getMessage()));
+                }
+            }
+            return validated;
+        }
+
+        private void write() {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    PatientKeyIndex index = PatientKeyIndex.load(connection, properties.getIndexFetchSize());
+                    log.info("📥 Patient import {}: duplicate index holds {} keys", report.getId(), index.size());
+                    Integer roleId = patientRole != null ? patientRole.getId() : null;
+                    try (PatientImportWriter writer = new PatientImportWriter(connection, index, report, chunkSize,
+                            roleId, properties.getIndexFetchSize(),
+                            patients -> searchIndex.ifAvailable(search -> search.upsertAll(patients)),
+                            patient -> findDuplicates(patient, report))) {
+                        long chunks = 0;
+                        Future<List<ValidatedRecord>> next;
+                        while (!stopped.get() && (next = queue.take()) != END) {
+                            writer.write(next.get(), report.isDryRun());
+                            if (++chunks % 50 == 0) {
+                                log.info("📥 Patient import {}: {} read, {} imported, {} rejected ({} rows/s)",
+                                        report.getId(), report.getRead(), report.getImported(),
+                                        report.getInvalid() + report.getDuplicates() + report.getFailed(),
+                                        report.getRowsPerSecond());
+                            }
+                        }
+                    }
+                    connection.commit();
+                } catch (SQLException | RuntimeException | ExecutionException e) {
+                    connection.rollback();
+                    stop("Writing the import failed: " + e.getMessage());
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop("Import interrupted");
+            } catch (SQLException e) {
+                stop("Writing the import failed: " + e.getMessage());
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+
+        // blocks while the writer is behind, so the reader never runs more than the queue ahead
+        private void enqueue(Future<List<ValidatedRecord>> chunk) {
+            try {
+                while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                    if (stopped.get()) {
+                        chunk.cancel(true);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop("Import interrupted");
+            }
+        }
+
+        private void await(Future<?> writing) {
+            try {
+                writing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop("Import interrupted");
+            } catch (ExecutionException e) {
+                stop("Writing the import failed: " + e.getCause().getMessage());
+            }
+        }
+
+        private void stop(String reason) {
+            if (stopped.compareAndSet(false, true)) {
+                log.warn("⚠️ Patient import {} stopped: {}", report.getId(), reason);
+                report.fail(reason);
+            }
+        }
+    }
+
+    private static ThreadFactory threads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,346 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.bulkimport.PatientImportReport.IssueKind;
+import com.MediHubAPI.dataset.JdbcBatchWriter;
+import com.MediHubAPI.dto.PatientSuggestionDto;
+import com.MediHubAPI.model.Patient;
+import com.MediHubAPI.model.PatientAddress;
+import com.MediHubAPI.model.PatientDetails;
+import com.MediHubAPI.model.PatientNotes;
+import com.MediHubAPI.model.Referrer;
+import com.MediHubAPI.model.User;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writer stage of an import: drops duplicates against the {@link PatientKeyIndex}, flags rows
+ * resembling an existing patient as possible duplicates, inserts the
+ * remaining patients with their profile sections (and optionally login accounts) as JDBC batches,
+ * and commits once per chunk so a patient is never committed without its sections.
+ *
+ * <p>When a chunk's batch fails, it is rolled back and retried one record at a time, so a single
+ * bad row is reported instead of failing its whole chunk. Runs on one thread.</p>
+ */
+@Slf4j
+final class PatientImportWriter implements AutoCloseable {
+
+    static final String UNUSABLE_PASSWORD_PREFIX = "!";
+
+    private final Connection connection;
+    private final PatientKeyIndex index;
+    private final PatientImportReport report;
+    private final AccountNames accountNames;
+    private final Integer patientRoleId;
+    private final Consumer<List<Patient>> onCommitted;
+    private final Function<Patient, List<PatientSuggestionDto>> findDuplicates;
+    private final List<JdbcBatchWriter> writers = new ArrayList<>();
+    private final JdbcBatchWriter patients;
+    private final JdbcBatchWriter referrers;
+    private final JdbcBatchWriter addresses;
+    private final JdbcBatchWriter photos;
+    private final JdbcBatchWriter details;
+    private final JdbcBatchWriter notes;
+    private final JdbcBatchWriter users;
+    private final JdbcBatchWriter userRoles;
+
+    /**
+     * @param patientRoleId role of the created accounts, or {@code null} to create none
+     * @param onCommitted    receives the patients of every commit, with their generated ids
+     * @param findDuplicates committed patients that may be the same person, best first
+     */
+    PatientImportWriter(Connection connection, PatientKeyIndex index, PatientImportReport report, int chunkSize,
+                        Integer patientRoleId, int indexFetchSize,
+                        Consumer<List<Patient>> onCommitted,
+                        Function<Patient, List<PatientSuggestionDto>> findDuplicates) throws SQLException {
+        this.connection = connection;
+        this.index = index;
+        this.report = report;
+        this.patientRoleId = patientRoleId;
+        this.onCommitted = onCommitted;
+        this.findDuplicates = findDuplicates;
+        this.accountNames = patientRoleId != null ? AccountNames.load(connection, indexFetchSize) : null;
+        this.patients = writer("INSERT INTO patients (title, first_name, last_name, mobile_number, landline_number, "
+                + "file_number, date_of_birth, age_years, age_months, age_days, sex, marital_status, mother_tongue, "
+                + "govt_id_type, govt_id_number, other_hospital_ids, email, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", chunkSize, true);
+        this.referrers = writer("INSERT INTO referrers (referrer_type, referrer_name, referrer_number, referrer_email, "
+                + "consulting_dept, consulting_doctor, main_complaint, patient_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                chunkSize, false);
+        this.addresses = writer("INSERT INTO patient_addresses (address, area, city, pin_code, state, country, "
+                + "nationality, international_patient, patient_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", chunkSize, false);
+        this.photos = writer("INSERT INTO patient_photos (file_path, patient_id) VALUES (?, ?)", chunkSize, false);
+        this.details = writer("INSERT INTO patient_details (blood_group, father_name, mother_name, spouse_name, "
+                + "alternate_contact, education, occupation, religion, ivr_language, birth_weight, patient_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", chunkSize, false);
+        this.notes = writer("INSERT INTO patient_notes (needs_attention, notes, patient_id) VALUES (?, ?, ?)",
+                chunkSize, false);
+        this.users = writer("INSERT INTO users (username, email, password, first_name, last_name, enabled, "
+                + "activation_date) VALUES (?, ?, ?, ?, ?, ?, ?)", chunkSize, true);
+        this.userRoles = writer("INSERT INTO user_roles (user_id, role_id, activation_date) VALUES (?, ?, ?)",
+                chunkSize, false);
+    }
+
+    /**
+     * Deduplicates and, unless {@code dryRun}, writes and commits one validated chunk.
+     */
+    void write(List<ValidatedRecord> chunk, boolean dryRun) throws SQLException {
+        List<ValidatedRecord> accepted = new ArrayList<>(chunk.size());
+        // keys of this chunk stay out of the index until committed, but still catch in-chunk repeats
+        PatientKeyIndex.Pending pending = index.pending();
+        for (ValidatedRecord record : chunk) {
+            if (record.error != null) {
+                report.recordIssue(record.line, IssueKind.INVALID, record.error);
+                continue;
+            }
+            PatientKeyIndex.Kind duplicate = pending.findDuplicate(record.keys);
+            if (duplicate != null) {
+                report.recordIssue(record.line, IssueKind.DUPLICATE, "Patient with the same " + duplicate.getFields()
+                        + " already exists");
+                continue;
+            }
+            pending.add(record.keys);
+            List<PatientSuggestionDto> similar = findDuplicates.apply(record.patient);
+            if (!similar.isEmpty()) {
+                PatientSuggestionDto top = similar.get(0);
+                report.recordIssue(record.line, IssueKind.POSSIBLE_DUPLICATE, "Imported, but may be patient "
+                        + top.getId() + " (" + top.getFirstName() + " " + top.getLastName() + ", score "
+                        + top.getScore() + ")");
+            }
+            accepted.add(record);
+        }
+        // names are claimed once, so a chunk retried row by row keeps them
+        String[] usernames = new String[accepted.size()];
+        for (int i = 0; i < usernames.length; i++) {
+            usernames[i] = accepted.get(i).account != null ? claimAccount(accepted.get(i).account) : null;
+        }
+        if (dryRun) {
+            for (int i = 0; i < usernames.length; i++) {
+                index.add(accepted.get(i).keys);
+                report.recordImported(usernames[i] != null);
+            }
+            return;
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (int i = 0; i < usernames.length; i++) {
+                add(accepted.get(i), usernames[i]);
+            }
+            flushAll();
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            log.warn("⚠️ Import {} batch of {} rows failed ({}), retrying row by row",
+                    report.getId(), accepted.size(), e.getMessage());
+            writeOneByOne(accepted, usernames);
+            return;
+        }
+        List<Patient> committed = new ArrayList<>(accepted.size());
+        for (int i = 0; i < usernames.length; i++) {
+            index.add(accepted.get(i).keys);
+            report.recordImported(usernames[i] != null);
+            committed.add(accepted.get(i).patient);
+        }
+        onCommitted.accept(committed);
+    }
+
+    private void writeOneByOne(List<ValidatedRecord> records, String[] usernames) throws SQLException {
+        int failures = 0;
+        for (int i = 0; i < usernames.length; i++) {
+            ValidatedRecord record = records.get(i);
+            try {
+                add(record, usernames[i]);
+                flushAll();
+                connection.commit();
+                index.add(record.keys);
+                report.recordImported(usernames[i] != null);
+                onCommitted.accept(List.of(record.patient));
+            } catch (SQLException e) {
+                rollback();
+                failures++;
+                report.recordIssue(record.line, IssueKind.FAILED, firstLine(e.getMessage()));
+            }
+        }
+        if (failures == records.size() && records.size() > 1) {
+            // every row failing on its own points at the database, not the data
+            throw new SQLException("Every row of the chunk failed; stopping the import");
+        }
+    }
+
+    /**
+     * Queues the inserts of one patient, and of its account when {@code username} is set.
+     */
+    private void add(ValidatedRecord record, String username) throws SQLException {
+        Patient p = record.patient;
+        patients.add(patientId -> {
+                    p.setId(patientId);
+                    Referrer r = p.getReferrer();
+                    if (r != null) {
+                        referrers.add(r.getReferrerType(), r.getReferrerName(), r.getReferrerNumber(),
+                                r.getReferrerEmail(), r.getConsultingDept(), r.getConsultingDoctor(),
+                                r.getMainComplaint(), patientId);
+                    }
+                    PatientAddress a = p.getAddress();
+                    if (a != null) {
+                        addresses.add(a.getAddress(), a.getArea(), a.getCity(), a.getPinCode(), a.getState(),
+                                a.getCountry(), a.getNationality(), a.isInternationalPatient(), patientId);
+                    }
+                    if (p.getPhoto() != null) {
+                        photos.add(p.getPhoto().getFilePath(), patientId);
+                    }
+                    PatientDetails d = p.getDetails();
+                    if (d != null) {
+                        details.add(d.getBloodGroup(), d.getFatherName(), d.getMotherName(), d.getSpouseName(),
+                                d.getAlternateContact(), d.getEducation(), d.getOccupation(), d.getReligion(),
+                                d.getIvrLanguage(), d.getBirthWeight(), patientId);
+                    }
+                    PatientNotes n = p.getNotes();
+                    if (n != null) {
+                        notes.add(n.isNeedsAttention(), n.getNotes(), patientId);
+                    }
+                },
+                p.getTitle(), p.getFirstName(), p.getLastName(), p.getMobileNumber(), p.getLandlineNumber(),
+                p.getFileNumber(), p.getDateOfBirth(), p.getAgeYears(), p.getAgeMonths(), p.getAgeDays(),
+                p.getSex() != null ? p.getSex().name() : null,
+                p.getMaritalStatus() != null ? p.getMaritalStatus().name() : null,
+                p.getMotherTongue(), p.getGovtIdType(), p.getGovtIdNumber(), p.getOtherHospitalIds(), p.getEmail(),
+                LocalDateTime.now());
+
+        if (username != null) {
+            User account = record.account;
+            LocalDate activated = account.getActivationDate();
+            users.add(userId -> userRoles.add(userId, patientRoleId, activated),
+                    username, account.getEmail(), unusablePassword(), account.getFirstName(), account.getLastName(),
+                    account.isEnabled(), activated);
+        }
+    }
+
+    /**
+     * Reserves a free username for {@code account}, suffixing the mapped one on collision; returns
+     * {@code null} when its email already belongs to another user.
+     */
+    private String claimAccount(User account) {
+        if (account.getEmail() != null && !accountNames.claimEmail(account.getEmail())) {
+            report.recordAccountSkipped();
+            return null;
+        }
+        String base = account.getUsername();
+        String username = base;
+        for (int suffix = 2; !accountNames.claimUsername(username); suffix++) {
+            username = base + "_" + suffix;
+        }
+        return username;
+    }
+
+    /**
+     * A distinct value per account that is never a valid BCrypt hash, so the login stays locked
+     * until an administrator sets a real password for it.
+     */
+    static String unusablePassword() {
+        return UNUSABLE_PASSWORD_PREFIX + UUID.randomUUID();
+    }
+
+    // driver messages often append the whole SQL statement
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "Insert failed";
+        }
+        int newline = message.indexOf('\n');
+        return newline > 0 ? message.substring(0, newline) : message;
+    }
+
+    private void flushAll() throws SQLException {
+        // parents first: their generated keys are what queue the child rows
+        for (JdbcBatchWriter writer : writers) {
+            writer.flush();
+        }
+    }
+
+    private void rollback() throws SQLException {
+        connection.rollback();
+        for (JdbcBatchWriter writer : writers) {
+            writer.clear();
+        }
+    }
+
+    private JdbcBatchWriter writer(String sql, int batchSize, boolean returnKeys) throws SQLException {
+        JdbcBatchWriter writer = new JdbcBatchWriter(connection, sql, batchSize, returnKeys, false);
+        writers.add(writer);
+        return writer;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        for (JdbcBatchWriter writer : writers) {
+            try {
+                writer.clear();
+                writer.close();
+            } catch (SQLException e) {
+                failure = failure != null ? failure : e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Usernames and emails taken in {@code users}, hashed like the patient keys; claimed names are
+     * added as they are handed out. Username uniqueness is case-insensitive, as in MySQL.
+     */
+    private static final class AccountNames {
+
+        private final LongHashSet usernames;
+        private final LongHashSet emails;
+
+        private AccountNames(LongHashSet usernames, LongHashSet emails) {
+            this.usernames = usernames;
+            this.emails = emails;
+        }
+
+        static AccountNames load(Connection connection, int fetchSize) throws SQLException {
+            LongHashSet usernames = new LongHashSet(1024);
+            LongHashSet emails = new LongHashSet(1024);
+            try (PreparedStatement ps = connection.prepareStatement("SELECT username, email FROM users",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        usernames.add(hash(rs.getString(1)));
+                        if (rs.getString(2) != null) {
+                            emails.add(hash(rs.getString(2)));
+                        }
+                    }
+                }
+            }
+            return new AccountNames(usernames, emails);
+        }
+
+        boolean claimUsername(String username) {
+            return usernames.add(hash(username));
+        }
+
+        boolean claimEmail(String email) {
+            return emails.add(hash(email));
+        }
+
+        private static long hash(String value) {
+            return LongHashSet.hash(value.trim().toLowerCase(Locale.ROOT), 0);
+        }
+    }
+}
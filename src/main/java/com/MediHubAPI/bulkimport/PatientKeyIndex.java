@@ -0,0 +1,161 @@
+package com.MediHubAPI.bulkimport;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Identity keys of every known patient, as 64-bit hashes of normalized values, so an import can
+ * reject duplicates of existing rows (and of earlier rows in the same file) without a query per
+ * record. A 64-bit hash collision between two different values is negligible at hospital scale.
+ *
+ * <p>The mobile key includes the first name: families commonly register under one phone number,
+ * so the number alone does not identify a patient.</p>
+ */
+final class PatientKeyIndex {
+
+    @Getter
+    @RequiredArgsConstructor
+    enum Kind {
+        FILE_NUMBER("fileNumber"),
+        GOVT_ID("govtIdNumber"),
+        MOBILE("mobileNumber and firstName");
+
+        private final String fields;
+    }
+
+    private final LongHashSet keys;
+
+    private PatientKeyIndex(LongHashSet keys) {
+        this.keys = keys;
+    }
+
+    static PatientKeyIndex load(Connection connection, int fetchSize) throws SQLException {
+        long count;
+        try (PreparedStatement ps = connection.prepareStatement("SELECT COUNT(*) FROM patients");
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            count = rs.getLong(1);
+        }
+        LongHashSet keys = new LongHashSet((int) Math.min(count * 3, Integer.MAX_VALUE / 4));
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT file_number, govt_id_number, mobile_number, first_name FROM patients",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(fetchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    for (long key : keysOf(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4))) {
+                        if (key != 0) {
+                            keys.add(key);
+                        }
+                    }
+                }
+            }
+        }
+        return new PatientKeyIndex(keys);
+    }
+
+    /**
+     * Keys indexed by {@link Kind#ordinal()}; {@code 0} where the value is missing or too short
+     * to identify anyone.
+     */
+    static long[] keysOf(String fileNumber, String govtIdNumber, String mobileNumber, String firstName) {
+        long[] keys = new long[Kind.values().length];
+        keys[Kind.FILE_NUMBER.ordinal()] = hash(Kind.FILE_NUMBER, normalize(fileNumber, false), 1);
+        keys[Kind.GOVT_ID.ordinal()] = hash(Kind.GOVT_ID, normalize(govtIdNumber, false), 4);
+        String mobile = normalize(mobileNumber, true);
+        if (mobile.length() > 10) {
+            // drop the country code or trunk prefix: +91 98200 12345 and 098200 12345 are one number
+            mobile = mobile.substring(mobile.length() - 10);
+        }
+        String name = normalize(firstName, false);
+        keys[Kind.MOBILE.ordinal()] = mobile.length() < 7 || name.isEmpty() ? 0
+                : hash(Kind.MOBILE, mobile + '|' + name, 1);
+        return keys;
+    }
+
+    /**
+     * The first kind of key already present, or {@code null} if the record is new.
+     */
+    Kind findDuplicate(long[] recordKeys) {
+        for (Kind kind : Kind.values()) {
+            long key = recordKeys[kind.ordinal()];
+            if (key != 0 && keys.contains(key)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+
+    void add(long[] recordKeys) {
+        for (long key : recordKeys) {
+            if (key != 0) {
+                keys.add(key);
+            }
+        }
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    // letters and digits only, upper-cased; digitsOnly keeps just the digits
+    private static String normalize(String value, boolean digitsOnly) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c) || (!digitsOnly && Character.isLetter(c))) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toUpperCase(Locale.ROOT);
+    }
+
+    // seeded with the kind, so equal values of different kinds never collide
+    private static long hash(Kind kind, String value, int minLength) {
+        return value.length() < minLength ? 0 : LongHashSet.hash(value, kind.ordinal() + 1);
+    }
+
+    /**
+     * A view for one chunk: duplicates are checked against the index and the chunk's own keys,
+     * which only reach the index once their rows are committed.
+     */
+    Pending pending() {
+        return new Pending();
+    }
+
+    final class Pending {
+
+        private final LongHashSet chunkKeys = new LongHashSet(64);
+
+        Kind findDuplicate(long[] recordKeys) {
+            Kind existing = PatientKeyIndex.this.findDuplicate(recordKeys);
+            if (existing != null) {
+                return existing;
+            }
+            for (Kind kind : Kind.values()) {
+                long key = recordKeys[kind.ordinal()];
+                if (key != 0 && chunkKeys.contains(key)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+
+        void add(long[] recordKeys) {
+            for (long key : recordKeys) {
+                if (key != 0) {
+                    chunkKeys.add(key);
+                }
+            }
+        }
+    }
+}
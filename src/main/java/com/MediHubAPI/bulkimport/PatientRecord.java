@@ -0,0 +1,27 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.dto.PatientCreateDto;
+
+/**
+ * One input record as read from the file: either a parsed DTO or the reason it did not parse.
+ */
+final class PatientRecord {
+
+    final long line;
+    final PatientCreateDto dto;
+    final String error;
+
+    private PatientRecord(long line, PatientCreateDto dto, String error) {
+        this.line = line;
+        this.dto = dto;
+        this.error = error;
+    }
+
+    static PatientRecord parsed(long line, PatientCreateDto dto) {
+        return new PatientRecord(line, dto, null);
+    }
+
+    static PatientRecord malformed(long line, String error) {
+        return new PatientRecord(line, null, error);
+    }
+}
@@ -0,0 +1,107 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.dto.PatientCreateDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pulls {@link PatientRecord}s off an import stream one at a time, so memory does not depend on
+ * the size of the file. Records that do not parse come back as malformed records and the reader
+ * moves on; only an unusable stream (bad header, oversized record) fails with an exception.
+ */
+abstract class PatientRecordReader implements Closeable {
+
+    /** Longest record accepted; anything longer is almost always an unbalanced quote. */
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[16 * 1024];
+    private int position;
+    private int limit;
+    private boolean started;
+    protected final ObjectReader dtoReader;
+
+    protected PatientRecordReader(Reader reader, ObjectReader dtoReader) {
+        this.reader = reader;
+        this.dtoReader = dtoReader;
+    }
+
+    static PatientRecordReader open(ImportFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        // a misspelt column or field would otherwise drop its data silently on every row
+        ObjectReader dtoReader = objectMapper.readerFor(PatientCreateDto.class)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return format == ImportFormat.CSV
+                ? new CsvPatientReader(reader, dtoReader)
+                : new JsonLinesPatientReader(reader, dtoReader);
+    }
+
+    /**
+     * The next record, or {@code null} at the end of the input.
+     */
+    abstract PatientRecord next() throws IOException;
+
+    protected int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    protected int peek() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+            // a UTF-8 byte order mark would otherwise end up in the first column name
+            if (!started && buffer[0] == '\uFEFF') {
+                position = 1;
+                started = true;
+                return peek();
+            }
+            started = true;
+        }
+        return buffer[position];
+    }
+
+    protected static String describe(JsonProcessingException e) {
+        if (e instanceof UnrecognizedPropertyException unknown) {
+            return "Unknown field: " + unknown.getPropertyName();
+        }
+        String message = e.getOriginalMessage();
+        int newline = message.indexOf('\n');
+        if (newline > 0) {
+            message = message.substring(0, newline);
+        }
+        if (e instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            StringBuilder path = new StringBuilder();
+            for (JsonMappingException.Reference reference : mapping.getPath()) {
+                if (reference.getFieldName() != null) {
+                    path.append(path.isEmpty() ? "" : ".").append(reference.getFieldName());
+                }
+            }
+            return path + ": " + message;
+        }
+        return message;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.model.Patient;
+import com.MediHubAPI.model.User;
+
+/**
+ * Output of the validation stage: a patient ready to insert, with its duplicate keys and the
+ * login account to create, or the reason the record was rejected.
+ */
+final class ValidatedRecord {
+
+    final long line;
+    final Patient patient;
+    final User account;
+    final long[] keys;
+    final String error;
+
+    private ValidatedRecord(long line, Patient patient, User account, long[] keys, String error) {
+        this.line = line;
+        this.patient = patient;
+        this.account = account;
+        this.keys = keys;
+        this.error = error;
+    }
+
+    static ValidatedRecord valid(long line, Patient patient, User account, long[] keys) {
+        return new ValidatedRecord(line, patient, account, keys, null);
+    }
+
+    static ValidatedRecord invalid(long line, String error) {
+        return new ValidatedRecord(line, null, null, null, error);
+    }
+}
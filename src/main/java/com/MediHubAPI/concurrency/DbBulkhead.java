@@ -0,0 +1,91 @@
+package com.MediHubAPI.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fair semaphore in front of the connection pool. Callers beyond the pool size park here, which
+ * is cheap on virtual threads, instead of inside Hikari's wait queue; a caller that cannot get a
+ * permit within the timeout fails fast with a transient connection error.
+ */
+public class DbBulkhead implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int size;
+    private final Duration acquireTimeout;
+
+    private volatile Timer waitTimer;
+    private volatile Counter rejected;
+
+    public DbBulkhead(int size, Duration acquireTimeout) {
+        this.permits = new Semaphore(size, true);
+        this.size = size;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public void acquire() throws SQLException {
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            // Timed only: the untimed tryAcquire() barges ahead of parked callers and defeats fairness
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database bulkhead permit", e);
+        }
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            Counter counter = rejected;
+            if (counter != null) {
+                counter.increment();
+            }
+            throw new SQLTransientConnectionException("Database bulkhead full: no permit within "
+                    + acquireTimeout.toMillis() + " ms (" + size + " permits)");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("medihub.db.bulkhead.available", this, DbBulkhead::getAvailable)
+                .description("Free database bulkhead permits")
+                .register(registry);
+        Gauge.builder("medihub.db.bulkhead.waiting", this, DbBulkhead::getWaiting)
+                .description("Callers parked waiting for a database bulkhead permit")
+                .register(registry);
+        waitTimer = Timer.builder("medihub.db.bulkhead.wait")
+                .description("Time spent waiting for a database bulkhead permit")
+                .publishPercentileHistogram()
+                .register(registry);
+        rejected = Counter.builder("medihub.db.bulkhead.rejected")
+                .description("Connection requests that timed out waiting for a permit")
+                .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.MediHubAPI.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource in a {@link BulkheadDataSource} sized to the Hikari pool.
+ * Enable with {@code app.db-bulkhead.enabled=true} (the {@code virtual-threads} profile does).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.db-bulkhead", name = "enabled")
+public class DbBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor dbBulkheadDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || isWrapped(dataSource)) {
+                    return bean;
+                }
+                DbBulkheadProperties properties = Binder.get(environment)
+                        .bind("app.db-bulkhead", DbBulkheadProperties.class)
+                        .orElseGet(DbBulkheadProperties::new);
+                HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+                int permits = properties.getPermits() > 0 ? properties.getPermits()
+                        : hikari != null ? hikari.getMaximumPoolSize() : 10;
+                Duration timeout = properties.getAcquireTimeout() != null ? properties.getAcquireTimeout()
+                        : Duration.ofMillis(hikari != null ? hikari.getConnectionTimeout() : 30_000);
+                log.info("🚧 Database bulkhead on '{}': {} permits, {} ms acquire timeout", beanName, permits, timeout.toMillis());
+                return new BulkheadDataSource(dataSource, new DbBulkhead(permits, timeout));
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dbBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            BulkheadDataSource bulkhead = DataSourceUnwrapper.unwrap(dataSource, BulkheadDataSource.class);
+            if (bulkhead != null) {
+                bulkhead.getBulkhead().bindTo(registry);
+            }
+        };
+    }
+
+    private static boolean isWrapped(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(BulkheadDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.MediHubAPI.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.db-bulkhead")
+public class DbBulkheadProperties {
+
+    /** Gates JDBC connection checkout behind a semaphore (on in the {@code virtual-threads} profile). */
+    private boolean enabled = false;
+
+    /** Concurrent connections allowed; 0 sizes the bulkhead to the Hikari pool. */
+    private int permits = 0;
+
+    /** How long a caller may park for a permit; unset uses Hikari's connection timeout. */
+    private Duration acquireTimeout;
+}
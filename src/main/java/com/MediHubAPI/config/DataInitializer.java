@@ -3,47 +3,100 @@ package com.MediHubAPI.config;
 import com.MediHubAPI.model.ERole;
 import com.MediHubAPI.model.Role;
 import com.MediHubAPI.model.Specialization;
+import com.MediHubAPI.reference.ReferenceDataRegistry;
 import com.MediHubAPI.repository.RoleRepository;
 import com.MediHubAPI.repository.SpecializationRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds roles and specializations: one read per table and one batched insert of whatever is
+ * missing, in a single transaction. Safe to run on every start and from several instances at once.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class DataInitializer implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
     private final SpecializationRepository specializationRepository;
+    private final ReferenceDataRegistry referenceData;
+    private final TransactionTemplate transactionTemplate;
+
+    public DataInitializer(RoleRepository roleRepository,
+                           SpecializationRepository specializationRepository,
+                           ReferenceDataRegistry referenceData,
+                           PlatformTransactionManager transactionManager) {
+        this.roleRepository = roleRepository;
+        this.specializationRepository = specializationRepository;
+        this.referenceData = referenceData;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
     public void run(String... args) {
-        // Initialize roles if they don't exist
-        for (ERole role : ERole.values()) {
-            if (!roleRepository.existsByName(role)) {
-                roleRepository.save(new Role(role));
-            }
+        int seeded;
+        try {
+            seeded = transactionTemplate.execute(status -> seedMissing());
+        } catch (DataIntegrityViolationException e) {
+            // another instance seeded the same rows concurrently; whatever it missed is still missing
+            log.info("🌱 Reference data seeded concurrently by another instance, re-checking");
+            seeded = transactionTemplate.execute(status -> seedMissing());
+        }
+        if (seeded > 0) {
+            log.info("🌱 Seeded {} reference-data rows", seeded);
         }
 
-        addSpecializationIfNotExists("ORTHOPEDIC", "Orthopedics", "Bone and joint specialist");
-        addSpecializationIfNotExists("DERMATOLOGIST", "Dermatology", "Skin specialist");
-        addSpecializationIfNotExists("GYNECOLOGIST", "Gynecology", "Women’s health specialist");
-        addSpecializationIfNotExists("GENERAL_PHYSICIAN", "General Medicine", "General health specialist");
-        addSpecializationIfNotExists("PSYCHIATRIST", "Psychiatry", "Mental health specialist");
-        addSpecializationIfNotExists("ENDOCRINOLOGIST", "Endocrinology", "Hormonal specialist");
-        addSpecializationIfNotExists("PEDIATRICIAN", "Pediatrics", "Child specialist");
+        // Warm the registry so the first user write doesn't pay for it
+        referenceData.refresh();
+    }
+
+    private int seedMissing() {
+        // Initialize roles if they don't exist (one read for all of them)
+        EnumSet<ERole> missingRoles = EnumSet.allOf(ERole.class);
+        roleRepository.findAll().forEach(role -> missingRoles.remove(role.getName()));
+        if (!missingRoles.isEmpty()) {
+            roleRepository.saveAll(missingRoles.stream().map(Role::new).toList());
+        }
+
+        Set<String> existing = specializationRepository.findAll().stream()
+                .map(s -> s.getName().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        List<Specialization> missing = new ArrayList<>();
+        addSpecializationIfNotExists(existing, missing, "ORTHOPEDIC", "Orthopedics", "Bone and joint specialist");
+        addSpecializationIfNotExists(existing, missing, "DERMATOLOGIST", "Dermatology", "Skin specialist");
+        addSpecializationIfNotExists(existing, missing, "GYNECOLOGIST", "Gynecology", "Women’s health specialist");
+        addSpecializationIfNotExists(existing, missing, "GENERAL_PHYSICIAN", "General Medicine", "General health specialist");
+        addSpecializationIfNotExists(existing, missing, "PSYCHIATRIST", "Psychiatry", "Mental health specialist");
+        addSpecializationIfNotExists(existing, missing, "ENDOCRINOLOGIST", "Endocrinology", "Hormonal specialist");
+        addSpecializationIfNotExists(existing, missing, "PEDIATRICIAN", "Pediatrics", "Child specialist");
+        if (!missing.isEmpty()) {
+            specializationRepository.saveAll(missing);
+        }
+        return missingRoles.size() + missing.size();
     }
 
-    private void addSpecializationIfNotExists(String name, String department, String description) {
-        boolean exists = specializationRepository.findAll()
-                .stream()
-                .anyMatch(s -> s.getName().equalsIgnoreCase(name));
-        if (!exists) {
+    private void addSpecializationIfNotExists(Set<String> existing, List<Specialization> missing,
+                                              String name, String department, String description) {
+        if (!existing.contains(name.toUpperCase(Locale.ROOT))) {
             Specialization spec = new Specialization();
             spec.setName(name);
             spec.setDepartment(department);
             spec.setDescription(description);
-            specializationRepository.save(spec);
+            missing.add(spec);
         }
     }
 }
@@ -23,9 +23,14 @@ public class MapperConfig {
                 .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE)
                 .setAmbiguityIgnored(true);
 
-        // ✅ PatientCreateDto → Patient (skip ID)
+        // ✅ PatientCreateDto → Patient (skip ID; date and enums are parsed by PatientFactory)
         modelMapper.createTypeMap(PatientCreateDto.class, Patient.class)
-                .addMappings(mapper -> mapper.skip(Patient::setId));
+                .addMappings(mapper -> {
+                    mapper.skip(Patient::setId);
+                    mapper.skip(Patient::setDateOfBirth);
+                    mapper.skip(Patient::setSex);
+                    mapper.skip(Patient::setMaritalStatus);
+                });
 
         // ✅ User → DoctorProfileDto (skip ID)
         modelMapper.createTypeMap(User.class, DoctorProfileDto.class)
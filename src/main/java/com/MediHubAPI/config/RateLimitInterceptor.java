@@ -1,5 +1,6 @@
 package com.MediHubAPI.config;
 
+import com.MediHubAPI.tracing.TracingFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
@@ -20,7 +21,9 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         response.setHeader("X-RateLimit-Limit", LIMIT);
         response.setHeader("X-RateLimit-Remaining", REMAINING);
         response.setHeader("X-RateLimit-Reset", RESET_SECONDS);
-        response.setHeader("X-Request-ID", UUID.randomUUID().toString());
+        // TracingFilter already assigned the id (and put it in the MDC); only fall back when it did not run
+        Object requestId = request.getAttribute(TracingFilter.REQUEST_ID_ATTRIBUTE);
+        response.setHeader(TracingFilter.REQUEST_ID_HEADER, requestId != null ? requestId.toString() : UUID.randomUUID().toString());
         return true;
     }
 }
@@ -0,0 +1,27 @@
+package com.MediHubAPI.config;
+
+import com.MediHubAPI.monitoring.BookingMetrics;
+import com.MediHubAPI.photo.PhotoGarbageCollector;
+import com.MediHubAPI.routing.ReplicaLagMonitor;
+import com.MediHubAPI.search.PatientSearchIndex;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that must stay eager when {@code spring.main.lazy-initialization} is on (the
+ * {@code fast-start} profile): anything doing work nobody asks it for, such as scheduled jobs.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        // each owns a @Scheduled job (slot-inventory refresh, replica heartbeat, photo garbage
+        // collection, search-index catch-up) that is registered only once the bean exists. Boot's
+        // ScheduledBeanLazyInitializationExcludeFilter covers them too while @EnableScheduling is on;
+        // FastStartContextTest checks they are created
+        return LazyInitializationExcludeFilter.forBeanTypes(BookingMetrics.class, ReplicaLagMonitor.class,
+                PhotoGarbageCollector.class, PatientSearchIndex.class);
+    }
+}
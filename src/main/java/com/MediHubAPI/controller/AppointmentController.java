@@ -4,17 +4,26 @@ import com.MediHubAPI.dto.ApiResponse;
 import com.MediHubAPI.dto.AppointmentBookingDto;
 import com.MediHubAPI.dto.AppointmentResponseDto;
 import com.MediHubAPI.dto.DoctorScheduleDto;
+import com.MediHubAPI.export.AcceptEncoding;
+import com.MediHubAPI.export.AppointmentExport;
+import com.MediHubAPI.export.AppointmentExportWriter;
+import com.MediHubAPI.export.ExportFormat;
 import com.MediHubAPI.model.enums.AppointmentStatus;
 import com.MediHubAPI.service.AppointmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -25,6 +34,7 @@ import java.util.List;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/book")
     public ResponseEntity<ApiResponse<AppointmentResponseDto>> bookAppointment(
@@ -92,6 +102,45 @@ public class AppointmentController {
         return ResponseEntity.ok(ApiResponse.success(appointments, "/appointments", "Appointments fetched with filters"));
     }
 
+    /**
+     * Streams appointments in {@code [from, to]} as CSV or NDJSON, gzip-compressed when the client
+     * accepts it. Rows go from a database cursor straight to the response.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String doctorName,
+            @RequestParam(required = false) AppointmentStatus status,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        AppointmentExport export = appointmentService.exportAppointments(from, to, doctorName, status);
+        boolean gzip = AcceptEncoding.allowsGzip(acceptEncoding);
+        log.info("📤 Exporting appointments from={} to={} doctorName={} status={} format={} gzip={}",
+                from, to, doctorName, status, exportFormat, gzip);
+
+        StreamingResponseBody body = out -> {
+            try (AppointmentExportWriter writer = AppointmentExportWriter.open(exportFormat, out, gzip, objectMapper)) {
+                long rows = export.forEach(writer);
+                writer.finish();
+                log.info("📤 Exported {} appointments from={} to={}", rows, from, to);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        String filename = "appointments-" + from + "-" + to + "." + exportFormat.getExtension();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @PutMapping("/{id}/arrive")
     public ResponseEntity<ApiResponse<Void>> markAsArrived(@PathVariable Long id) {
         log.info("✅ Marking appointment ID={} as ARRIVED", id);
@@ -48,7 +48,8 @@ public class DoctorController {
     public ResponseEntity<ApiResponse<Void>> defineAvailability(
             @PathVariable Long id,
             @Valid @RequestBody DoctorAvailabilityDto dto) {
-        log.info("🗓️ Defining availability for doctor ID={} with data={}", id, dto);
+        log.info("🗓️ Defining availability for doctor ID={}", id);
+        log.debug("🗓️ Availability payload for doctor ID={}: {}", id, dto);
         doctorService.defineAvailability(id, dto);
         return ResponseEntity.ok(ApiResponse.ok("Availability defined successfully", "/doctors/" + id + "/availability"));
     }
@@ -57,7 +58,8 @@ public class DoctorController {
     public ResponseEntity<ApiResponse<Void>> updateAvailability(
             @PathVariable Long id,
             @Valid @RequestBody DoctorAvailabilityDto dto) {
-        log.info("🔄 Updating availability for doctor ID={} with data={}", id, dto);
+        log.info("🔄 Updating availability for doctor ID={}", id);
+        log.debug("🔄 Availability payload for doctor ID={}: {}", id, dto);
         doctorService.updateAvailability(id, dto);
         return ResponseEntity.ok(ApiResponse.ok("Availability updated successfully", "/doctors/" + id + "/availability"));
     }
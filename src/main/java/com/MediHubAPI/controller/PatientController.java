@@ -0,0 +1,128 @@
+package com.MediHubAPI.controller;
+
+import com.MediHubAPI.bulkimport.ImportFormat;
+import com.MediHubAPI.bulkimport.PatientImportReport;
+import com.MediHubAPI.bulkimport.PatientImportService;
+import com.MediHubAPI.dto.ApiResponse;
+import com.MediHubAPI.dto.PatientCreateDto;
+import com.MediHubAPI.dto.PatientPhotoDto;
+import com.MediHubAPI.dto.PatientProfileDto;
+import com.MediHubAPI.dto.PatientResponseDto;
+import com.MediHubAPI.dto.PatientSuggestionDto;
+import com.MediHubAPI.exception.ResourceNotFoundException;
+import com.MediHubAPI.service.PatientService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/patients")
+@RequiredArgsConstructor
+@Slf4j
+public class PatientController {
+
+    private final PatientService patientService;
+    private final PatientImportService patientImportService;
+
+    /**
+     * Registers a patient; answers 409 when they resemble an existing patient, unless
+     * {@code confirmNew=true} says the desk has checked.
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<PatientProfileDto>> registerPatient(
+            @Valid @RequestBody PatientCreateDto dto,
+            @RequestParam(defaultValue = "false") boolean confirmNew) {
+        log.info("🧾 Registering patient firstName={} lastName={}", dto.getFirstName(), dto.getLastName());
+        PatientProfileDto created = patientService.registerPatient(dto, confirmNew);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.created(created, "/api/patients/" + created.getId(), "Patient registered successfully"));
+    }
+
+    /**
+     * Existing patients that may be the same person as the one described, scored 0-100.
+     */
+    @PostMapping("/duplicates")
+    public ResponseEntity<ApiResponse<List<PatientSuggestionDto>>> findDuplicates(@Valid @RequestBody PatientCreateDto dto) {
+        List<PatientSuggestionDto> candidates = patientService.findDuplicates(dto);
+        return ResponseEntity.ok(ApiResponse.success(candidates, "/api/patients/duplicates", "Possible duplicates fetched successfully"));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<PatientProfileDto>> getPatientProfile(@PathVariable Long id) {
+        PatientProfileDto profile = patientService.getPatientProfile(id);
+        return ResponseEntity.ok(ApiResponse.success(profile, "/api/patients/" + id, "Patient profile fetched successfully"));
+    }
+
+    /**
+     * Replaces the patient's photo with the JPEG or PNG sent as the raw request body.
+     */
+    @PutMapping(value = "/{id}/photo", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE})
+    public ResponseEntity<ApiResponse<PatientPhotoDto>> updatePhoto(@PathVariable Long id, InputStream body)
+            throws IOException {
+        PatientPhotoDto photo = patientService.updatePhoto(id, body);
+        return ResponseEntity.ok(ApiResponse.success(photo, "/api/patients/" + id + "/photo", "Patient photo updated successfully"));
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<Page<PatientResponseDto>>> searchPatients(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("🔍 Searching patients q={} page={} size={}", q, page, size);
+        Page<PatientResponseDto> result = patientService.searchPatients(q, page, size);
+        return ResponseEntity.ok(ApiResponse.success(result, "/api/patients", "Patients fetched successfully"));
+    }
+
+    @GetMapping("/typeahead")
+    public ResponseEntity<ApiResponse<List<PatientSuggestionDto>>> suggestPatients(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<PatientSuggestionDto> suggestions = patientService.suggestPatients(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions, "/api/patients/typeahead", "Patient suggestions fetched successfully"));
+    }
+
+    /**
+     * Bulk import from the raw request body (CSV with a header row, or JSON lines), optionally
+     * sent with {@code Content-Encoding: gzip}. Answers 202 with the new import's report once the
+     * body is stored and its header checked; poll {@code GET /api/patients/imports/{id}} for
+     * progress and the outcome.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<PatientImportReport>> importPatients(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean createAccounts,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        PatientImportReport report = patientImportService.startImport(body, "gzip".equalsIgnoreCase(contentEncoding),
+                ImportFormat.from(format), createAccounts, dryRun);
+        String path = "/api/patients/imports/" + report.getId();
+        return ResponseEntity.accepted()
+                .location(URI.create(path))
+                .body(ApiResponse.success(report, path, "Patient import started"));
+    }
+
+    @GetMapping("/imports")
+    public ResponseEntity<ApiResponse<List<PatientImportReport>>> getRecentImports() {
+        return ResponseEntity.ok(ApiResponse.success(patientImportService.getRecentImports(),
+                "/api/patients/imports", "Patient imports fetched successfully"));
+    }
+
+    @GetMapping("/imports/{id}")
+    public ResponseEntity<ApiResponse<PatientImportReport>> getImport(@PathVariable String id) {
+        PatientImportReport report = patientImportService.getImport(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient import", "id", id));
+        return ResponseEntity.ok(ApiResponse.success(report, "/api/patients/imports/" + id, "Patient import fetched successfully"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.MediHubAPI.controller;
+
+import com.MediHubAPI.exception.ResourceNotFoundException;
+import com.MediHubAPI.photo.PhotoDownloads;
+import com.MediHubAPI.photo.PhotoStore;
+import com.MediHubAPI.photo.StoredPhoto;
+import com.MediHubAPI.photo.ThumbnailCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Serves stored patient photos by content key. The key is the SHA-256 of the bytes, so a URL
+ * never changes content: responses are cacheable for a year and the key is the ETag.
+ */
+@RestController
+@RequestMapping("/api/photos")
+@RequiredArgsConstructor
+public class PhotoController {
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate()
+            .immutable().getHeaderValue();
+
+    private final PhotoStore photoStore;
+    private final ThumbnailCache thumbnailCache;
+
+    @GetMapping("/{key}")
+    public void getPhoto(@PathVariable String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        StoredPhoto photo = photoStore.find(key)
+                .orElseThrow(() -> new ResourceNotFoundException("Photo", "key", key));
+        String etag = "\"" + key.substring(0, 64) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        PhotoDownloads.send(photoStore.path(key), photo.getSizeBytes(), photo.getContentType(), etag, request, response);
+    }
+
+    @GetMapping("/{key}/thumbnail")
+    public ResponseEntity<byte[]> getThumbnail(@PathVariable String key, ServletWebRequest request) {
+        if (!PhotoStore.isKey(key)) {
+            throw new ResourceNotFoundException("Photo", "key", key);
+        }
+        String etag = "\"" + key.substring(0, 64) + "-thumb\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        byte[] thumbnail = thumbnailCache.get(key, photoStore.thumbnailPath(key));
+        if (thumbnail == null) {
+            throw new ResourceNotFoundException("Photo", "key", key);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+                .eTag(etag)
+                .body(thumbnail);
+    }
+}
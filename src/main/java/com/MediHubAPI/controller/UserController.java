@@ -1,17 +1,22 @@
 package com.MediHubAPI.controller;
 
+import com.MediHubAPI.dto.CursorPage;
 import com.MediHubAPI.dto.UserCreateDto;
 import com.MediHubAPI.dto.UserDto;
+import com.MediHubAPI.dto.UserPasswordUpdateDto;
 import com.MediHubAPI.dto.UserStatusUpdateDto;
 import com.MediHubAPI.exception.HospitalAPIException;
 import com.MediHubAPI.exception.ResourceNotFoundException;
 import com.MediHubAPI.model.ERole;
 import com.MediHubAPI.service.UserService;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Arrays;
 import java.util.List;
@@ -81,6 +86,28 @@ public class UserController {
         }
     }
 
+    /**
+     * Keyset-paged users in id order; pass the returned {@code nextCursorId} as {@code afterId}.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<UserDto>> getUsersAfter(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(userService.getUsersAfter(afterId, size));
+    }
+
+    /**
+     * All users as NDJSON, streamed from a database cursor in constant memory.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = out -> {
+            long exported = userService.exportUsers(out);
+            logger.info("📤 Exported {} users", exported);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         try {
@@ -103,6 +130,15 @@ public class UserController {
         return ResponseEntity.ok("User account has been " + status + ".");
     }
 
+    @PutMapping("/{id}/password")
+    public ResponseEntity<String> updateUserPassword(
+            @PathVariable("id") Long id,
+            @Valid @RequestBody UserPasswordUpdateDto passwordDto) {
+
+        userService.updateUserPassword(id, passwordDto.getPassword());
+        return ResponseEntity.ok("User password has been updated.");
+    }
+
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
@@ -0,0 +1,24 @@
+package com.MediHubAPI.dataset;
+
+/**
+ * A dataset could not be generated; nothing of the run was committed.
+ */
+public class DatasetGenerationException extends RuntimeException {
+
+    private final boolean alreadyGenerated;
+
+    public DatasetGenerationException(String message, boolean alreadyGenerated) {
+        super(message);
+        this.alreadyGenerated = alreadyGenerated;
+    }
+
+    public DatasetGenerationException(String message, Throwable cause) {
+        super(message, cause);
+        this.alreadyGenerated = false;
+    }
+
+    /** {@code true} when rows of the same seed already exist, rather than the run failing. */
+    public boolean isAlreadyGenerated() {
+        return alreadyGenerated;
+    }
+}
@@ -0,0 +1,68 @@
+package com.MediHubAPI.dataset;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Loads a synthetic dataset at startup when {@code app.dataset.profile} is set, e.g.
+ * {@code --app.dataset.profile=MEDIUM --app.dataset.seed=7 --app.dataset.exit=true}.
+ *
+ * <p>Runs after {@code DataInitializer} so roles and specializations exist.</p>
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.dataset.profile")
+public class DatasetGeneratorRunner implements CommandLineRunner {
+
+    private final HospitalDatasetGenerator generator;
+    private final ApplicationContext applicationContext;
+
+    @Value("${app.dataset.profile}")
+    private DatasetProfile profile;
+
+    @Value("${app.dataset.seed:42}")
+    private long seed;
+
+    @Value("${app.dataset.anchor-date:}")
+    private String anchorDate;
+
+    @Value("${app.dataset.exit:false}")
+    private boolean exitWhenDone;
+
+    /**
+     * An existing dataset is reported and left alone. Any other failure ends a one-off load
+     * ({@code app.dataset.exit=true}) with exit code 1, and otherwise fails startup.
+     */
+    @Override
+    public void run(String... args) {
+        LocalDate anchor = anchorDate.isBlank() ? LocalDate.now() : LocalDate.parse(anchorDate);
+        try {
+            generator.generate(profile, seed, anchor);
+        } catch (DatasetGenerationException e) {
+            if (!e.isAlreadyGenerated()) {
+                log.error("❌ Dataset {} could not be generated: {}", profile, e.getMessage(), e);
+                if (exitWhenDone) {
+                    System.exit(SpringApplication.exit(applicationContext, () -> 1));
+                }
+                throw e;
+            }
+            log.warn("⚠️ Dataset not generated: {}", e.getMessage());
+        }
+        if (exitWhenDone) {
+            log.info("👋 Dataset loaded, shutting down (app.dataset.exit=true)");
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
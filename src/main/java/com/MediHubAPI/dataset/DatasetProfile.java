@@ -0,0 +1,30 @@
+package com.MediHubAPI.dataset;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Size profiles for {@link HospitalDatasetGenerator}.
+ *
+ * <p>Slot volume is {@code doctors x slotDays x 32} (09:00-17:00 in 15-minute slots, lunch
+ * included); appointment history is roughly {@code doctors x historyDays x appointmentsPerDay}.</p>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DatasetProfile {
+
+    /** A few thousand rows; loads in about a second on H2, used by tests. */
+    SMALL(20, 500, 7, 30, 10),
+
+    /** A single busy hospital: ~0.5M slots, ~1.5M appointments. */
+    MEDIUM(500, 20_000, 30, 365, 8),
+
+    /** A multi-site chain: ~5.8M slots, ~13M appointments across two years. */
+    HOSPITAL_CHAIN(3_000, 100_000, 60, 730, 6);
+
+    private final int doctors;
+    private final int patients;
+    private final int slotDays;
+    private final int historyDays;
+    private final int appointmentsPerDay;
+}
@@ -0,0 +1,22 @@
+package com.MediHubAPI.dataset;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * What {@link HospitalDatasetGenerator} wrote, so benchmarks and harnesses can pick valid ids.
+ */
+@Value
+public class GeneratedDataset {
+    DatasetProfile profile;
+    long seed;
+    LocalDate anchorDate;
+    List<Long> doctorIds;
+    List<Long> patientUserIds;
+    List<Long> patientIds;
+    long slotRows;
+    long appointmentRows;
+    long elapsedMillis;
+}
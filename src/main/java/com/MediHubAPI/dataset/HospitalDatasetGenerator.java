@@ -0,0 +1,400 @@
+package com.MediHubAPI.dataset;
+
+import com.MediHubAPI.model.ERole;
+import com.MediHubAPI.model.enums.AppointmentStatus;
+import com.MediHubAPI.model.enums.AppointmentType;
+import com.MediHubAPI.model.enums.SlotStatus;
+import com.MediHubAPI.model.enums.SlotType;
+import com.MediHubAPI.search.PatientSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, seedable generator of a production-shaped hospital dataset.
+ *
+ * <p>Writes doctors spread over every {@code Specialization}, {@code Patient} records with their
+ * address and details rows plus a PATIENT login each, a forward window of {@code Slot} rows
+ * (some already booked) and a history of {@code Appointment} rows with a realistic status mix.
+ * Rows are streamed through batched JDBC inserts on a single connection, so memory stays flat
+ * apart from the id lists returned in {@link GeneratedDataset}. The same seed and anchor date
+ * always produce the same data. Works on MySQL (add {@code rewriteBatchedStatements=true} to the
+ * URL for full speed) and H2.</p>
+ *
+ * <p>Roles and specializations must already exist, i.e. {@code DataInitializer} has run.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HospitalDatasetGenerator {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final LocalTime DAY_START = LocalTime.of(9, 0);
+    public static final LocalTime DAY_END = LocalTime.of(17, 0);
+    public static final LocalTime LUNCH_START = LocalTime.of(13, 0);
+    public static final LocalTime LUNCH_END = LocalTime.of(14, 0);
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String USERNAME_PREFIX = "gen.";
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh",
+            "Krishna", "Ishaan", "Rohan", "Ananya", "Diya", "Aadhya", "Saanvi", "Pari", "Anika", "Navya", "Meera",
+            "Kavya", "Riya", "Priya", "Neha", "Rahul", "Amit", "Sunita", "Lakshmi", "Mohammed", "Fatima", "John", "Mary"};
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Gupta", "Singh", "Kumar", "Patel", "Shah", "Reddy",
+            "Rao", "Nair", "Iyer", "Menon", "Das", "Bose", "Chatterjee", "Mukherjee", "Joshi", "Kulkarni", "Desai",
+            "Mehta", "Khan", "Ali", "Fernandes", "D'Souza", "Pillai", "Yadav", "Mishra", "Pandey", "Jain", "Agarwal"};
+    private static final String[] CITIES = {"Mumbai", "Pune", "Delhi", "Bengaluru", "Chennai", "Hyderabad", "Kolkata",
+            "Ahmedabad", "Jaipur", "Lucknow"};
+    private static final String[] STATES = {"Maharashtra", "Maharashtra", "Delhi", "Karnataka", "Tamil Nadu",
+            "Telangana", "West Bengal", "Gujarat", "Rajasthan", "Uttar Pradesh"};
+    private static final String[] BLOOD_GROUPS = {"O+", "O+", "O+", "B+", "B+", "A+", "A+", "AB+", "O-", "B-", "A-", "AB-"};
+    private static final String[] OCCUPATIONS = {"Teacher", "Engineer", "Farmer", "Student", "Homemaker", "Clerk",
+            "Business", "Retired", "Driver", "Nurse"};
+    private static final String[] GOVT_ID_TYPES = {"AADHAAR", "PAN", "PASSPORT", "VOTER_ID"};
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectProvider<PatientSearchIndex> searchIndex;
+
+    public GeneratedDataset generate(DatasetProfile profile, long seed) {
+        return generate(profile, seed, LocalDate.now());
+    }
+
+    /**
+     * Generates {@code profile} into the configured database.
+     *
+     * @param anchorDate first day of the slot window; history covers the days before it
+     * @throws DatasetGenerationException if reference data is missing, rows of this seed already
+     *                                    exist or an insert fails; the run is then rolled back whole
+     */
+    public GeneratedDataset generate(DatasetProfile profile, long seed, LocalDate anchorDate) {
+        long started = System.currentTimeMillis();
+        log.info("🏭 Generating {} dataset (seed={}, anchor={})", profile, seed, anchorDate);
+
+        GeneratedDataset dataset = write(profile, seed, anchorDate, started);
+        // rows went in over JDBC, past the JPA listener that keeps the typeahead index current
+        searchIndex.ifAvailable(PatientSearchIndex::rebuild);
+        return dataset;
+    }
+
+    private GeneratedDataset write(DatasetProfile profile, long seed, LocalDate anchorDate, long started) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                GeneratedDataset dataset = new Run(connection, profile, seed, anchorDate, started).execute();
+                // one commit for the whole run: a failure must not leave rows that block the rerun
+                connection.commit();
+                log.info("✅ {} dataset ready in {} ms: {} doctors, {} patients, {} slots, {} appointments",
+                        profile, dataset.getElapsedMillis(), dataset.getDoctorIds().size(),
+                        dataset.getPatientIds().size(), dataset.getSlotRows(), dataset.getAppointmentRows());
+                return dataset;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DatasetGenerationException("Dataset generation failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Slot start times of one generated working day, lunch included.
+     */
+    public static List<LocalTime> dailySlotStarts() {
+        List<LocalTime> starts = new ArrayList<>();
+        for (LocalTime t = DAY_START; t.isBefore(DAY_END); t = t.plusMinutes(SLOT_MINUTES)) {
+            starts.add(t);
+        }
+        return Collections.unmodifiableList(starts);
+    }
+
+    /**
+     * State of one generation run; everything is drawn from one {@link SplittableRandom} in a
+     * fixed order, which is what makes the output reproducible.
+     */
+    private final class Run {
+
+        private final Connection connection;
+        private final DatasetProfile profile;
+        private final SplittableRandom random;
+        private final LocalDate anchorDate;
+        private final long started;
+        private final long seed;
+        private final List<LocalTime> slotStarts = dailySlotStarts();
+        private final List<Long> doctorIds = new ArrayList<>();
+        private final List<Long> patientUserIds = new ArrayList<>();
+        private final List<Long> patientIds = new ArrayList<>();
+        private final String password;
+        private final String prefix;
+
+        Run(Connection connection, DatasetProfile profile, long seed, LocalDate anchorDate, long started) {
+            this.connection = connection;
+            this.profile = profile;
+            this.seed = seed;
+            this.random = new SplittableRandom(seed);
+            this.anchorDate = anchorDate;
+            this.started = started;
+            // One hash for every generated login: BCrypt per row would dominate load time
+            this.password = passwordEncoder.encode("password");
+            this.prefix = USERNAME_PREFIX + seed + ".";
+        }
+
+        GeneratedDataset execute() throws SQLException {
+            Map<ERole, Integer> roleIds = loadRoleIds();
+            List<Long> specializationIds = loadSpecializationIds();
+            ensureNotGeneratedYet();
+
+            try (JdbcBatchWriter users = writer("INSERT INTO users (username, email, password, first_name, last_name, "
+                    + "enabled, specialization_id) VALUES (?, ?, ?, ?, ?, ?, ?)", true);
+                 JdbcBatchWriter userRoles = writer("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", false)) {
+                insertDoctors(users, userRoles, roleIds.get(ERole.DOCTOR), specializationIds);
+                insertPatients(users, userRoles, roleIds.get(ERole.PATIENT));
+            }
+
+            long appointmentRows;
+            long slotRows;
+            try (JdbcBatchWriter appointments = writer("INSERT INTO appointments (doctor_id, patient_id, date, type, "
+                    + "status, slot_id, appointment_date, slot_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", false)) {
+                try (JdbcBatchWriter slots = writer("INSERT INTO slots (doctor_id, date, start_time, end_time, status, "
+                        + "type, is_recurring, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", true)) {
+                    insertSlotWindow(slots, appointments);
+                    slotRows = slots.getWritten();
+                }
+                insertHistory(appointments);
+                appointmentRows = appointments.getWritten();
+            }
+
+            return new GeneratedDataset(profile, seed, anchorDate, List.copyOf(doctorIds), List.copyOf(patientUserIds),
+                    List.copyOf(patientIds), slotRows, appointmentRows, System.currentTimeMillis() - started);
+        }
+
+        private void insertDoctors(JdbcBatchWriter users, JdbcBatchWriter userRoles, int doctorRoleId,
+                                   List<Long> specializationIds) throws SQLException {
+            for (int i = 0; i < profile.getDoctors(); i++) {
+                String username = prefix + "doctor" + i;
+                long specializationId = specializationIds.get(i % specializationIds.size());
+                users.add(id -> {
+                            doctorIds.add(id);
+                            userRoles.add(id, doctorRoleId);
+                        },
+                        username, username + "@medihub.test", password, pick(FIRST_NAMES), pick(LAST_NAMES),
+                        true, specializationId);
+            }
+            users.flush();
+        }
+
+        private void insertPatients(JdbcBatchWriter users, JdbcBatchWriter userRoles, int patientRoleId) throws SQLException {
+            try (JdbcBatchWriter patients = writer("INSERT INTO patients (title, first_name, last_name, mobile_number, "
+                    + "file_number, date_of_birth, age_years, sex, marital_status, mother_tongue, govt_id_type, "
+                    + "govt_id_number, email) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", true);
+                 JdbcBatchWriter addresses = writer("INSERT INTO patient_addresses (address, area, city, pin_code, "
+                         + "state, country, nationality, international_patient, patient_id) "
+                         + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", false);
+                 JdbcBatchWriter details = writer("INSERT INTO patient_details (blood_group, father_name, mother_name, "
+                         + "alternate_contact, occupation, religion, patient_id) VALUES (?, ?, ?, ?, ?, ?, ?)", false)) {
+
+                for (int i = 0; i < profile.getPatients(); i++) {
+                    boolean female = random.nextInt(100) < 51;
+                    String firstName = pick(FIRST_NAMES);
+                    String lastName = pick(LAST_NAMES);
+                    LocalDate dob = anchorDate.minusDays(random.nextInt(90 * 365));
+                    String mobile = String.valueOf(9_000_000_000L + random.nextLong(999_999_999L));
+                    String username = prefix + "patient" + i;
+                    int cityIndex = random.nextInt(CITIES.length);
+                    String address = (1 + random.nextInt(400)) + ", " + pick(LAST_NAMES) + " Nagar";
+                    String pinCode = String.valueOf(400_001 + random.nextInt(99_000));
+                    String father = pick(FIRST_NAMES) + " " + lastName;
+                    String mother = pick(FIRST_NAMES) + " " + lastName;
+                    String bloodGroup = pick(BLOOD_GROUPS);
+                    String occupation = pick(OCCUPATIONS);
+                    String alternate = String.valueOf(9_000_000_000L + random.nextLong(999_999_999L));
+
+                    patients.add(patientId -> {
+                                patientIds.add(patientId);
+                                addresses.add(address, "Ward " + (1 + patientId % 20), CITIES[cityIndex], pinCode,
+                                        STATES[cityIndex], "India", "Indian", false, patientId);
+                                details.add(bloodGroup, father, mother, alternate, occupation, null, patientId);
+                            },
+                            female ? "Ms." : "Mr.", firstName, lastName, mobile,
+                            "MRN-" + seed + "-" + String.format("%07d", i), dob, anchorDate.getYear() - dob.getYear(),
+                            female ? "FEMALE" : "MALE", random.nextInt(100) < 60 ? "MARRIED" : "SINGLE", "Hindi",
+                            GOVT_ID_TYPES[i % GOVT_ID_TYPES.length], String.format("%012d", seed * 1_000_000_000L + i),
+                            username + "@medihub.test");
+
+                    users.add(id -> {
+                                patientUserIds.add(id);
+                                userRoles.add(id, patientRoleId);
+                            },
+                            username, username + "@medihub.test", password, firstName, lastName, true, null);
+                }
+                // Flush while the child writers are still open: closing runs in reverse order
+                patients.flush();
+            }
+            users.flush();
+        }
+
+        private void insertSlotWindow(JdbcBatchWriter slots, JdbcBatchWriter appointments) throws SQLException {
+            for (int day = 0; day < profile.getSlotDays(); day++) {
+                LocalDate date = anchorDate.plusDays(day);
+                for (int t = 0; t < slotStarts.size(); t++) {
+                    // Same offset for every doctor at (day, t): patient = (doctor + offset) % P never collides
+                    int patientOffset = random.nextInt(patientUserIds.size());
+                    LocalTime start = slotStarts.get(t);
+                    for (int d = 0; d < doctorIds.size(); d++) {
+                        long doctorId = doctorIds.get(d);
+                        SlotStatus status = futureSlotStatus(start);
+                        if (status == SlotStatus.BOOKED) {
+                            long patientId = patientUserIds.get((d + patientOffset) % patientUserIds.size());
+                            String type = appointmentType().name();
+                            slots.add(slotId -> appointments.add(doctorId, patientId, date, type,
+                                            AppointmentStatus.BOOKED.name(), slotId, date, start),
+                                    doctorId, date, start, start.plusMinutes(SLOT_MINUTES), status.name(),
+                                    SlotType.REGULAR.name(), true, "generator");
+                        } else {
+                            slots.add(doctorId, date, start, start.plusMinutes(SLOT_MINUTES), status.name(),
+                                    status == SlotStatus.WALKIN ? SlotType.WALKIN.name() : SlotType.REGULAR.name(),
+                                    true, "generator");
+                        }
+                    }
+                }
+            }
+        }
+
+        private void insertHistory(JdbcBatchWriter appointments) throws SQLException {
+            List<Integer> bookable = new ArrayList<>();
+            for (int t = 0; t < slotStarts.size(); t++) {
+                if (!isLunch(slotStarts.get(t))) {
+                    bookable.add(t);
+                }
+            }
+            int perDay = Math.min(profile.getAppointmentsPerDay(), bookable.size());
+            for (int day = profile.getHistoryDays(); day >= 1; day--) {
+                LocalDate date = anchorDate.minusDays(day);
+                // Partial Fisher-Yates: the first perDay entries are distinct random slot indexes
+                for (int i = 0; i < perDay; i++) {
+                    Collections.swap(bookable, i, i + random.nextInt(bookable.size() - i));
+                }
+                for (int i = 0; i < perDay; i++) {
+                    LocalTime time = slotStarts.get(bookable.get(i));
+                    int patientOffset = random.nextInt(patientUserIds.size());
+                    for (int d = 0; d < doctorIds.size(); d++) {
+                        appointments.add(doctorIds.get(d), patientUserIds.get((d + patientOffset) % patientUserIds.size()),
+                                date, appointmentType().name(), historicalStatus().name(), null, date, time);
+                    }
+                }
+            }
+        }
+
+        private SlotStatus futureSlotStatus(LocalTime start) {
+            if (isLunch(start)) {
+                return SlotStatus.LUNCH_BREAK;
+            }
+            int roll = random.nextInt(100);
+            if (roll < 55) {
+                return SlotStatus.AVAILABLE;
+            }
+            if (roll < 85) {
+                return SlotStatus.BOOKED;
+            }
+            if (roll < 92) {
+                return SlotStatus.BLOCKED;
+            }
+            return roll < 97 ? SlotStatus.WALKIN : SlotStatus.RESERVED;
+        }
+
+        private AppointmentStatus historicalStatus() {
+            int roll = random.nextInt(100);
+            if (roll < 75) {
+                return AppointmentStatus.COMPLETED;
+            }
+            return roll < 90 ? AppointmentStatus.CANCELLED : AppointmentStatus.NO_SHOW;
+        }
+
+        private AppointmentType appointmentType() {
+            int roll = random.nextInt(100);
+            if (roll < 80) {
+                return AppointmentType.IN_PERSON;
+            }
+            if (roll < 92) {
+                return AppointmentType.ONLINE;
+            }
+            return roll < 97 ? AppointmentType.WALKIN : AppointmentType.EMERGENCY;
+        }
+
+        private boolean isLunch(LocalTime start) {
+            return !start.isBefore(LUNCH_START) && start.isBefore(LUNCH_END);
+        }
+
+        private String pick(String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        private JdbcBatchWriter writer(String sql, boolean returnKeys) throws SQLException {
+            return new JdbcBatchWriter(connection, sql, BATCH_SIZE, returnKeys, false);
+        }
+
+        private Map<ERole, Integer> loadRoleIds() throws SQLException {
+            Map<ERole, Integer> ids = new EnumMap<>(ERole.class);
+            try (PreparedStatement ps = connection.prepareStatement("SELECT id, name FROM roles");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(ERole.valueOf(rs.getString(2)), rs.getInt(1));
+                }
+            }
+            if (!ids.containsKey(ERole.DOCTOR) || !ids.containsKey(ERole.PATIENT)) {
+                throw new DatasetGenerationException("Roles are not initialized", false);
+            }
+            return ids;
+        }
+
+        private List<Long> loadSpecializationIds() throws SQLException {
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement("SELECT id FROM specializations ORDER BY id");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+            if (ids.isEmpty()) {
+                throw new DatasetGenerationException("Specializations are not initialized", false);
+            }
+            return ids;
+        }
+
+        private void ensureNotGeneratedYet() throws SQLException {
+            try (PreparedStatement ps = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE username LIKE ?")) {
+                ps.setString(1, prefix + "%");
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    if (rs.getLong(1) > 0) {
+                        throw new DatasetGenerationException(
+                                "A dataset with seed " + seed + " already exists in this database", true);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.MediHubAPI.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates rows for one INSERT statement and flushes them as a JDBC batch.
+ *
+ * <p>When created with {@code returnKeys}, the generated ids of each flushed batch are handed to
+ * the per-row callbacks in insertion order, which is how child rows learn their parent's id
+ * without a read-back query. By default a flush commits when the connection is not in
+ * auto-commit mode, so transactions stay bounded by the batch size; callers that commit whole
+ * parent/child groups themselves pass {@code commitOnFlush = false}.</p>
+ */
+public class JdbcBatchWriter implements AutoCloseable {
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private final boolean returnKeys;
+    private final boolean commitOnFlush;
+    private final List<KeyCallback> keyCallbacks = new ArrayList<>();
+    private int pending;
+    private long written;
+
+    public JdbcBatchWriter(Connection connection, String sql, int batchSize, boolean returnKeys) throws SQLException {
+        this(connection, sql, batchSize, returnKeys, true);
+    }
+
+    public JdbcBatchWriter(Connection connection, String sql, int batchSize, boolean returnKeys,
+                           boolean commitOnFlush) throws SQLException {
+        this.connection = connection;
+        this.statement = returnKeys
+                ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(sql);
+        this.batchSize = batchSize;
+        this.returnKeys = returnKeys;
+        this.commitOnFlush = commitOnFlush;
+    }
+
+    public void add(Object... params) throws SQLException {
+        add(null, params);
+    }
+
+    public void add(KeyCallback onKey, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+        statement.addBatch();
+        if (returnKeys) {
+            keyCallbacks.add(onKey);
+        }
+        if (++pending >= batchSize) {
+            flush();
+        }
+    }
+
+    public void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        statement.executeBatch();
+        written += pending;
+        pending = 0;
+        if (returnKeys) {
+            // Copy first: callbacks may add rows to other writers, which can flush re-entrantly
+            List<KeyCallback> callbacks = new ArrayList<>(keyCallbacks);
+            keyCallbacks.clear();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                int i = 0;
+                while (keys.next() && i < callbacks.size()) {
+                    KeyCallback callback = callbacks.get(i++);
+                    if (callback != null) {
+                        callback.accept(keys.getLong(1));
+                    }
+                }
+                if (i != callbacks.size()) {
+                    throw new SQLException("Driver returned " + i + " generated keys for " + callbacks.size() + " rows");
+                }
+            }
+        }
+        if (commitOnFlush && !connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    /**
+     * Drops rows added since the last flush, e.g. after the caller rolled back a failed batch.
+     */
+    public void clear() throws SQLException {
+        statement.clearBatch();
+        keyCallbacks.clear();
+        pending = 0;
+    }
+
+    public long getWritten() {
+        return written + pending;
+    }
+
+    @FunctionalInterface
+    public interface KeyCallback {
+        void accept(long generatedKey) throws SQLException;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            statement.close();
+        }
+    }
+}
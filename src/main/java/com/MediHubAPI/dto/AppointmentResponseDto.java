@@ -1,12 +1,16 @@
 package com.MediHubAPI.dto;
 
+import com.MediHubAPI.model.enums.AppointmentStatus;
 import com.MediHubAPI.model.enums.AppointmentType;
+import com.MediHubAPI.model.enums.SlotStatus;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Data
+@NoArgsConstructor
 public class AppointmentResponseDto {
     private Long id;
     private String doctorName;
@@ -16,4 +20,25 @@ public class AppointmentResponseDto {
     private String status;
     private AppointmentType type;
     private SlotInfoDto slot; // ✅ New slot info
+
+    /**
+     * JPQL constructor projection, see {@code AppointmentQueries}. Doctor, patient and slot come
+     * from left joins, so their columns are null when the association is; names are built the
+     * same way as the {@code Appointment} type map in {@code MapperConfig}.
+     */
+    public AppointmentResponseDto(Long id,
+                                  Long doctorId, String doctorFirstName, String doctorLastName,
+                                  Long patientId, String patientFirstName, String patientLastName,
+                                  LocalDate appointmentDate, LocalTime slotTime,
+                                  AppointmentStatus status, AppointmentType type,
+                                  Long slotId, LocalTime slotStart, LocalTime slotEnd, SlotStatus slotStatus) {
+        this.id = id;
+        this.doctorName = doctorId != null ? doctorFirstName + " " + doctorLastName : "Unknown Doctor";
+        this.patientName = patientId != null ? patientFirstName + " " + patientLastName : "Unknown Patient";
+        this.appointmentDate = appointmentDate;
+        this.slotTime = slotTime;
+        this.status = status != null ? status.name() : null;
+        this.type = type;
+        this.slot = slotId != null ? new SlotInfoDto(slotId, slotStart, slotEnd, slotStatus) : null;
+    }
 }
@@ -5,4 +5,10 @@ import lombok.Data;
 @Data
 public class PatientPhotoDto {
     private String filePath;
+    private String storageKey;
+    private String contentType;
+    private Long sizeBytes;
+    /** Set when the photo is in the photo store. */
+    private String url;
+    private String thumbnailUrl;
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.MediHubAPI.dto;
+
+import com.MediHubAPI.model.Gender;
+import com.MediHubAPI.model.MaritalStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class PatientProfileDto {
+    private Long id;
+    private String title;
+    private String firstName;
+    private String lastName;
+    private String mobileNumber;
+    private String landlineNumber;
+    private String fileNumber;
+    private LocalDate dateOfBirth;
+    private Integer ageYears;
+    private Integer ageMonths;
+    private Integer ageDays;
+    private Gender sex;
+    private MaritalStatus maritalStatus;
+    private String motherTongue;
+    private String govtIdType;
+    private String govtIdNumber;
+    private String otherHospitalIds;
+    private String email;
+
+    private ReferrerDto referrer;
+    private PatientAddressDto address;
+    private PatientPhotoDto photo;
+    private PatientDetailsDto details;
+    private PatientNotesDto notes;
+}
@@ -16,4 +16,6 @@ public class PatientResponseDto {
     private String dateOfBirth;
     private String email;
     private String gender;
+    /** Avatar for listings; the full photo is only fetched when opened. */
+    private String thumbnailUrl;
 }
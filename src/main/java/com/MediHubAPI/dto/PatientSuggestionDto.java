@@ -0,0 +1,19 @@
+package com.MediHubAPI.dto;
+
+import lombok.Data;
+
+/**
+ * One typeahead match; {@code score} orders the list (exact identifiers first, then mobile
+ * suffixes, then names).
+ */
+@Data
+public class PatientSuggestionDto {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String mobileNumber;
+    private String fileNumber;
+    private String dateOfBirth;
+    private String gender;
+    private int score;
+}
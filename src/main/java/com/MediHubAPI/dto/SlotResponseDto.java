@@ -1,14 +1,25 @@
 package com.MediHubAPI.dto;
 
+import com.MediHubAPI.model.enums.SlotStatus;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Data
+@NoArgsConstructor
 public class SlotResponseDto {
     private LocalDate date;
     private LocalTime startTime;
     private LocalTime endTime;
     private String status;
-}
\ No newline at end of file
+
+    /** JPQL constructor projection, see {@code SlotQueries}. */
+    public SlotResponseDto(LocalDate date, LocalTime startTime, LocalTime endTime, SlotStatus status) {
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status != null ? status.name() : null;
+    }
+}
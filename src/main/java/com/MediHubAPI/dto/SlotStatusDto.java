@@ -2,15 +2,24 @@ package com.MediHubAPI.dto;
 
 import java.time.LocalTime;
 
+import com.MediHubAPI.model.enums.SlotStatus;
+import com.MediHubAPI.model.enums.SlotType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class SlotStatusDto {
     private LocalTime startTime;
     private LocalTime endTime;
     private String status;
     private String type;
     private String color;
+
+    /** JPQL constructor projection, see {@code SlotQueries}. */
+    public SlotStatusDto(LocalTime startTime, LocalTime endTime, SlotStatus status, SlotType type) {
+        this(startTime, endTime, status.name(), type.name(), status.getColorCode());
+    }
 }
@@ -0,0 +1,93 @@
+package com.MediHubAPI.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-serialized JSON bodies for the common 4xx answers.
+ *
+ * <p>The static part of an {@link com.MediHubAPI.dto.ErrorResponse} ({@code status}, {@code error})
+ * is rendered once per status and kept as bytes; the message, request path and second-precision
+ * timestamp are appended per response. Keying on the status alone keeps the cache at a handful of
+ * entries even though most messages embed ids. The output is byte-for-byte what Jackson writes for
+ * the same {@code ErrorResponse}.</p>
+ */
+@Component
+public class ErrorBodyCache {
+
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneOffset.UTC);
+    private static final byte[] NULL = bytes("null");
+    private static final byte[] PATH = bytes(",\"path\":");
+    private static final byte[] TIMESTAMP_FIELD = bytes(",\"timestamp\":\"");
+    private static final byte[] SUFFIX = bytes("\",\"validationErrors\":null}");
+
+    private final Map<HttpStatus, byte[]> prefixes = new ConcurrentHashMap<>();
+
+    private volatile CachedTimestamp timestamp = new CachedTimestamp(Long.MIN_VALUE, new byte[0]);
+
+    public byte[] render(HttpStatus status, String message, String path) {
+        byte[] prefix = prefixes.computeIfAbsent(status, ErrorBodyCache::renderPrefix);
+        byte[] quotedMessage = quote(message);
+        byte[] quotedPath = quote(path);
+        byte[] now = timestamp();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefix.length + 96
+                + (quotedMessage != null ? quotedMessage.length : 4)
+                + (quotedPath != null ? quotedPath.length : 4));
+        out.writeBytes(prefix);
+        writeString(out, quotedMessage);
+        out.writeBytes(PATH);
+        writeString(out, quotedPath);
+        out.writeBytes(TIMESTAMP_FIELD);
+        out.writeBytes(now);
+        out.writeBytes(SUFFIX);
+        return out.toByteArray();
+    }
+
+    private static byte[] renderPrefix(HttpStatus status) {
+        return bytes("{\"status\":" + status.value()
+                + ",\"error\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(status.getReasonPhrase()))
+                + "\",\"message\":");
+    }
+
+    private static byte[] quote(String value) {
+        return value != null ? JsonStringEncoder.getInstance().quoteAsUTF8(value) : null;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, byte[] quoted) {
+        if (quoted != null) {
+            out.write('"');
+            out.writeBytes(quoted);
+            out.write('"');
+        } else {
+            out.writeBytes(NULL);
+        }
+    }
+
+    private byte[] timestamp() {
+        long second = Instant.now().getEpochSecond();
+        CachedTimestamp cached = timestamp;
+        if (cached.epochSecond != second) {
+            cached = new CachedTimestamp(second, bytes(TIMESTAMP.format(Instant.ofEpochSecond(second))));
+            timestamp = cached;
+        }
+        return cached.formatted;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record CachedTimestamp(long epochSecond, byte[] formatted) {
+    }
+}
@@ -1,9 +1,13 @@
 package com.MediHubAPI.exception;
 
 import com.MediHubAPI.dto.ErrorResponse;
+import com.MediHubAPI.monitoring.ErrorMetrics;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
@@ -20,19 +24,25 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
+@Slf4j
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final ErrorBodyCache errorBodies;
+    private final ErrorMetrics errorMetrics;
+
+    // Expected business errors: stackless, answered from pre-serialized bodies
     @ExceptionHandler(HospitalAPIException.class)
-    public ResponseEntity<ErrorResponse> handleHospitalAPIException(HospitalAPIException ex, WebRequest request) {
-        ErrorResponse error = new ErrorResponse(
-                ex.getStatus().value(),
-                ex.getStatus().getReasonPhrase(),
-                ex.getMessage(),
-                request.getDescription(false),
-                Instant.now()
-        );
-        return new ResponseEntity<>(error, ex.getStatus());
+    public ResponseEntity<byte[]> handleHospitalAPIException(HospitalAPIException ex, WebRequest request) {
+        errorMetrics.record(ex.getStatus(), ex);
+        return preSerialized(ex.getStatus(), ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<byte[]> handleResourceNotFound(ResourceNotFoundException ex, WebRequest request) {
+        errorMetrics.record(HttpStatus.NOT_FOUND, ex);
+        return preSerialized(HttpStatus.NOT_FOUND, ex.getMessage(), request);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -45,6 +55,7 @@ public class GlobalExceptionHandler {
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
         });
+        errorMetrics.record(HttpStatus.BAD_REQUEST, ex);
 
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
@@ -74,6 +85,7 @@ public class GlobalExceptionHandler {
         } else if (ex instanceof LockedException) {
             message = "User account is locked";
         }
+        errorMetrics.record(status, ex);
 
         ErrorResponse error = new ErrorResponse(
                 status.value(),
@@ -107,6 +119,7 @@ public class GlobalExceptionHandler {
         } else {
             message = "Access denied: You do not have the required permission.";
         }
+        errorMetrics.record(HttpStatus.FORBIDDEN, ex);
 
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.FORBIDDEN.value(),
@@ -142,6 +155,7 @@ public class GlobalExceptionHandler {
                 message = "Invalid enum value.";
             }
         }
+        errorMetrics.record(HttpStatus.BAD_REQUEST, ex);
 
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
@@ -158,8 +172,9 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAllExceptions(Exception ex, WebRequest request) {
-        // 👇 Print error to logs for debugging
-        ex.printStackTrace();  // ✅ ADD THIS LINE TO LOG DETAILS
+        // Unexpected: keep the full stack trace in the logs
+        log.error("❌ Unhandled exception on {}", request.getDescription(false), ex);
+        errorMetrics.record(HttpStatus.INTERNAL_SERVER_ERROR, ex);
 
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -172,17 +187,16 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
-    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex, WebRequest request) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.CONFLICT.value(),
-                HttpStatus.CONFLICT.getReasonPhrase(),
+    public ResponseEntity<byte[]> handleDataIntegrityViolation(DataIntegrityViolationException ex, WebRequest request) {
+        errorMetrics.record(HttpStatus.CONFLICT, ex);
+        return preSerialized(HttpStatus.CONFLICT,
                 "Slot conflict: Either the doctor or patient is already booked in this slot.", // ✅ User-friendly message
-                request.getDescription(false),
-                Instant.now()
-        );
-        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+                request);
     }
 
-
-
+    private ResponseEntity<byte[]> preSerialized(HttpStatus status, String message, WebRequest request) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorBodies.render(status, message, request.getDescription(false)));
+    }
 }
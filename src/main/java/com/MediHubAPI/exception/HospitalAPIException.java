@@ -2,15 +2,22 @@ package com.MediHubAPI.exception;
 
 import org.springframework.http.HttpStatus;
 
+/**
+ * Expected business error carrying the HTTP status to answer with.
+ *
+ * <p>4xx instances are thrown on hot paths (slot conflicts, validation, cancelled appointments)
+ * and are answered without ever being logged, so they skip stack-trace capture. 5xx instances
+ * still record their stack trace.</p>
+ */
 public class HospitalAPIException extends RuntimeException {
     private final HttpStatus status;
 
     public HospitalAPIException(HttpStatus status, String message) {
-        super(message);
+        super(message, null, true, status.is5xxServerError());
         this.status = status;
     }
 
     public HttpStatus getStatus() {
         return status;
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,11 @@
 package com.MediHubAPI.exception;
 
+/**
+ * A lookup by id/name found nothing. Answered with a 404 and never logged, so no stack trace
+ * is captured.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found with %s : '%s'", resourceName, fieldName, fieldValue));
+        super(String.format("%s not found with %s : '%s'", resourceName, fieldName, fieldValue), null, true, false);
     }
-}
\ No newline at end of file
+}
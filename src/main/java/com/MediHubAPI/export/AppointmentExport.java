@@ -0,0 +1,15 @@
+package com.MediHubAPI.export;
+
+import com.MediHubAPI.dto.AppointmentResponseDto;
+
+import java.util.function.Consumer;
+
+/**
+ * A validated appointment export that has not been read yet. {@link #forEach} runs the query and
+ * hands the rows to {@code sink} one at a time, returning how many there were.
+ */
+@FunctionalInterface
+public interface AppointmentExport {
+
+    long forEach(Consumer<AppointmentResponseDto> sink);
+}
@@ -0,0 +1,158 @@
+package com.MediHubAPI.export;
+
+import com.MediHubAPI.dto.AppointmentResponseDto;
+import com.MediHubAPI.dto.SlotInfoDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes appointment rows as CSV or NDJSON onto a response stream, optionally gzip-compressed.
+ * Output is buffered and flushed every {@link #FLUSH_EVERY} rows, so the client sees progress
+ * while memory stays bounded. {@link #finish()} completes the output (gzip trailer included) but
+ * leaves the response open; {@link #close()} without a prior {@code finish()} aborts instead, so a
+ * failed export never ends in a well-formed, silently truncated file.
+ *
+ * <p>Used as the row sink of an {@link AppointmentExport}; I/O failures surface as
+ * {@link UncheckedIOException}.</p>
+ */
+public final class AppointmentExportWriter implements Consumer<AppointmentResponseDto>, Closeable {
+
+    static final int FLUSH_EVERY = 500;
+
+    private static final String[] CSV_HEADER = {
+            "id", "appointmentDate", "slotTime", "status", "type", "doctorName", "patientName",
+            "slotId", "slotStartTime", "slotEndTime", "slotStatus"
+    };
+
+    private final ExportFormat format;
+    private final AbortableGzipOutputStream gzip;
+    private final Writer writer;
+    private final ObjectWriter jsonWriter;
+    private final JsonGenerator json;
+    private long rows;
+    private boolean finished;
+
+    private AppointmentExportWriter(ExportFormat format, OutputStream out, boolean compress,
+                                    ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.gzip = compress ? new AbortableGzipOutputStream(out) : null;
+        this.writer = new BufferedWriter(new OutputStreamWriter(compress ? gzip : out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == ExportFormat.NDJSON) {
+            this.jsonWriter = objectMapper.writerFor(AppointmentResponseDto.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.json = jsonWriter.createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } else {
+            this.jsonWriter = null;
+            this.json = null;
+        }
+    }
+
+    public static AppointmentExportWriter open(ExportFormat format, OutputStream out, boolean compress,
+                                               ObjectMapper objectMapper) throws IOException {
+        AppointmentExportWriter exportWriter = new AppointmentExportWriter(format, out, compress, objectMapper);
+        if (format == ExportFormat.CSV) {
+            exportWriter.writeCsvRow((Object[]) CSV_HEADER);
+        }
+        return exportWriter;
+    }
+
+    @Override
+    public void accept(AppointmentResponseDto row) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                jsonWriter.writeValue(json, row);
+                json.writeRaw('\n');
+            } else {
+                SlotInfoDto slot = row.getSlot();
+                writeCsvRow(row.getId(), row.getAppointmentDate(), row.getSlotTime(), row.getStatus(), row.getType(),
+                        row.getDoctorName(), row.getPatientName(),
+                        slot != null ? slot.getSlotId() : null,
+                        slot != null ? slot.getStartTime() : null,
+                        slot != null ? slot.getEndTime() : null,
+                        slot != null ? slot.getStatus() : null);
+            }
+            if (++rows % FLUSH_EVERY == 0) {
+                flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Flushes the remaining rows and writes the gzip trailer. */
+    public void finish() throws IOException {
+        flush();
+        if (gzip != null) {
+            gzip.finish();
+            gzip.flush();
+        }
+        finished = true;
+    }
+
+    @Override
+    public void close() {
+        if (!finished && gzip != null) {
+            gzip.abort();
+        }
+    }
+
+    private void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvValue(values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting; a leading formula character is neutralised so spreadsheets show it as text
+    private void writeCsvValue(String value) throws IOException {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static final class AbortableGzipOutputStream extends GZIPOutputStream {
+
+        private AbortableGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 8192);
+        }
+
+        // Frees the deflater without writing the trailer; buffered rows are dropped
+        void abort() {
+            def.end();
+        }
+    }
+}
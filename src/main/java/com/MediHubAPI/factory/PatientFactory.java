@@ -0,0 +1,100 @@
+package com.MediHubAPI.factory;
+
+import com.MediHubAPI.dto.PatientCreateDto;
+import com.MediHubAPI.exception.HospitalAPIException;
+import com.MediHubAPI.model.Gender;
+import com.MediHubAPI.model.MaritalStatus;
+import com.MediHubAPI.model.Patient;
+import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Turns a {@link PatientCreateDto} into an unsaved {@link Patient} with its profile sections
+ * linked; shared by registration and the bulk import so both accept exactly the same input.
+ */
+@Component
+public class PatientFactory {
+
+    private final ModelMapper modelMapper;
+
+    public PatientFactory(ModelMapper modelMapper) {
+        this.modelMapper = modelMapper;
+    }
+
+    /**
+     * @throws HospitalAPIException (400) if a required field is missing or a date or enum does not parse
+     */
+    public Patient createPatient(PatientCreateDto dto) {
+        if (isBlank(dto.getFirstName()) || isBlank(dto.getLastName()) || isBlank(dto.getMobileNumber())) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "First name, last name and mobile number are required");
+        }
+
+        Patient patient = modelMapper.map(dto, Patient.class);
+        patient.setDateOfBirth(parseDate(dto.getDateOfBirth()));
+        patient.setSex(parseEnum(Gender.class, dto.getSex(), "sex"));
+        patient.setMaritalStatus(parseEnum(MaritalStatus.class, dto.getMaritalStatus(), "maritalStatus"));
+        if (patient.getDateOfBirth() != null && patient.getAgeYears() == null) {
+            Period age = Period.between(patient.getDateOfBirth(), LocalDate.now());
+            patient.setAgeYears(age.getYears());
+            patient.setAgeMonths(age.getMonths());
+            patient.setAgeDays(age.getDays());
+        }
+        linkSections(patient);
+        return patient;
+    }
+
+    // the sections own the patient_id foreign key, so each needs its back-reference before the cascade
+    private static void linkSections(Patient patient) {
+        if (patient.getReferrer() != null) {
+            patient.getReferrer().setPatient(patient);
+        }
+        if (patient.getAddress() != null) {
+            patient.getAddress().setPatient(patient);
+        }
+        if (patient.getPhoto() != null) {
+            patient.getPhoto().setPatient(patient);
+            // only the photo upload may point a patient at a stored blob
+            patient.getPhoto().setStorageKey(null);
+            patient.getPhoto().setContentType(null);
+            patient.getPhoto().setSizeBytes(null);
+        }
+        if (patient.getDetails() != null) {
+            patient.getDetails().setPatient(patient);
+        }
+        if (patient.getNotes() != null) {
+            patient.getNotes().setPatient(patient);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Invalid dateOfBirth: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Invalid " + field + ": " + value);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
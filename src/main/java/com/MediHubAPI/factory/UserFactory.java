@@ -6,8 +6,7 @@ import com.MediHubAPI.model.ERole;
 import com.MediHubAPI.model.Role;
 import com.MediHubAPI.model.Specialization;
 import com.MediHubAPI.model.User;
-import com.MediHubAPI.repository.RoleRepository;
-import com.MediHubAPI.repository.SpecializationRepository;
+import com.MediHubAPI.reference.ReferenceDataRegistry;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -18,14 +17,12 @@ import java.util.Set;
 @Component
 public class UserFactory {
 
-    private final RoleRepository roleRepository;
+    private final ReferenceDataRegistry referenceData;
     private final PasswordEncoder passwordEncoder;
-    private final SpecializationRepository specializationRepository;
 
-    public UserFactory(RoleRepository roleRepository, PasswordEncoder passwordEncoder, SpecializationRepository specializationRepository) {
-        this.roleRepository = roleRepository;
+    public UserFactory(ReferenceDataRegistry referenceData, PasswordEncoder passwordEncoder) {
+        this.referenceData = referenceData;
         this.passwordEncoder = passwordEncoder;
-        this.specializationRepository = specializationRepository;
     }
 
     public User createUser(UserCreateDto dto) {
@@ -36,10 +33,10 @@ public class UserFactory {
         user.setFirstName(dto.getFirstName());
         user.setLastName(dto.getLastName());
 
-        // Fetch roles from DB
+        // Resolve roles from the reference-data registry (no DB round trip)
         Set<Role> roles = new HashSet<>();
         for (ERole roleEnum : dto.getRoles()) {
-            Role role = roleRepository.findByName(roleEnum)
+            Role role = referenceData.findRole(roleEnum)
                     .orElseThrow(() -> new HospitalAPIException(HttpStatus.BAD_REQUEST, "Role not found: " + roleEnum));
             roles.add(role);
         }
@@ -53,7 +50,7 @@ public class UserFactory {
             if (dto.getSpecializationId() == null) {
                 throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Specialization is required for doctors");
             }
-            Specialization specialization = specializationRepository.findById(dto.getSpecializationId())
+            Specialization specialization = referenceData.findSpecialization(dto.getSpecializationId())
                     .orElseThrow(() -> new HospitalAPIException(HttpStatus.BAD_REQUEST, "Specialization not found: " + dto.getSpecializationId()));
             user.setSpecialization(specialization);
         } else {
@@ -0,0 +1,85 @@
+package com.MediHubAPI.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate-limits and samples per-request log lines below WARN from the configured logger prefixes.
+ *
+ * <p>Each message template gets {@code perSecond} events per second; beyond that only every
+ * {@code sampleEvery}-th event passes. The decision is made on the unformatted template, before
+ * any argument is rendered, so dropped events cost a map lookup. WARN and ERROR always pass.</p>
+ *
+ * <p>Configured from {@code logback-spring.xml} (prod profile).</p>
+ */
+public class HotPathSamplingFilter extends TurboFilter {
+
+    private static final int MAX_TEMPLATES = 10_000;
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private int perSecond = 20;
+    private int sampleEvery = 100;
+
+    public void addLoggerPrefix(String loggerPrefix) {
+        loggerPrefixes.add(loggerPrefix);
+    }
+
+    public void setPerSecond(int perSecond) {
+        this.perSecond = perSecond;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || format == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        // disabled levels are rejected later anyway; do not let them use up the budget
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel()) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (windows.size() > MAX_TEMPLATES) {
+            windows.clear();
+        }
+        long count = windows.computeIfAbsent(format, f -> new Window()).increment(System.currentTimeMillis() / 1000);
+        if (count <= perSecond || (count - perSecond) % sampleEvery == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    private boolean matches(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicLong count = new AtomicLong();
+
+        long increment(long now) {
+            long current = second.get();
+            if (current != now && second.compareAndSet(current, now)) {
+                count.set(0);
+            }
+            return count.incrementAndGet();
+        }
+    }
+}
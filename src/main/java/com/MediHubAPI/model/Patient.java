@@ -1,20 +1,38 @@
 package com.MediHubAPI.model;
 
+import com.MediHubAPI.search.PatientSearchListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "patients")
+@EntityListeners(PatientSearchListener.class)
+@NamedEntityGraph(name = Patient.WITH_PROFILE, attributeNodes = {
+        @NamedAttributeNode("referrer"),
+        @NamedAttributeNode("address"),
+        @NamedAttributeNode("photo"),
+        @NamedAttributeNode("details"),
+        @NamedAttributeNode("notes")
+})
+@Table(name = "patients", indexes = @Index(name = "idx_patients_updated_at", columnList = "updated_at"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class Patient {
+
+    /**
+     * Fetch plan for anything that reads patients: the mappedBy one-to-ones below cannot be
+     * proxied, so any child left out of a query is loaded with its own select per patient.
+     */
+    public static final String WITH_PROFILE = "Patient.withProfile";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -62,5 +80,12 @@ public class Patient {
 
     @OneToOne(mappedBy = "patient", cascade = CascadeType.ALL)
     private PatientNotes notes;
+
+    /**
+     * Last insert or update, so other instances can bring their search index up to date; legacy rows
+     * may have none.
+     */
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
 
@@ -2,6 +2,8 @@ package com.MediHubAPI.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
 @Table(name = "patient_addresses")
@@ -22,7 +24,9 @@ public class PatientAddress {
 
     private boolean internationalPatient;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Patient patient;
 }
@@ -2,6 +2,8 @@
 
     import jakarta.persistence.*;
     import lombok.Data;
+    import lombok.EqualsAndHashCode;
+    import lombok.ToString;
 
 
     @Entity
@@ -25,8 +27,10 @@
         private String ivrLanguage;
         private Double birthWeight;
 
-        @OneToOne
+        @OneToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "patient_id")
+        @ToString.Exclude
+        @EqualsAndHashCode.Exclude
         private Patient patient;
     }
 
@@ -2,6 +2,8 @@ package com.MediHubAPI.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 @Entity
 @Table(name = "patient_notes")
 @Data
@@ -15,8 +17,10 @@ public class PatientNotes {
     @Column(length = 1000)
     private String notes;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Patient patient;
 }
 
@@ -2,9 +2,11 @@ package com.MediHubAPI.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
-@Table(name = "patient_photos")
+@Table(name = "patient_photos", indexes = @Index(name = "idx_patient_photos_storage_key", columnList = "storage_key"))
 @Data
 public class PatientPhoto {
     @Id
@@ -13,8 +15,18 @@ public class PatientPhoto {
 
     private String filePath; // or store as byte[] blob with @Lob
 
-    @OneToOne
+    /** Key of the photo in the {@code PhotoStore}; {@code null} for legacy {@code filePath}-only photos. */
+    @Column(length = 80)
+    private String storageKey;
+
+    private String contentType;
+
+    private Long sizeBytes;
+
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Patient patient;
 }
 
@@ -1,12 +1,17 @@
 package com.MediHubAPI.model;
 
+import com.MediHubAPI.reference.ReferenceDataChangeListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @NoArgsConstructor
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "medihub.reference.role")
+@EntityListeners(ReferenceDataChangeListener.class)
 @Table(name = "roles")
 public class Role {
 
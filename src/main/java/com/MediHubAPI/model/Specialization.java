@@ -1,10 +1,15 @@
 package com.MediHubAPI.model;
 
+import com.MediHubAPI.reference.ReferenceDataChangeListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "medihub.reference.specialization")
+@EntityListeners(ReferenceDataChangeListener.class)
 @Table(name = "specializations")
 public class Specialization {
 
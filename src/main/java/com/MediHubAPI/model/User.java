@@ -15,11 +15,18 @@ import java.util.Set;
 @NoArgsConstructor
 @Data
 @Entity
+@NamedEntityGraph(name = User.WITH_ROLES_AND_SPECIALIZATION, attributeNodes = {
+        @NamedAttributeNode("roles"),
+        @NamedAttributeNode("specialization")
+})
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(columnNames = "username"),
         @UniqueConstraint(columnNames = "email")
 })
 public class User {
+
+    /** Fetch plan for endpoints that render a user together with roles and specialization. */
+    public static final String WITH_ROLES_AND_SPECIALIZATION = "User.withRolesAndSpecialization";
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,28 @@
+package com.MediHubAPI.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around {@code DoctorService.defineAvailability}.
+ */
+@Name("medihub.Availability")
+@Label("Doctor Availability")
+@Category({"MediHub", "Scheduling"})
+@Description("Slot generation for one defineAvailability call")
+@StackTrace(false)
+public class AvailabilityEvent extends Event {
+
+    @Label("Doctor Id")
+    public long doctorId;
+
+    @Label("Slots Created")
+    public int slotsCreated;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,35 @@
+package com.MediHubAPI.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around {@code AppointmentService.bookAppointment}; its duration is the booking itself.
+ */
+@Name("medihub.Booking")
+@Label("Appointment Booking")
+@Category({"MediHub", "Scheduling"})
+@Description("One bookAppointment call: doctor, outcome and SQL statements issued")
+@StackTrace(false)
+public class BookingEvent extends Event {
+
+    @Label("Doctor Id")
+    public long doctorId;
+
+    @Label("Patient Id")
+    public long patientId;
+
+    @Label("Rescheduled")
+    public boolean reschedule;
+
+    @Label("Outcome")
+    @Description("BOOKED, or the HTTP status name of the rejection, or the exception type")
+    public String outcome;
+
+    @Label("SQL Statements")
+    public int sqlStatements;
+}
@@ -0,0 +1,126 @@
+package com.MediHubAPI.monitoring;
+
+import com.MediHubAPI.model.User;
+import com.MediHubAPI.model.enums.AppointmentStatus;
+import com.MediHubAPI.model.enums.AppointmentType;
+import com.MediHubAPI.repository.AppointmentRepository;
+import com.MediHubAPI.repository.SlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Scheduling-domain meters: booking attempts/successes/conflicts per doctor and specialization,
+ * slot inventory per day and status, time spent writing slot rows (where row-lock waits show up),
+ * walk-in queue depth and the size of block/unblock/shift/generate operations.
+ */
+@Slf4j
+@Component
+public class BookingMetrics {
+
+    private static final List<AppointmentStatus> WAITING = List.of(AppointmentStatus.BOOKED, AppointmentStatus.ARRIVED);
+
+    private final MeterRegistry meterRegistry;
+    private final SlotRepository slotRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final boolean doctorTag;
+    private final int inventoryDays;
+
+    private final MultiGauge slotInventory;
+    private final AtomicLong walkInQueueDepth = new AtomicLong();
+
+    public BookingMetrics(MeterRegistry meterRegistry,
+                          SlotRepository slotRepository,
+                          AppointmentRepository appointmentRepository,
+                          @Value("${app.metrics.booking.doctor-tag:true}") boolean doctorTag,
+                          @Value("${app.metrics.slot-inventory.days:7}") int inventoryDays) {
+        this.meterRegistry = meterRegistry;
+        this.slotRepository = slotRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.doctorTag = doctorTag;
+        this.inventoryDays = inventoryDays;
+        this.slotInventory = MultiGauge.builder("medihub.slots.inventory")
+                .description("Slots per day and status")
+                .register(meterRegistry);
+        Gauge.builder("medihub.walkin.queue.depth", walkInQueueDepth, AtomicLong::get)
+                .description("Walk-in appointments booked or arrived today")
+                .register(meterRegistry);
+    }
+
+    public void bookingAttempt(User doctor) {
+        counter("medihub.booking.attempts", doctorTags(doctor)).increment();
+    }
+
+    public void bookingSuccess(User doctor) {
+        counter("medihub.booking.successes", doctorTags(doctor)).increment();
+    }
+
+    /** A 409 on booking; {@code reason} is a short fixed label such as {@code slot_unavailable}. */
+    public void bookingConflict(User doctor, String reason) {
+        counter("medihub.booking.conflicts", doctorTags(doctor).and("reason", reason)).increment();
+    }
+
+    /** Times a slot write; on MySQL this is where waits on locked slot rows surface. */
+    public <T> T timeSlotWrite(String operation, Supplier<T> write) {
+        return Timer.builder("medihub.slot.write")
+                .description("Time to write (and flush) slot rows, including row-lock waits")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(write);
+    }
+
+    /** Number of slots touched by a block, unblock, shift or generate operation. */
+    public void slotOperation(String operation, int slots) {
+        DistributionSummary.builder("medihub.slot.operation.size")
+                .description("Slots touched per slot operation")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(slots);
+    }
+
+    public void slotShift(int minutes) {
+        DistributionSummary.builder("medihub.slot.shift.minutes")
+                .description("Minutes slots were shifted by")
+                .register(meterRegistry)
+                .record(Math.abs(minutes));
+    }
+
+    @Scheduled(fixedDelayString = "${app.metrics.slot-inventory.refresh-ms:60000}")
+    public void refreshInventory() {
+        LocalDate today = LocalDate.now();
+        try {
+            slotInventory.register(slotRepository.countByDateAndStatus(today, today.plusDays(inventoryDays - 1L)).stream()
+                    .map(row -> MultiGauge.Row.of(
+                            Tags.of("date", row.getDate().toString(), "status", row.getStatus().name()),
+                            row.getTotal()))
+                    .toList(), true);
+            walkInQueueDepth.set(appointmentRepository.countByTypeAndDateAndStatusIn(AppointmentType.WALKIN, today, WAITING));
+        } catch (RuntimeException ex) {
+            log.warn("⚠️ Could not refresh slot inventory gauges: {}", ex.getMessage());
+        }
+    }
+
+    private Counter counter(String name, Tags tags) {
+        return meterRegistry.counter(name, tags);
+    }
+
+    private Tags doctorTags(User doctor) {
+        String specialization = doctor.getSpecialization() != null ? doctor.getSpecialization().getName() : "none";
+        Tags tags = Tags.of("specialization", specialization);
+        return doctorTag ? tags.and("doctor", String.valueOf(doctor.getId())) : tags;
+    }
+}
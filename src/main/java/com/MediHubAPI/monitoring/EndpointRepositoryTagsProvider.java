@@ -0,0 +1,25 @@
+package com.MediHubAPI.monitoring;
+
+import io.micrometer.core.instrument.Tag;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds the calling endpoint to Spring Data's {@code spring.data.repository.invocations} timer,
+ * next to the default repository, method, state and exception tags.
+ */
+@Component
+public class EndpointRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        List<Tag> tags = new ArrayList<>();
+        super.repositoryTags(invocation).forEach(tags::add);
+        tags.add(Tag.of(EndpointTags.TAG, EndpointTags.current()));
+        return tags;
+    }
+}
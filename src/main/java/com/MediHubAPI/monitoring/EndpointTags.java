@@ -0,0 +1,29 @@
+package com.MediHubAPI.monitoring;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Endpoint tag for meters recorded below the web layer: the matched request mapping pattern
+ * (e.g. {@code /appointments/{doctorId}}), so the tag stays low-cardinality.
+ */
+public final class EndpointTags {
+
+    public static final String TAG = "endpoint";
+    public static final String NONE = "none";
+
+    private EndpointTags() {
+    }
+
+    /** Pattern of the request being handled on this thread, or {@value #NONE} outside of one. */
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return NONE;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : NONE;
+    }
+}
@@ -0,0 +1,30 @@
+package com.MediHubAPI.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+/**
+ * Error-rate meters: {@code medihub.errors} counts the error responses produced by
+ * {@link com.MediHubAPI.exception.GlobalExceptionHandler}, tagged by exception type, status,
+ * status family and endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(HttpStatusCode status, Throwable ex) {
+        Counter.builder("medihub.errors")
+                .description("Error responses by exception type and status")
+                .tag("type", ex.getClass().getSimpleName())
+                .tag("status", Integer.toString(status.value()))
+                .tag("family", status.is5xxServerError() ? "SERVER_ERROR" : "CLIENT_ERROR")
+                .tag(EndpointTags.TAG, EndpointTags.current())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,24 @@
+package com.MediHubAPI.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one JWT check in {@code JwtTokenProvider}: parsed-claims cache hit or a full
+ * signature verification.
+ */
+@Name("medihub.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"MediHub", "Security"})
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Valid")
+    public boolean valid;
+}
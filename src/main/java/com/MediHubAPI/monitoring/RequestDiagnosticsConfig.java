@@ -0,0 +1,40 @@
+package com.MediHubAPI.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request allocation accounting and the slow-request stack sampler.
+ * Disable with {@code app.request-diagnostics.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(RequestDiagnosticsProperties.class)
+@ConditionalOnProperty(prefix = "app.request-diagnostics", name = "enabled", matchIfMissing = true)
+public class RequestDiagnosticsConfig {
+
+    @Bean
+    public SlowRequestWatchdog slowRequestWatchdog(RequestDiagnosticsProperties properties) {
+        return new SlowRequestWatchdog(properties);
+    }
+
+    @Bean
+    public RequestDiagnosticsEndpoint requestDiagnosticsEndpoint(SlowRequestWatchdog watchdog,
+                                                                 RequestDiagnosticsProperties properties) {
+        return new RequestDiagnosticsEndpoint(watchdog, properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestDiagnosticsFilter> requestDiagnosticsFilter(SlowRequestWatchdog watchdog,
+                                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestDiagnosticsFilter> registration =
+                new FilterRegistrationBean<>(new RequestDiagnosticsFilter(watchdog, meterRegistry));
+        // outermost, so the allocation covers security and the SQL monitor too
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 20);
+        return registration;
+    }
+}
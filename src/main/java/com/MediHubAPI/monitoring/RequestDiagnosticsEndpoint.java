@@ -0,0 +1,29 @@
+package com.MediHubAPI.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/requestdiagnostics}: slow requests still running and the latest finished ones,
+ * each with its aggregated hot frames.
+ */
+@Endpoint(id = "requestdiagnostics")
+@RequiredArgsConstructor
+public class RequestDiagnosticsEndpoint {
+
+    private final SlowRequestWatchdog watchdog;
+    private final RequestDiagnosticsProperties properties;
+
+    @ReadOperation
+    public Map<String, Object> diagnostics() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("slowThresholdMs", properties.getSlowThreshold().toMillis());
+        body.put("inFlight", watchdog.inFlightProfiles());
+        body.put("recent", watchdog.recentProfiles());
+        return body;
+    }
+}
@@ -0,0 +1,57 @@
+package com.MediHubAPI.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records the bytes each request allocated on its thread ({@code medihub.request.allocated}) and
+ * registers it with the {@link SlowRequestWatchdog} while it runs.
+ */
+@RequiredArgsConstructor
+public class RequestDiagnosticsFilter extends OncePerRequestFilter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final SlowRequestWatchdog watchdog;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // -1 on virtual threads: the JVM does not account allocation per virtual thread, and the
+        // watchdog cannot sample their stacks either, so their slow requests are logged without frames
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        SlowRequestWatchdog.InFlightRequest inFlight = watchdog.begin(request.getMethod(), request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = allocatedBefore < 0 ? -1 : THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+            watchdog.end(inFlight, pattern != null ? uri : request.getRequestURI(), allocated);
+            if (allocated >= 0) {
+                DistributionSummary.builder("medihub.request.allocated")
+                        .description("Bytes allocated on the request thread")
+                        .baseUnit("bytes")
+                        .tags("method", request.getMethod(), "uri", uri)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(1024.0)
+                        .maximumExpectedValue(1024.0 * 1024 * 1024)
+                        .register(meterRegistry)
+                        .record(allocated);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.MediHubAPI.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.request-diagnostics")
+public class RequestDiagnosticsProperties {
+
+    /** Records allocated bytes per request and runs the slow-request sampler. */
+    private boolean enabled = true;
+
+    /** Requests running longer than this get their stack sampled. */
+    private Duration slowThreshold = Duration.ofSeconds(2);
+
+    /** How often the watchdog samples slow requests. */
+    private Duration sampleInterval = Duration.ofMillis(100);
+
+    /** Stack depth captured per sample. */
+    private int maxDepth = 64;
+
+    /** Hot frames listed per profile. */
+    private int topFrames = 15;
+
+    /** Finished slow-request profiles kept for the diagnostics endpoint. */
+    private int retainedProfiles = 20;
+}
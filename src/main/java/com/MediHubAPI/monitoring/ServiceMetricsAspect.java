@@ -0,0 +1,63 @@
+package com.MediHubAPI.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histogram ({@code medihub.service}) for every method of the core services, tagged by
+ * service, method, calling endpoint and outcome.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    /** Registered timers by tag values, so the hot path is one map lookup instead of a builder and registry lookup. */
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.MediHubAPI.service.AppointmentService.*(..))"
+            + " || execution(* com.MediHubAPI.service.SlotService.*(..))"
+            + " || execution(* com.MediHubAPI.service.DoctorService.*(..))"
+            + " || execution(* com.MediHubAPI.service.UserService.*(..))"
+            + " || execution(* com.MediHubAPI.service.AuthService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = "error";
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            TimerKey key = new TimerKey(joinPoint.getSignature().getDeclaringType(), joinPoint.getSignature().getName(),
+                    EndpointTags.current(), outcome, exception);
+            sample.stop(timers.computeIfAbsent(key, this::register));
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder("medihub.service")
+                .description("Service method latency")
+                .tag("service", key.service().getSimpleName())
+                .tag("method", key.method())
+                .tag(EndpointTags.TAG, key.endpoint())
+                .tag("outcome", key.outcome())
+                .tag("exception", key.exception())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record TimerKey(Class<?> service, String method, String endpoint, String outcome, String exception) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.MediHubAPI.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around slot block, unblock and shift operations.
+ */
+@Name("medihub.SlotOperation")
+@Label("Slot Operation")
+@Category({"MediHub", "Scheduling"})
+@StackTrace(false)
+public class SlotOperationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Doctor Id")
+    public long doctorId;
+
+    @Label("Date")
+    public String date;
+
+    @Label("Rows Affected")
+    public int rowsAffected;
+
+    @Label("Outcome")
+    public String outcome;
+}
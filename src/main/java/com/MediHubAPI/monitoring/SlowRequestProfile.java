@@ -0,0 +1,24 @@
+package com.MediHubAPI.monitoring;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Aggregated stack samples of one slow request. {@code hotFrames} counts the top frame of each
+ * sample, {@code appFrames} the innermost {@code com.MediHubAPI} frame, most frequent first.
+ */
+@Value
+public class SlowRequestProfile {
+    String method;
+    String uri;
+    String thread;
+    Instant startedAt;
+    long durationMs;
+    long allocatedBytes;
+    boolean finished;
+    int samples;
+    Map<String, Integer> hotFrames;
+    Map<String, Integer> appFrames;
+}
@@ -0,0 +1,186 @@
+package com.MediHubAPI.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Samples the stacks of requests that run past {@code slowThreshold} from a single daemon thread
+ * and keeps the aggregated hot frames of the most recent ones. Fast requests are never touched,
+ * so the cost is one map put/remove per request.
+ *
+ * <p>{@link ThreadMXBean} does not see virtual threads, so under the {@code virtual-threads}
+ * profile slow requests are still logged and kept, but without frames.</p>
+ */
+@Slf4j
+public class SlowRequestWatchdog implements DisposableBean {
+
+    private static final String APP_PACKAGE = "com.MediHubAPI.";
+
+    private final RequestDiagnosticsProperties properties;
+    private final Map<Thread, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+    private final Deque<SlowRequestProfile> recent = new ArrayDeque<>();
+    private final ScheduledExecutorService sampler;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final AtomicBoolean unsampledNoticeLogged = new AtomicBoolean();
+
+    public SlowRequestWatchdog(RequestDiagnosticsProperties properties) {
+        this.properties = properties;
+        this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "slow-request-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSampleInterval().toMillis();
+        sampler.scheduleWithFixedDelay(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    InFlightRequest begin(String method, String uri) {
+        InFlightRequest request = new InFlightRequest(Thread.currentThread(), method, uri);
+        inFlight.put(request.thread, request);
+        return request;
+    }
+
+    void end(InFlightRequest request, String endpoint, long allocatedBytes) {
+        inFlight.remove(request.thread, request);
+        if (request.samples() == 0 && System.nanoTime() - request.startNanos < properties.getSlowThreshold().toNanos()) {
+            return;
+        }
+        SlowRequestProfile profile = request.toProfile(endpoint, allocatedBytes, true, properties.getTopFrames());
+        synchronized (recent) {
+            recent.addFirst(profile);
+            while (recent.size() > properties.getRetainedProfiles()) {
+                recent.removeLast();
+            }
+        }
+        if (profile.getSamples() == 0) {
+            // a virtual thread, or a request that finished before the first sample
+            log.warn("🐢 Slow request {} {} took {} ms, no stack samples",
+                    profile.getMethod(), profile.getUri(), profile.getDurationMs());
+            return;
+        }
+        log.warn("🐢 Slow request {} {} took {} ms, allocated {} KB, {} samples; hot frames: {}; app frames: {}",
+                profile.getMethod(), profile.getUri(), profile.getDurationMs(), profile.getAllocatedBytes() / 1024,
+                profile.getSamples(), describe(profile.getHotFrames()), describe(profile.getAppFrames()));
+    }
+
+    /** Most recent finished slow requests, newest first. */
+    public List<SlowRequestProfile> recentProfiles() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    /** Requests currently over the threshold, with what has been sampled so far. */
+    public List<SlowRequestProfile> inFlightProfiles() {
+        return inFlight.values().stream()
+                .filter(r -> r.samples() > 0)
+                .map(r -> r.toProfile(r.uri, -1, false, properties.getTopFrames()))
+                .toList();
+    }
+
+    void sample() {
+        long thresholdNanos = properties.getSlowThreshold().toNanos();
+        long now = System.nanoTime();
+        try {
+            for (InFlightRequest request : inFlight.values()) {
+                if (now - request.startNanos >= thresholdNanos) {
+                    // Depth-bounded, so maxDepth caps the walk itself rather than just what is kept
+                    ThreadInfo info = threads.getThreadInfo(request.thread.getId(), properties.getMaxDepth());
+                    if (info != null) {
+                        request.record(info.getStackTrace());
+                    } else if (request.thread.isAlive() && unsampledNoticeLogged.compareAndSet(false, true)) {
+                        // null for a live thread means a virtual one, which ThreadMXBean does not track
+                        log.info("🐢 Slow request stacks are not sampled on virtual threads; "
+                                + "slow requests are logged without frames");
+                    }
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.debug("Slow-request sampling failed: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sampler.shutdownNow();
+    }
+
+    private static String describe(Map<String, Integer> frames) {
+        return frames.entrySet().stream()
+                .limit(5)
+                .map(e -> e.getValue() + "x " + e.getKey())
+                .collect(Collectors.joining(", "));
+    }
+
+    static final class InFlightRequest {
+        private final Thread thread;
+        private final String method;
+        private final String uri;
+        private final long startNanos = System.nanoTime();
+        private final Instant startedAt = Instant.now();
+        private final Map<String, Integer> hotFrames = new HashMap<>();
+        private final Map<String, Integer> appFrames = new HashMap<>();
+        private int samples;
+
+        private InFlightRequest(Thread thread, String method, String uri) {
+            this.thread = thread;
+            this.method = method;
+            this.uri = uri;
+        }
+
+        synchronized void record(StackTraceElement[] stack) {
+            if (stack.length == 0) {
+                return;
+            }
+            samples++;
+            hotFrames.merge(frame(stack[0]), 1, Integer::sum);
+            for (StackTraceElement element : stack) {
+                if (element.getClassName().startsWith(APP_PACKAGE)) {
+                    appFrames.merge(frame(element), 1, Integer::sum);
+                    break;
+                }
+            }
+        }
+
+        private static String frame(StackTraceElement element) {
+            return element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
+        }
+
+        synchronized int samples() {
+            return samples;
+        }
+
+        synchronized SlowRequestProfile toProfile(String endpoint, long allocatedBytes, boolean finished, int topFrames) {
+            return new SlowRequestProfile(method, endpoint, thread.getName(), startedAt,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), allocatedBytes, finished, samples,
+                    top(hotFrames, topFrames), top(appFrames, topFrames));
+        }
+
+        private static Map<String, Integer> top(Map<String, Integer> frames, int limit) {
+            Map<String, Integer> top = new LinkedHashMap<>();
+            frames.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .limit(limit)
+                    .forEach(e -> top.put(e.getKey(), e.getValue()));
+            return top;
+        }
+    }
+}
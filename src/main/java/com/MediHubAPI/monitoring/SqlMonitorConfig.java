@@ -0,0 +1,50 @@
+package com.MediHubAPI.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so every JDBC execution is visible to {@link SqlMonitorFilter}.
+ * Disable with {@code app.sql-monitor.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitorProperties.class)
+@ConditionalOnProperty(prefix = "app.sql-monitor", name = "enabled", matchIfMissing = true)
+public class SqlMonitorConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlMonitorDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatementListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlMonitorFilter> sqlMonitorFilter(SqlMonitorProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlMonitorFilter> registration =
+                new FilterRegistrationBean<>(new SqlMonitorFilter(properties, meterRegistry));
+        // ahead of Spring Security so the JWT user lookup is counted as well
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
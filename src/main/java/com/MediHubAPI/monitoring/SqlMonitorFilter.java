@@ -0,0 +1,138 @@
+package com.MediHubAPI.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements each request runs and reports them as metrics, optional debug
+ * headers and a WARN log when the endpoint's statement budget is exceeded.
+ *
+ * <p>Statements are counted on the request thread. For a streaming (async) response, the debug
+ * headers and the cached body are written out on the async re-dispatch that completes it.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlMonitorFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String MAX_REPEAT_HEADER = "X-SQL-Max-Repeat";
+
+    private static final int MAX_SHAPE_LENGTH = 160;
+    private static final String STATS_ATTRIBUTE = SqlMonitorFilter.class.getName() + ".stats";
+
+    private final SqlMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                ContentCachingResponseWrapper debugResponse =
+                        WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+                if (debugResponse != null && !isAsyncStarted(request)) {
+                    writeDebugResponse(debugResponse, (SqlStatementStats) request.getAttribute(STATS_ATTRIBUTE));
+                }
+            }
+            return;
+        }
+
+        SqlStatementStats stats = SqlStatementStats.begin();
+        ContentCachingResponseWrapper debugResponse =
+                properties.isDebugHeaders() ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, debugResponse != null ? debugResponse : response);
+        } finally {
+            SqlStatementStats.end();
+            report(request, stats);
+            if (debugResponse != null) {
+                if (isAsyncStarted(request)) {
+                    request.setAttribute(STATS_ATTRIBUTE, stats);
+                } else {
+                    writeDebugResponse(debugResponse, stats);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private static void writeDebugResponse(ContentCachingResponseWrapper debugResponse,
+                                           SqlStatementStats stats) throws IOException {
+        debugResponse.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+        debugResponse.setHeader(TIME_HEADER, String.format("%.2f", stats.getJdbcMillis()));
+        debugResponse.setHeader(MAX_REPEAT_HEADER, String.valueOf(stats.getMaxRepeat()));
+        debugResponse.copyBodyToResponse();
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("medihub.sql.statements")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("medihub.sql.time")
+                .description("Total JDBC execution time per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = stats.repeatedShapes(properties.getRepeatThreshold());
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("medihub.sql.repeated", tags).increment();
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        int budget = properties.budgetFor(path);
+        if (budget > 0 && stats.getStatements() > budget) {
+            meterRegistry.counter("medihub.sql.budget.exceeded", tags).increment();
+            log.warn("⚠️ SQL budget exceeded: {} {} ran {} statements (budget {}) in {} ms; repeated: {}",
+                    request.getMethod(), uri, stats.getStatements(), budget,
+                    String.format("%.1f", stats.getJdbcMillis()), describe(repeated));
+        } else if (!repeated.isEmpty() && log.isDebugEnabled()) {
+            log.debug("🔁 Repeated SQL in {} {}: {}", request.getMethod(), uri, describe(repeated));
+        }
+    }
+
+    private static String describe(Map<String, Integer> repeated) {
+        if (repeated.isEmpty()) {
+            return "none";
+        }
+        return repeated.entrySet().stream()
+                .limit(3)
+                .map(e -> e.getValue() + "x " + abbreviate(e.getKey()))
+                .collect(Collectors.joining(" | "));
+    }
+
+    private static String abbreviate(String shape) {
+        return shape.length() <= MAX_SHAPE_LENGTH ? shape : shape.substring(0, MAX_SHAPE_LENGTH) + "…";
+    }
+}
@@ -0,0 +1,41 @@
+package com.MediHubAPI.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.sql-monitor")
+public class SqlMonitorProperties {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /** Wraps the DataSource and counts statements per request. */
+    private boolean enabled = true;
+
+    /** Adds X-SQL-* headers to every response. Buffers the body, so keep it off in production. */
+    private boolean debugHeaders = false;
+
+    /** A statement shape repeated this often within one request is reported as a possible N+1. */
+    private int repeatThreshold = 5;
+
+    /** Statement budget for endpoints without an entry in {@link #budgets}; 0 disables the check. */
+    private int defaultBudget = 25;
+
+    /** Statement budgets keyed by Ant path pattern, e.g. {@code budgets[/doctors/**]=10}. */
+    private Map<String, Integer> budgets = new LinkedHashMap<>();
+
+    /** Budget of the most specific (longest) matching pattern, else the default. */
+    public int budgetFor(String path) {
+        String best = null;
+        for (String pattern : budgets.keySet()) {
+            if (PATH_MATCHER.match(pattern, path) && (best == null || pattern.length() > best.length())) {
+                best = pattern;
+            }
+        }
+        return best != null ? budgets.get(best) : defaultBudget;
+    }
+}
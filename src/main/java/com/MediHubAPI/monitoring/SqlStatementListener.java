@@ -0,0 +1,50 @@
+package com.MediHubAPI.monitoring;
+
+import com.MediHubAPI.tracing.Span;
+import com.MediHubAPI.tracing.Tracer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Feeds every JDBC execution on a request thread into its {@link SqlStatementStats} and opens an
+ * {@code sql} span for it in the request trace. Executions outside a request (startup, dataset
+ * generation, schedulers) are ignored.
+ */
+class SqlStatementListener implements QueryExecutionListener {
+
+    private static final String SPAN = SqlStatementListener.class.getName() + ".span";
+    private static final int MAX_SPAN_NAME = 200;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.beforeStatement();
+        }
+        if (Tracer.current() != null) {
+            String sql = firstQuery(queryInfoList);
+            String name = sql == null ? "?" : sql.length() <= MAX_SPAN_NAME ? sql : sql.substring(0, MAX_SPAN_NAME) + "…";
+            execInfo.addCustomValue(SPAN, Tracer.span("sql", name));
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Span span = execInfo.getCustomValue(SPAN, Span.class);
+        if (span != null) {
+            span.close();
+        }
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            // a JDBC batch is one round-trip, so it counts once under its first statement
+            stats.afterStatement(firstQuery(queryInfoList));
+        }
+    }
+
+    private static String firstQuery(List<QueryInfo> queryInfoList) {
+        return queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery();
+    }
+}
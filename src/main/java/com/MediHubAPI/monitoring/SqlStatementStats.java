@@ -0,0 +1,112 @@
+package com.MediHubAPI.monitoring;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC statements executed on the current request thread: how many, how long they took in total
+ * and how often each statement <em>shape</em> (SQL with literals and IN-lists normalised) repeated.
+ *
+ * <p>A shape that repeats many times inside one request is the classic N+1 signature, e.g. one
+ * {@code select ... from users where id=?} per appointment while mapping a schedule.</p>
+ *
+ * <p>Scopes nest: a scope begun while another is active folds its numbers into the outer one when
+ * it ends, so a test can measure everything a MockMvc call did around the request's own scope.</p>
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int statements;
+    private long jdbcNanos;
+    private long startedAt;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private SqlStatementStats parent;
+
+    private SqlStatementStats() {
+    }
+
+    /** Starts a scope on the current thread, nested inside the active one if there is any. */
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats();
+        stats.parent = CURRENT.get();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** Stats of the current thread, or {@code null} when nothing is being collected. */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /** Ends the innermost scope and adds its numbers to the enclosing one. */
+    public static void end() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        SqlStatementStats parent = stats.parent;
+        if (parent == null) {
+            CURRENT.remove();
+            return;
+        }
+        parent.statements += stats.statements;
+        parent.jdbcNanos += stats.jdbcNanos;
+        stats.shapes.forEach((shape, count) -> parent.shapes.merge(shape, count, Integer::sum));
+        CURRENT.set(parent);
+    }
+
+    void beforeStatement() {
+        startedAt = System.nanoTime();
+    }
+
+    void afterStatement(String sql) {
+        jdbcNanos += System.nanoTime() - startedAt;
+        statements++;
+        shapes.merge(shapeOf(sql), 1, Integer::sum);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcNanos / 1_000_000.0;
+    }
+
+    /** Highest number of times a single shape ran in this request. */
+    public int getMaxRepeat() {
+        return shapes.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    /** Shapes that ran at least {@code threshold} times, most frequent first. */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return repeated;
+    }
+
+    static String shapeOf(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,117 @@
+package com.MediHubAPI.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs a per-phase startup timing report once the application is ready: the top-level startup
+ * phases in order, the refresh sub-phases, and the beans with the highest self time (their own
+ * instantiation minus that of the beans they pulled in). Needs the {@link BufferingApplicationStartup}
+ * installed by {@code MediHubApiApplication.main}; the full timeline is also at {@code /actuator/startup}.
+ */
+@Slf4j
+@Component
+public class StartupTimingReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+
+    private final boolean enabled;
+    private final int topBeans;
+
+    public StartupTimingReport(@Value("${app.startup-report.enabled:true}") boolean enabled,
+                               @Value("${app.startup-report.top-beans:10}") int topBeans) {
+        this.enabled = enabled;
+        this.topBeans = topBeans;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getSpringApplication().getApplicationStartup();
+        if (!enabled || !(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        List<StartupTimeline.TimelineEvent> events = buffering.getBufferedTimeline().getEvents();
+        log.info("{}", report(events, event.getTimeTaken()));
+    }
+
+    private String report(List<StartupTimeline.TimelineEvent> events, Duration timeToReady) {
+        Map<Long, Long> childNanos = new HashMap<>();
+        Map<Long, StartupTimeline.TimelineEvent> byId = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            byId.put(step.getId(), event);
+            if (step.getParentId() != null) {
+                childNanos.merge(step.getParentId(), event.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        StringBuilder report = new StringBuilder("⏱️ Startup timing: ready in ")
+                .append(millis(timeToReady)).append(" (JVM uptime ")
+                .append(ManagementFactory.getRuntimeMXBean().getUptime()).append(" ms)");
+
+        report.append("\n  Phases:");
+        // beans created after refresh (e.g. by runners) are top-level too; they show up under slowest beans
+        events.stream()
+                .filter(e -> e.getStartupStep().getParentId() == null)
+                .filter(e -> !BEAN_STEP.equals(e.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getStartTime))
+                .forEach(e -> line(report, e.getStartupStep().getName(), e.getDuration()));
+
+        report.append("\n  Context refresh:");
+        Map<String, Long> refreshPhases = new HashMap<>();
+        events.stream()
+                .filter(e -> isRefreshChild(e, byId))
+                .forEach(e -> refreshPhases.merge(e.getStartupStep().getName(), e.getDuration().toNanos(), Long::sum));
+        refreshPhases.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> line(report, e.getKey(), Duration.ofNanos(e.getValue())));
+
+        report.append("\n  Slowest beans (self time):");
+        events.stream()
+                .filter(e -> BEAN_STEP.equals(e.getStartupStep().getName()))
+                .map(e -> Map.entry(beanName(e.getStartupStep()),
+                        e.getDuration().toNanos() - childNanos.getOrDefault(e.getStartupStep().getId(), 0L)))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(topBeans)
+                .forEach(e -> line(report, e.getKey(), Duration.ofNanos(e.getValue())));
+        return report.toString();
+    }
+
+    private static boolean isRefreshChild(StartupTimeline.TimelineEvent event,
+                                          Map<Long, StartupTimeline.TimelineEvent> byId) {
+        Long parentId = event.getStartupStep().getParentId();
+        StartupTimeline.TimelineEvent parent = parentId != null ? byId.get(parentId) : null;
+        return parent != null && "spring.context.refresh".equals(parent.getStartupStep().getName());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private static void line(StringBuilder report, String name, Duration duration) {
+        report.append(String.format("%n    %-60s %8s", name, millis(duration)));
+    }
+
+    private static String millis(Duration duration) {
+        return duration.toMillis() + " ms";
+    }
+}
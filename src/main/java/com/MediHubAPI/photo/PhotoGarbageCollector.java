@@ -0,0 +1,98 @@
+package com.MediHubAPI.photo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deletes photo blobs, with their thumbnails, that no {@code patient_photos} row refers to any
+ * more: a replaced photo stays in the {@link PhotoStore} because other patients may share it, so
+ * without this the store only grows. Blobs stored within {@code app.photo-store.gc-min-age} are
+ * skipped, since {@code PUT /api/patients/{id}/photo} stores the blob before it saves the row.
+ */
+@Slf4j
+public class PhotoGarbageCollector {
+
+    /** Keys checked against {@code patient_photos} per query. */
+    private static final int BATCH_SIZE = 500;
+
+    private final PhotoStore photoStore;
+    private final ThumbnailCache thumbnailCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration minAge;
+
+    public PhotoGarbageCollector(PhotoStore photoStore, ThumbnailCache thumbnailCache, JdbcTemplate jdbcTemplate,
+                                 Duration minAge) {
+        this.photoStore = photoStore;
+        this.thumbnailCache = thumbnailCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.minAge = minAge;
+    }
+
+    @Scheduled(cron = "${app.photo-store.gc-cron:0 30 3 * * *}")
+    public void collect() {
+        try {
+            collect(Instant.now().minus(minAge));
+        } catch (IOException | UncheckedIOException | DataAccessException e) {
+            log.warn("⚠️ Photo garbage collection stopped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the unreferenced blobs last stored before {@code storedBefore}.
+     *
+     * @return the number of blobs deleted
+     */
+    public int collect(Instant storedBefore) throws IOException {
+        long started = System.currentTimeMillis();
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        long[] totals = new long[2];
+        photoStore.forEachKey(storedBefore, key -> {
+            batch.add(key);
+            if (batch.size() == BATCH_SIZE) {
+                sweep(batch, storedBefore, totals);
+                batch.clear();
+            }
+        });
+        sweep(batch, storedBefore, totals);
+        log.info("🖼️ Photo garbage collection deleted {} blobs ({} bytes) in {} ms",
+                totals[0], totals[1], System.currentTimeMillis() - started);
+        return (int) totals[0];
+    }
+
+    private void sweep(List<String> keys, Instant storedBefore, long[] totals) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+        Set<String> referenced = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT storage_key FROM patient_photos WHERE storage_key IN (" + placeholders + ")",
+                String.class, keys.toArray()));
+        for (String key : keys) {
+            if (referenced.contains(key)) {
+                continue;
+            }
+            try {
+                long freed = photoStore.delete(key, storedBefore);
+                if (freed > 0) {
+                    thumbnailCache.evict(key);
+                    totals[0]++;
+                    totals[1] += freed;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
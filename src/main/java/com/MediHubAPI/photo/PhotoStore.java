@@ -0,0 +1,310 @@
+package com.MediHubAPI.photo;
+
+import com.MediHubAPI.exception.HospitalAPIException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed photo blobs on local disk. A photo is stored once under the SHA-256 of its
+ * bytes, at {@code <root>/ab/cd/<sha-256>.jpg}, next to a JPEG thumbnail generated at upload;
+ * uploading the same image again, for any patient, reuses the stored file. Blobs are immutable,
+ * so their key doubles as a strong ETag.
+ *
+ * <p>Uploads are streamed through a {@link FileChannel} into a temporary file while being hashed,
+ * then moved into place atomically, so a reader never sees a partial file. Only the thumbnail
+ * step decodes the image, subsampled to about twice the thumbnail size.</p>
+ *
+ * <p>A blob's modification time is the last time it was stored, including reuses, so
+ * {@link PhotoGarbageCollector} can leave recent uploads alone until their patient row commits.
+ * Renewing that time on reuse and the collector's check-then-delete take the same per-key lock.</p>
+ */
+@Slf4j
+public class PhotoStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}\\.(jpg|png)");
+    private static final String THUMBNAIL_SUFFIX = ".thumb.jpg";
+
+    private final Path root;
+    private final Path incoming;
+    private final long maxUploadBytes;
+    private final int thumbnailSize;
+    /**
+     * Striped by key: a reuse in {@link #store} and a {@link #delete} of the same blob never overlap.
+     * Not {@code synchronized}, which would pin the carrier of a virtual thread during file I/O.
+     */
+    private final Lock[] locks = new Lock[64];
+
+    public PhotoStore(PhotoStoreProperties properties) {
+        this.root = Paths.get(properties.getRoot()).toAbsolutePath().normalize();
+        this.incoming = root.resolve("incoming");
+        this.maxUploadBytes = properties.getMaxUploadBytes();
+        this.thumbnailSize = properties.getThumbnailSize();
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create photo store at " + root, e);
+        }
+    }
+
+    /**
+     * Stores the JPEG or PNG image read from {@code in}.
+     *
+     * @throws HospitalAPIException 413 if larger than {@code max-upload-bytes}, 415 if not a JPEG
+     *                              or PNG, 400 if it does not decode
+     */
+    public StoredPhoto store(InputStream in) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            MessageDigest sha256 = sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            byte[] magic = new byte[8];
+            long size = 0;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 ReadableByteChannel source = Channels.newChannel(in)) {
+                int read;
+                while ((read = source.read(buffer)) >= 0) {
+                    long before = size;
+                    size += read;
+                    if (size > maxUploadBytes) {
+                        throw new HospitalAPIException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                "Photo exceeds " + maxUploadBytes + " bytes");
+                    }
+                    buffer.flip();
+                    if (before < magic.length) {
+                        buffer.duplicate().get(magic, (int) before,
+                                (int) Math.min(magic.length - before, buffer.remaining()));
+                    }
+                    sha256.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                out.force(true);
+            }
+
+            String extension = extension(magic);
+            String key = HexFormat.of().formatHex(sha256.digest()) + "." + extension;
+            Path target = path(key);
+            // under the key's lock, so the garbage collector cannot delete the blob between the check
+            // and the touch that renews its grace period
+            Lock lock = lock(key);
+            lock.lock();
+            try {
+                if (Files.exists(target)) {
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    log.info("🖼️ Photo {} already stored, reusing it", key);
+                    return new StoredPhoto(key, contentType(key), size);
+                }
+            } finally {
+                lock.unlock();
+            }
+            Files.createDirectories(target.getParent());
+            writeThumbnail(temp, thumbnailPath(key));
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.info("🖼️ Stored photo {} ({} bytes)", key, size);
+            return new StoredPhoto(key, contentType(key), size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The stored photo under {@code key}; empty for keys that are malformed or not stored.
+     */
+    public Optional<StoredPhoto> find(String key) throws IOException {
+        if (!isKey(key) || !Files.exists(path(key))) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredPhoto(key, contentType(key), Files.size(path(key))));
+    }
+
+    /**
+     * Calls {@code action} with the key of every blob last stored before {@code storedBefore}.
+     */
+    public void forEachKey(Instant storedBefore, Consumer<String> action) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> it = files.iterator();
+            while (it.hasNext()) {
+                Path file = it.next();
+                String name = file.getFileName().toString();
+                if (isKey(name) && !file.startsWith(incoming) && storedBefore(file, storedBefore)) {
+                    action.accept(name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the blob under {@code key} and its thumbnail, unless it was stored again since
+     * {@code storedBefore}.
+     *
+     * @return the bytes freed
+     */
+    public long delete(String key, Instant storedBefore) throws IOException {
+        Path blob = path(key);
+        Lock lock = lock(key);
+        lock.lock();
+        try {
+            if (!storedBefore(blob, storedBefore)) {
+                return 0;
+            }
+            long freed = Files.size(blob);
+            Path thumbnail = thumbnailPath(key);
+            if (Files.exists(thumbnail)) {
+                freed += Files.size(thumbnail);
+            }
+            Files.deleteIfExists(blob);
+            Files.deleteIfExists(thumbnail);
+            return freed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock lock(String key) {
+        return locks[Math.floorMod(key.hashCode(), locks.length)];
+    }
+
+    private static boolean storedBefore(Path file, Instant instant) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(instant);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    public Path path(String key) {
+        if (!isKey(key)) {
+            throw new IllegalArgumentException("Not a photo key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    public Path thumbnailPath(String key) {
+        Path photo = path(key);
+        return photo.resolveSibling(key.substring(0, 64) + THUMBNAIL_SUFFIX);
+    }
+
+    public static boolean isKey(String key) {
+        return key != null && KEY.matcher(key).matches();
+    }
+
+    public static String url(String key) {
+        return "/api/photos/" + key;
+    }
+
+    public static String thumbnailUrl(String key) {
+        return "/api/photos/" + key + "/thumbnail";
+    }
+
+    private static String contentType(String key) {
+        return key.endsWith(".png") ? "image/png" : "image/jpeg";
+    }
+
+    private static String extension(byte[] magic) {
+        if ((magic[0] & 0xFF) == 0xFF && (magic[1] & 0xFF) == 0xD8 && (magic[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if ((magic[0] & 0xFF) == 0x89 && magic[1] == 'P' && magic[2] == 'N' && magic[3] == 'G') {
+            return "png";
+        }
+        throw new HospitalAPIException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Photo must be a JPEG or PNG image");
+    }
+
+    /**
+     * Scales the image at {@code source} to fit {@code thumbnail-size} and writes it as JPEG. The
+     * image is decoded with subsampling, so a 40-megapixel photo does not become a 160 MB raster.
+     */
+    private void writeThumbnail(Path source, Path thumbnail) throws IOException {
+        BufferedImage image;
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Photo could not be decoded");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / (thumbnailSize * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                image = reader.read(0, param);
+            } catch (IOException | RuntimeException e) {
+                throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "Photo could not be decoded");
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        double scale = Math.min(1.0, (double) thumbnailSize / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        // JPEG has no alpha: transparent PNG areas come out white
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+
+        Path temp = Files.createTempFile(incoming, "thumb-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                ImageIO.write(scaled, "jpg", out);
+            }
+            Files.move(temp, thumbnail, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.MediHubAPI.photo;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(PhotoStoreProperties.class)
+public class PhotoStoreConfig {
+
+    @Bean
+    public PhotoStore photoStore(PhotoStoreProperties properties) {
+        return new PhotoStore(properties);
+    }
+
+    @Bean
+    public ThumbnailCache thumbnailCache(PhotoStoreProperties properties) {
+        return new ThumbnailCache(properties.getThumbnailCacheBytes());
+    }
+
+    @Bean
+    public PhotoGarbageCollector photoGarbageCollector(PhotoStore photoStore, ThumbnailCache thumbnailCache,
+                                                       JdbcTemplate jdbcTemplate, PhotoStoreProperties properties) {
+        return new PhotoGarbageCollector(photoStore, thumbnailCache, jdbcTemplate, properties.getGcMinAge());
+    }
+}
@@ -0,0 +1,32 @@
+package com.MediHubAPI.photo;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.photo-store")
+public class PhotoStoreProperties {
+
+    /** Directory holding the photo blobs and their thumbnails; created on startup. */
+    private String root = "data/photos";
+
+    /** Largest photo upload accepted, in bytes. */
+    private long maxUploadBytes = 10 * 1024 * 1024;
+
+    /** Longest side of the generated thumbnails, in pixels. */
+    private int thumbnailSize = 160;
+
+    /** Heap budget of the thumbnail cache, in bytes. */
+    private long thumbnailCacheBytes = 32 * 1024 * 1024;
+
+    /**
+     * When {@link PhotoGarbageCollector} deletes blobs no patient refers to any more; {@code -}
+     * turns it off.
+     */
+    private String gcCron = "0 30 3 * * *";
+
+    /** Blobs stored more recently than this are kept, so an upload whose patient row is still being saved survives. */
+    private Duration gcMinAge = Duration.ofHours(1);
+}
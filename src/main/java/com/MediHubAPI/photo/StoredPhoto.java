@@ -0,0 +1,16 @@
+package com.MediHubAPI.photo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A photo in the {@link PhotoStore}: its storage key ({@code <sha-256>.jpg} or {@code .png}),
+ * content type and size.
+ */
+@Getter
+@AllArgsConstructor
+public class StoredPhoto {
+    private final String key;
+    private final String contentType;
+    private final long sizeBytes;
+}
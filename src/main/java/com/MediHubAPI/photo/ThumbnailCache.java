@@ -0,0 +1,104 @@
+package com.MediHubAPI.photo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used thumbnails held on the heap, bounded by their total size in bytes rather
+ * than by count. Misses read the pre-generated thumbnail file; the loaded bytes are never
+ * modified, so callers share them.
+ */
+public class ThumbnailCache {
+
+    private final long maxBytes;
+    private final Map<String, byte[]> thumbnails = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+
+    public ThumbnailCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The thumbnail stored at {@code file}, from the cache when present.
+     *
+     * @return {@code null} if the file does not exist
+     */
+    public byte[] get(String key, Path file) {
+        synchronized (this) {
+            byte[] cached = thumbnails.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        // read outside the lock; two threads missing on the same key both read, which is harmless
+        byte[] loaded = read(file);
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public synchronized void evict(String key) {
+        byte[] removed = thumbnails.remove(key);
+        if (removed != null) {
+            bytes -= removed.length;
+        }
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return thumbnails.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private synchronized void put(String key, byte[] thumbnail) {
+        if (thumbnail.length > maxBytes) {
+            return;
+        }
+        byte[] previous = thumbnails.put(key, thumbnail);
+        bytes += thumbnail.length - (previous != null ? previous.length : 0);
+        Iterator<byte[]> eldest = thumbnails.values().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    private static byte[] read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            return buffer.array();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
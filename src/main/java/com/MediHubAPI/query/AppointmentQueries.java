@@ -0,0 +1,140 @@
+package com.MediHubAPI.query;
+
+import com.MediHubAPI.dto.AppointmentResponseDto;
+import com.MediHubAPI.model.Appointment;
+import com.MediHubAPI.model.Slot;
+import com.MediHubAPI.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Appointment listings as {@link AppointmentResponseDto} constructor projections. Doctor, patient
+ * and slot columns come from left joins in the same statement, so a page costs one select (plus a
+ * count) and leaves nothing in the persistence context; mapping entities instead lazily loaded
+ * the doctor, patient and slot of every row.
+ *
+ * <p>Filters are ordinary {@link Specification}s over {@code Appointment}.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AppointmentQueries {
+
+    private final EntityManager entityManager;
+
+    public List<AppointmentResponseDto> forDoctorOnDate(Long doctorId, LocalDate date) {
+        return list(doctor(doctorId).and(onDate(date)), Sort.by("slotTime", "id"));
+    }
+
+    public List<AppointmentResponseDto> forPatient(Long patientId) {
+        return list(patient(patientId), Sort.by(Sort.Direction.DESC, "appointmentDate"));
+    }
+
+    public Page<AppointmentResponseDto> forPatient(Long patientId, Pageable pageable) {
+        return page(patient(patientId), pageable);
+    }
+
+    public Page<AppointmentResponseDto> page(Specification<Appointment> filter, Pageable pageable) {
+        List<AppointmentResponseDto> content = query(filter, pageable.getSort(), pageable).getResultList();
+        // skips the count query when this page is the last one
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+
+    public List<AppointmentResponseDto> list(Specification<Appointment> filter, Sort sort) {
+        return query(filter, sort, Pageable.unpaged()).getResultList();
+    }
+
+    /**
+     * Feeds every matching row to {@code sink} from a forward-only cursor reading {@code fetchSize}
+     * rows per round trip; projections are not managed, so memory does not grow with the result.
+     */
+    @SuppressWarnings("unchecked")
+    public long stream(Specification<Appointment> filter, Sort sort, int fetchSize,
+                       Consumer<AppointmentResponseDto> sink) {
+        org.hibernate.query.Query<AppointmentResponseDto> query =
+                query(filter, sort, Pageable.unpaged()).unwrap(org.hibernate.query.Query.class);
+        query.setFetchSize(fetchSize);
+        long rows = 0;
+        try (ScrollableResults<AppointmentResponseDto> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                sink.accept(results.get());
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private TypedQuery<AppointmentResponseDto> query(Specification<Appointment> filter, Sort sort, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AppointmentResponseDto> query = cb.createQuery(AppointmentResponseDto.class);
+        Root<Appointment> appointment = query.from(Appointment.class);
+        Join<Appointment, User> doctor = appointment.join("doctor", JoinType.LEFT);
+        Join<Appointment, User> patient = appointment.join("patient", JoinType.LEFT);
+        Join<Appointment, Slot> slot = appointment.join("slot", JoinType.LEFT);
+        query.select(cb.construct(AppointmentResponseDto.class,
+                appointment.get("id"),
+                doctor.get("id"), doctor.get("firstName"), doctor.get("lastName"),
+                patient.get("id"), patient.get("firstName"), patient.get("lastName"),
+                appointment.get("appointmentDate"), appointment.get("slotTime"),
+                appointment.get("status"), appointment.get("type"),
+                slot.get("id"), slot.get("startTime"), slot.get("endTime"), slot.get("status")));
+        Predicate predicate = filter.toPredicate(appointment, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, appointment, cb));
+        }
+        TypedQuery<AppointmentResponseDto> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        return typed;
+    }
+
+    private long count(Specification<Appointment> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Appointment> appointment = query.from(Appointment.class);
+        query.select(cb.count(appointment));
+        Predicate predicate = filter.toPredicate(appointment, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Specification<Appointment> doctor(Long doctorId) {
+        return (root, query, cb) -> cb.equal(root.get("doctor").get("id"), doctorId);
+    }
+
+    private static Specification<Appointment> patient(Long patientId) {
+        return (root, query, cb) -> cb.equal(root.get("patient").get("id"), patientId);
+    }
+
+    private static Specification<Appointment> onDate(LocalDate date) {
+        return (root, query, cb) -> cb.equal(root.get("appointmentDate"), date);
+    }
+}
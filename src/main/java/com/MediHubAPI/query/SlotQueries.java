@@ -0,0 +1,47 @@
+package com.MediHubAPI.query;
+
+import com.MediHubAPI.dto.SlotResponseDto;
+import com.MediHubAPI.dto.SlotStatusDto;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Slot read models, projected straight from JPQL. Loading {@code Slot} entities for these views
+ * also loaded each slot's (non-lazy, inverse one-to-one) appointment: one extra query per slot.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SlotQueries {
+
+    private final EntityManager entityManager;
+
+    public List<SlotStatusDto> statuses(Long doctorId, LocalDate date) {
+        return entityManager.createQuery("""
+                        SELECT new com.MediHubAPI.dto.SlotStatusDto(s.startTime, s.endTime, s.status, s.type)
+                        FROM Slot s
+                        WHERE s.doctor.id = :doctorId AND s.date = :date
+                        ORDER BY s.startTime, s.id
+                        """, SlotStatusDto.class)
+                .setParameter("doctorId", doctorId)
+                .setParameter("date", date)
+                .getResultList();
+    }
+
+    public List<SlotResponseDto> forDoctorOnDate(Long doctorId, LocalDate date) {
+        return entityManager.createQuery("""
+                        SELECT new com.MediHubAPI.dto.SlotResponseDto(s.date, s.startTime, s.endTime, s.status)
+                        FROM Slot s
+                        WHERE s.doctor.id = :doctorId AND s.date = :date
+                        ORDER BY s.startTime, s.id
+                        """, SlotResponseDto.class)
+                .setParameter("doctorId", doctorId)
+                .setParameter("date", date)
+                .getResultList();
+    }
+}
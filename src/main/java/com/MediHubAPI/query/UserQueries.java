@@ -0,0 +1,133 @@
+package com.MediHubAPI.query;
+
+import com.MediHubAPI.dto.CursorPage;
+import com.MediHubAPI.dto.UserDto;
+import com.MediHubAPI.model.ERole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * User read models over plain JDBC, for listings that must not grow with the number of users.
+ * Rows are read in id order, either as a keyset page or through a forward-only cursor, and the
+ * roles of each page or chunk are loaded with one {@code IN} query.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class UserQueries {
+
+    private static final String SELECT_USERS = """
+            SELECT u.id, u.username, u.email, u.first_name, u.last_name, u.enabled, s.name AS specialization
+            FROM users u
+            LEFT JOIN specializations s ON s.id = u.specialization_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int fetchSize;
+
+    public UserQueries(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                       @Value("${app.user-export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Up to {@code size} users with an id greater than {@code afterId}; the cursor of the next
+     * page is the id of the last row returned.
+     */
+    public CursorPage<UserDto> page(long afterId, int size) {
+        List<UserDto> users = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_USERS + "WHERE u.id > ? ORDER BY u.id");
+            ps.setLong(1, afterId);
+            ps.setMaxRows(size + 1);
+            return ps;
+        }, (rs, rowNum) -> toDto(rs));
+
+        boolean hasMore = users.size() > size;
+        List<UserDto> content = hasMore ? users.subList(0, size) : users;
+        attachRoles(content);
+        Long nextCursor = hasMore ? content.get(content.size() - 1).getId() : null;
+        return new CursorPage<>(content, nextCursor, null, hasMore);
+    }
+
+    /**
+     * Streams every user in id order to {@code sink}, one chunk of {@code fetchSize} rows at a
+     * time, and returns the number of users written. Only the current chunk is held in memory.
+     */
+    public long stream(Consumer<List<UserDto>> sink) {
+        List<UserDto> chunk = new ArrayList<>(fetchSize);
+        long[] total = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_USERS + "ORDER BY u.id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, rs -> {
+            chunk.add(toDto(rs));
+            if (chunk.size() == fetchSize) {
+                total[0] += flush(chunk, sink);
+            }
+        });
+        total[0] += flush(chunk, sink);
+        return total[0];
+    }
+
+    private int flush(List<UserDto> chunk, Consumer<List<UserDto>> sink) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        attachRoles(chunk);
+        sink.accept(chunk);
+        int written = chunk.size();
+        chunk.clear();
+        return written;
+    }
+
+    private void attachRoles(List<UserDto> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Map<Long, UserDto> byId = new HashMap<>();
+        for (UserDto user : users) {
+            user.setRoles(EnumSet.noneOf(ERole.class));
+            byId.put(user.getId(), user);
+        }
+        namedJdbcTemplate.query("""
+                        SELECT ur.user_id, r.name
+                        FROM user_roles ur
+                        JOIN roles r ON r.id = ur.role_id
+                        WHERE ur.user_id IN (:ids)
+                        """,
+                new MapSqlParameterSource("ids", byId.keySet()),
+                rs -> {
+                    byId.get(rs.getLong(1)).getRoles().add(ERole.valueOf(rs.getString(2)));
+                });
+    }
+
+    private static UserDto toDto(ResultSet rs) throws SQLException {
+        UserDto user = new UserDto();
+        user.setId(rs.getLong("id"));
+        user.setUsername(rs.getString("username"));
+        user.setEmail(rs.getString("email"));
+        user.setFirstName(rs.getString("first_name"));
+        user.setLastName(rs.getString("last_name"));
+        user.setEnabled(rs.getBoolean("enabled"));
+        user.setSpecialization(rs.getString("specialization"));
+        return user;
+    }
+}
@@ -0,0 +1,43 @@
+package com.MediHubAPI.reference;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on the reference-data entities: invalidates {@link ReferenceDataRegistry} once a
+ * change is committed (immediately when there is no transaction). Instantiated by Hibernate
+ * through Spring's bean container; the registry is looked up lazily because it depends on the
+ * repositories, which depend on the entity manager factory that creates this listener.
+ */
+public class ReferenceDataChangeListener {
+
+    private final ObjectProvider<ReferenceDataRegistry> registry;
+
+    public ReferenceDataChangeListener(ObjectProvider<ReferenceDataRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        registry.ifAvailable(ReferenceDataRegistry::invalidate);
+    }
+}
@@ -0,0 +1,117 @@
+package com.MediHubAPI.reference;
+
+import com.MediHubAPI.model.ERole;
+import com.MediHubAPI.model.Role;
+import com.MediHubAPI.model.Specialization;
+import com.MediHubAPI.repository.RoleRepository;
+import com.MediHubAPI.repository.SpecializationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory registry of the reference data every user write needs: the {@code ERole} → role id
+ * mapping and the specialization rows.
+ *
+ * <p>The data is held in an immutable snapshot, loaded once (two queries) on first use and
+ * invalidated by {@link ReferenceDataChangeListener} after any insert/update/delete of a
+ * {@link Role} or {@link Specialization} commits; the next lookup reloads it. Callers get fresh
+ * detached instances carrying the id, which is all Hibernate needs to write a foreign key, so
+ * assigning roles or a specialization to a user costs no SQL.</p>
+ */
+@Slf4j
+@Component
+public class ReferenceDataRegistry {
+
+    private final RoleRepository roleRepository;
+    private final SpecializationRepository specializationRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataRegistry(RoleRepository roleRepository, SpecializationRepository specializationRepository) {
+        this.roleRepository = roleRepository;
+        this.specializationRepository = specializationRepository;
+    }
+
+    public Optional<Integer> roleId(ERole role) {
+        return Optional.ofNullable(snapshot().roleIds().get(role));
+    }
+
+    /** A detached {@link Role} for {@code role}, or empty if the role has not been seeded. */
+    public Optional<Role> findRole(ERole role) {
+        return roleId(role).map(id -> {
+            Role copy = new Role(role);
+            copy.setId(id);
+            return copy;
+        });
+    }
+
+    /** A detached copy of the specialization with {@code id}, or empty if there is none. */
+    public Optional<Specialization> findSpecialization(Long id) {
+        Specialization cached = id != null ? snapshot().specializations().get(id) : null;
+        return Optional.ofNullable(cached).map(ReferenceDataRegistry::copyOf);
+    }
+
+    public boolean hasSpecialization(String name) {
+        return snapshot().specializations().values().stream()
+                .anyMatch(s -> s.getName().equalsIgnoreCase(name));
+    }
+
+    /** Drops the current snapshot; the next lookup reloads it. */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    /** Reloads the snapshot now. */
+    public void refresh() {
+        invalidate();
+        snapshot();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long loadedAt = generation.get();
+        Snapshot loaded = load();
+        // A change committed while we were reading invalidates what we read: use it once, don't publish it
+        synchronized (this) {
+            if (generation.get() == loadedAt) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private Snapshot load() {
+        EnumMap<ERole, Integer> roleIds = new EnumMap<>(ERole.class);
+        roleRepository.findAll().forEach(role -> roleIds.put(role.getName(), role.getId()));
+
+        Map<Long, Specialization> specializations = new LinkedHashMap<>();
+        specializationRepository.findAll().forEach(s -> specializations.put(s.getId(), copyOf(s)));
+
+        log.info("📚 Reference data loaded: {} roles, {} specializations", roleIds.size(), specializations.size());
+        return new Snapshot(Collections.unmodifiableMap(roleIds), Collections.unmodifiableMap(specializations));
+    }
+
+    private static Specialization copyOf(Specialization source) {
+        Specialization copy = new Specialization();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setDepartment(source.getDepartment());
+        copy.setDescription(source.getDescription());
+        return copy;
+    }
+
+    private record Snapshot(Map<ERole, Integer> roleIds, Map<Long, Specialization> specializations) {
+    }
+}
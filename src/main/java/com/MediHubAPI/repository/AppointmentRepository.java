@@ -2,6 +2,8 @@ package com.MediHubAPI.repository;
 
 
 import com.MediHubAPI.model.Appointment;
+import com.MediHubAPI.model.enums.AppointmentStatus;
+import com.MediHubAPI.model.enums.AppointmentType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -29,6 +32,8 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>,
 
     Page<Appointment> findByPatientId(Long patientId, Pageable pageable);
 
+    long countByTypeAndDateAndStatusIn(AppointmentType type, LocalDate date, Collection<AppointmentStatus> statuses);
+
     @Query("""
                 SELECT a FROM Appointment a
                 WHERE a.patient.id = :patientId
@@ -1,8 +1,28 @@
 package com.MediHubAPI.repository;
 
 import com.MediHubAPI.model.Patient;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Optional;
+
 public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpecificationExecutor<Patient> {
+
+    /**
+     * The patient with all five profile sections in one statement.
+     */
+    @EntityGraph(Patient.WITH_PROFILE)
+    Optional<Patient> findWithProfileById(Long id);
+
+    /**
+     * Profile sections are all to-one, so they are joined into the page query without
+     * in-memory pagination.
+     */
+    @Override
+    @EntityGraph(Patient.WITH_PROFILE)
+    Page<Patient> findAll(Specification<Patient> spec, Pageable pageable);
 }
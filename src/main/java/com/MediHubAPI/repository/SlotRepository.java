@@ -4,9 +4,12 @@ import com.MediHubAPI.model.enums.SlotStatus;
 import com.MediHubAPI.model.Slot;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,8 +31,41 @@ public interface SlotRepository extends JpaRepository<Slot, Long>, JpaSpecificat
      */
     List<Slot> findByDoctorIdAndDateAndStatusIn(Long doctorId, LocalDate date, List<SlotStatus> statuses);
 
+    /**
+     * Slots of several doctors on one date with their appointment and patient fetched in the
+     * same statement; the inverse one-to-one would otherwise cost a query per slot.
+     */
+    @Query("""
+                SELECT s FROM Slot s
+                LEFT JOIN FETCH s.appointment a
+                LEFT JOIN FETCH a.patient
+                WHERE s.doctor.id IN :doctorIds AND s.date = :date AND s.status IN :statuses
+            """)
+    List<Slot> findWithAppointmentsByDoctorIdInAndDate(@Param("doctorIds") Collection<Long> doctorIds,
+                                                       @Param("date") LocalDate date,
+                                                       @Param("statuses") Collection<SlotStatus> statuses);
+
     boolean existsByDoctorIdAndDateAndStartTimeAndEndTime(Long id, LocalDate date, LocalTime current, LocalTime slotEnd);
 
     Optional<Slot> findByDoctorIdAndStartTimeAndDate(Long doctorId, LocalTime slotTime, LocalDate appointmentDate);
 
+    /**
+     * Slot counts per day and status across all doctors, for the inventory gauges.
+     */
+    @Query("""
+                SELECT s.date AS date, s.status AS status, COUNT(s) AS total
+                FROM Slot s
+                WHERE s.date BETWEEN :from AND :to
+                GROUP BY s.date, s.status
+            """)
+    List<SlotInventoryCount> countByDateAndStatus(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface SlotInventoryCount {
+        LocalDate getDate();
+
+        SlotStatus getStatus();
+
+        long getTotal();
+    }
+
 }
\ No newline at end of file
@@ -2,11 +2,16 @@ package com.MediHubAPI.repository;
 
 import com.MediHubAPI.model.ERole;
 import com.MediHubAPI.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
     public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
@@ -19,6 +24,23 @@ import java.util.Optional;
     Optional<User> findByUsernameOrEmailWithRoles(@Param("value") String value);
     boolean existsByRoles_Name(ERole roleName);
 
+    /**
+     * All users with roles and specialization in one statement, for the user listings.
+     */
+    @EntityGraph(User.WITH_ROLES_AND_SPECIALIZATION)
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    List<User> findAllWithRolesAndSpecialization();
+
+    @EntityGraph(User.WITH_ROLES_AND_SPECIALIZATION)
+    Optional<User> findWithRolesAndSpecializationById(Long id);
+
+    /**
+     * Paged search joins the specialization only: fetching the roles collection here would
+     * make Hibernate paginate in memory, so roles are left to batch fetching.
+     */
+    @Override
+    @EntityGraph(attributePaths = "specialization")
+    Page<User> findAll(Specification<User> spec, Pageable pageable);
 
 
 
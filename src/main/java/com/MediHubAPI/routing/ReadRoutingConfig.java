@@ -0,0 +1,113 @@
+package com.MediHubAPI.routing;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts a {@link ReadRoutingDataSource} around the primary Hikari pool when
+ * {@code app.read-routing.enabled=true}. The SQL monitor and the bulkhead wrap it in turn, so
+ * statements on replicas are counted and gated like any other.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReadRoutingProperties.class)
+@ConditionalOnProperty(prefix = "app.read-routing", name = "enabled")
+public class ReadRoutingConfig {
+
+    @Bean
+    public static ReadRoutingPostProcessor readRoutingDataSourcePostProcessor(Environment environment) {
+        return new ReadRoutingPostProcessor(environment);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        // open-in-view keeps the session for the whole request: a connection routed to a replica
+        // must not be held over into a later read-write transaction of the same request
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource, ReadRoutingProperties properties) {
+        try {
+            return new ReplicaLagMonitor(dataSource.unwrap(ReadRoutingDataSource.class), properties);
+        } catch (SQLException e) {
+            throw new IllegalStateException("app.read-routing.enabled is set but the DataSource is not a Hikari pool", e);
+        }
+    }
+
+    /** Ordered first, so it sees the bare Hikari pool before the monitoring wrappers. */
+    static class ReadRoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        ReadRoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            ReadRoutingProperties properties = Binder.get(environment)
+                    .bind("app.read-routing", ReadRoutingProperties.class)
+                    .orElseGet(ReadRoutingProperties::new);
+            if (properties.getStickyWindow().compareTo(properties.getMaxLag()) < 0) {
+                log.warn("⚠️ app.read-routing.sticky-window ({}) is shorter than max-lag ({}); "
+                        + "users may not see their own writes", properties.getStickyWindow(), properties.getMaxLag());
+            }
+            List<ReadRoutingDataSource.Replica> replicas = new ArrayList<>();
+            for (int i = 0; i < properties.getReplicas().size(); i++) {
+                String name = "replica-" + i;
+                replicas.add(new ReadRoutingDataSource.Replica(name,
+                        replicaPool(primary, properties.getReplicas().get(i), name)));
+            }
+            log.info("🔀 Read routing on '{}': {} replica(s), max lag {} ms, sticky window {} ms", beanName,
+                    replicas.size(), properties.getMaxLag().toMillis(), properties.getStickyWindow().toMillis());
+            return new ReadRoutingDataSource(primary, replicas,
+                    new ReadYourWrites(properties.getStickyWindow()), properties.getMaxLag().toMillis());
+        }
+
+        private static HikariDataSource replicaPool(HikariDataSource primary, ReadRoutingProperties.Replica replica,
+                                                    String name) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                config.setUsername(replica.getUsername());
+                config.setPassword(replica.getPassword());
+            }
+            if (replica.getMaximumPoolSize() > 0) {
+                config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            }
+            config.setPoolName("medihub-" + name);
+            config.setReadOnly(true);
+            // a replica that is down at startup must not stop the application; it just gets no reads
+            config.setInitializationFailTimeout(-1);
+            return new HikariDataSource(config);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.MediHubAPI.routing;
+
+import lombok.Getter;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * <p>The target is picked lazily, on the first statement of a connection: Spring marks the
+ * transaction read-only only after the connection has been opened, so an eager choice would
+ * always see a read-write transaction. A read goes to the primary when</p>
+ * <ul>
+ *     <li>it is Spring Data's own per-method read-only transaction, i.e. a repository called
+ *     outside any service transaction; such callers (booking, login) rely on fresh data;</li>
+ *     <li>the current user committed a write within the sticky window ({@link ReadYourWrites});</li>
+ *     <li>no replica is within {@code max-lag} ({@link ReplicaLagMonitor}).</li>
+ * </ul>
+ */
+public class ReadRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    public enum Route {
+        READ_WRITE(PRIMARY), REPOSITORY(PRIMARY), STICKY(PRIMARY), LAGGING(PRIMARY), REPLICA("replica");
+
+        @Getter
+        private final String target;
+
+        Route(String target) {
+            this.target = target;
+        }
+
+        public String tag() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    @Getter
+    private final DataSource primary;
+    @Getter
+    private final List<Replica> replicas;
+    @Getter
+    private final ReadYourWrites readYourWrites;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<Route, LongAdder> routed = new EnumMap<>(Route.class);
+
+    public ReadRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWrites readYourWrites,
+                                 long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.maxLagMillis = maxLagMillis;
+        for (Route route : Route.values()) {
+            routed.put(route, new LongAdder());
+        }
+        Router router = new Router();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.setLenientFallback(false);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    public long routedCount(Route route) {
+        return routed.get(route).sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Object route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return routed(Route.READ_WRITE, PRIMARY);
+        }
+        String transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transaction != null && transaction.startsWith(REPOSITORY_TRANSACTION_PREFIX)) {
+            return routed(Route.REPOSITORY, PRIMARY);
+        }
+        String user = currentUser();
+        if (user != null && readYourWrites.isSticky(user)) {
+            return routed(Route.STICKY, PRIMARY);
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.getLagMillis() <= maxLagMillis) {
+                return routed(Route.REPLICA, replica.getName());
+            }
+        }
+        return routed(Route.LAGGING, PRIMARY);
+    }
+
+    private Object routed(Route route, String key) {
+        routed.get(route).increment();
+        return key;
+    }
+
+    /** Makes the current user sticky once a read-write transaction commits. */
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null || TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(StickyAfterCommit.class::isInstance)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new StickyAfterCommit(user));
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private class StickyAfterCommit implements TransactionSynchronization {
+
+        private final String user;
+
+        StickyAfterCommit(String user) {
+            this.user = user;
+        }
+
+        @Override
+        public void afterCommit() {
+            readYourWrites.wrote(user);
+        }
+    }
+
+    private class Router extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return route();
+        }
+    }
+
+    /** One replica pool and the lag last measured for it. */
+    @Getter
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        /** {@code Long.MAX_VALUE} until the first successful check, so an unknown replica is not used. */
+        private volatile long lagMillis = Long.MAX_VALUE;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void setLagMillis(long lagMillis) {
+            this.lagMillis = lagMillis;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.MediHubAPI.routing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.read-routing")
+public class ReadRoutingProperties {
+
+    /** Sends {@code @Transactional(readOnly = true)} service work to the replicas below. */
+    private boolean enabled = false;
+
+    /** Replica connection settings; pool settings not given here are copied from the primary Hikari pool. */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** A replica whose heartbeat is older than this is skipped until it catches up. */
+    private Duration maxLag = Duration.ofSeconds(3);
+
+    /** How long reads of a user who just committed a write stay on the primary; keep it above max-lag. */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /** Heartbeat / lag check period; read by the {@code @Scheduled} check in {@link ReplicaLagMonitor}. */
+    private long lagCheckMs = 1000;
+
+    /** Heartbeat row written on the primary and read back from each replica to measure lag. */
+    private String heartbeatTable = "medihub_replica_heartbeat";
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /** 0 uses the primary pool size. */
+        private int maximumPoolSize = 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.MediHubAPI.routing;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users who recently committed a write. Their read-only work stays on the primary for the sticky
+ * window, so a booking shows up in the very next schedule view even while the replicas catch up.
+ * Per instance: a user whose requests land on another instance is not sticky there.
+ */
+public class ReadYourWrites {
+
+    private final ConcurrentHashMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void wrote(String username) {
+        stickyUntil.put(username, System.nanoTime() + windowNanos);
+    }
+
+    public boolean isSticky(String username) {
+        Long until = stickyUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(username, until);
+        return false;
+    }
+
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    public int size() {
+        return stickyUntil.size();
+    }
+}
@@ -0,0 +1,106 @@
+package com.MediHubAPI.routing;
+
+import com.MediHubAPI.routing.ReadRoutingDataSource.Replica;
+import com.MediHubAPI.routing.ReadRoutingDataSource.Route;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Measures replica lag pt-heartbeat style: writes the current time into a one-row table on the
+ * primary, then reads it back from every replica. A replica that is behind, unreachable or has no
+ * heartbeat row yet reports {@code Long.MAX_VALUE} and gets no reads.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private final ReadRoutingDataSource routing;
+    private final JdbcTemplate primary;
+    private final String table;
+    private final long maxLagMillis;
+    private volatile boolean tableReady;
+
+    public ReplicaLagMonitor(ReadRoutingDataSource routing, ReadRoutingProperties properties) {
+        this.routing = routing;
+        this.primary = new JdbcTemplate(routing.getPrimary());
+        this.table = properties.getHeartbeatTable();
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${app.read-routing.lag-check-ms:1000}")
+    public void check() {
+        try {
+            beat(System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("⚠️ Could not write the replica heartbeat: {}", e.getMostSpecificCause().getMessage());
+        }
+        for (Replica replica : routing.getReplicas()) {
+            long lag = measure(replica);
+            boolean wasUsable = replica.getLagMillis() <= maxLagMillis;
+            boolean usable = lag <= maxLagMillis;
+            replica.setLagMillis(lag);
+            if (wasUsable && !usable) {
+                log.warn("⚠️ Replica {} is {} behind; its reads go to the primary",
+                        replica.getName(), lag == Long.MAX_VALUE ? "unreachable or" : lag + " ms");
+            } else if (!wasUsable && usable) {
+                log.info("✅ Replica {} is serving reads ({} ms lag)", replica.getName(), lag);
+            }
+        }
+        routing.getReadYourWrites().purgeExpired();
+    }
+
+    private void beat(long now) {
+        if (!tableReady) {
+            primary.execute("CREATE TABLE IF NOT EXISTS " + table + " (id INT PRIMARY KEY, beat_ms BIGINT NOT NULL)");
+            tableReady = true;
+        }
+        if (primary.update("UPDATE " + table + " SET beat_ms = ? WHERE id = 1", now) == 0) {
+            try {
+                primary.update("INSERT INTO " + table + " (id, beat_ms) VALUES (1, ?)", now);
+            } catch (DuplicateKeyException e) {
+                // another instance inserted the row first
+            }
+        }
+    }
+
+    private long measure(Replica replica) {
+        try {
+            List<Long> beats = new JdbcTemplate(replica.getDataSource())
+                    .queryForList("SELECT beat_ms FROM " + table + " WHERE id = 1", Long.class);
+            return beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - beats.get(0));
+        } catch (DataAccessException e) {
+            log.debug("Replica {} heartbeat read failed: {}", replica.getName(), e.getMostSpecificCause().getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : routing.getReplicas()) {
+            Gauge.builder("medihub.db.replica.lag", replica,
+                            r -> r.getLagMillis() == Long.MAX_VALUE ? Double.NaN : r.getLagMillis() / 1000.0)
+                    .description("Replica lag measured from the heartbeat row (NaN while unreachable)")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+        }
+        for (Route route : Route.values()) {
+            FunctionCounter.builder("medihub.db.routing", routing, r -> r.routedCount(route))
+                    .description("Connections routed, by target and reason")
+                    .tag("target", route.getTarget())
+                    .tag("reason", route.tag())
+                    .register(registry);
+        }
+        Gauge.builder("medihub.db.routing.sticky.users", routing.getReadYourWrites(), ReadYourWrites::size)
+                .description("Users whose reads are pinned to the primary after a write")
+                .register(registry);
+    }
+}
@@ -0,0 +1,89 @@
+package com.MediHubAPI.search;
+
+/**
+ * How likely two patients are the same person, from 0 to 100. Points: up to 45 for the name
+ * (Jaro-Winkler similarity in either name order, and at least 35 when first and last name sound
+ * alike), 30 for the same date of birth, 20 for the same mobile number and 60 for the same
+ * govt-ID number; a different date of birth costs 25 and a different sex 30. The same name and
+ * date of birth alone reach 75; two siblings sharing a phone and a birthday stay at 50.
+ */
+final class DuplicateScore {
+
+    private DuplicateScore() {
+    }
+
+    /**
+     * @param swappedNameKey   the probe's name key with last and first name swapped
+     * @param probePhonetic    {@link PatientSearchEntry#phoneticName()} of the probe
+     * @param probeMobile      {@link PatientSearchEntry#mobileKey(String)} of the probe
+     */
+    static int of(PatientSearchEntry probe, String swappedNameKey, long probePhonetic, String probeMobile,
+                  PatientSearchEntry candidate) {
+        double similarity = Math.max(jaroWinkler(probe.nameKey, candidate.nameKey),
+                jaroWinkler(swappedNameKey, candidate.nameKey));
+        int score = similarity >= 0.75 ? (int) Math.round((similarity - 0.75) / 0.25 * 45) : 0;
+        if (probePhonetic >= 0 && probePhonetic == candidate.phoneticName()) {
+            score = Math.max(score, 35);
+        }
+        if (probe.dateOfBirth != null && candidate.dateOfBirth != null) {
+            score += probe.dateOfBirth.equals(candidate.dateOfBirth) ? 30 : -25;
+        }
+        if (probeMobile != null && probeMobile.equals(PatientSearchEntry.mobileKey(candidate.mobileNumber))) {
+            score += 20;
+        }
+        if (probe.govtIdKey != 0 && probe.govtIdKey == candidate.govtIdKey) {
+            score += 60;
+        }
+        if (probe.sex != null && candidate.sex != null && probe.sex != candidate.sex) {
+            score -= 30;
+        }
+        return Math.max(0, Math.min(100, score));
+    }
+
+    static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] matchedA = new boolean[a.length()];
+        boolean[] matchedB = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length(), i + window + 1);
+            for (int j = from; j < to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (matchedA[i]) {
+                while (!matchedB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3;
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+}
@@ -0,0 +1,46 @@
+package com.MediHubAPI.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable {@code int[]}; posting lists stay ascending because documents are only appended.
+ */
+final class IntList {
+
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    /** Linear scan, for short lists in any order. */
+    boolean containsUnsorted(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Binary search: only valid while the list is ascending. */
+    boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+}
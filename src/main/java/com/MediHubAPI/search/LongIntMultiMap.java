@@ -0,0 +1,96 @@
+package com.MediHubAPI.search;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Open-addressing multimap from non-zero {@code long} keys to {@code int}s, 12 bytes per slot.
+ * Values are only appended; callers filter out the ones that went stale. Not thread-safe.
+ */
+final class LongIntMultiMap {
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntMultiMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Adds the pair unless {@code key} already holds {@code max} values passing {@code counted}, so
+     * a value shared by thousands of rows (a placeholder phone number, say) cannot turn lookups into
+     * scans. Stale values are left out of the count, so a patient updated many times does not use up
+     * the key.
+     *
+     * @return whether the pair was added
+     */
+    boolean putCapped(long key, int value, int max, IntPredicate counted) {
+        if (count(key, counted) >= max) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    void put(long key, int value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("0 marks an empty slot");
+        }
+        if (size * 2 >= keys.length) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    void forEach(long key, IntConsumer action) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    int count(long key) {
+        return count(key, value -> true);
+    }
+
+    int count(long key, IntPredicate counted) {
+        int mask = keys.length - 1;
+        int count = 0;
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key && counted.test(values[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
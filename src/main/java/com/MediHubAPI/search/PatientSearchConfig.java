@@ -0,0 +1,42 @@
+package com.MediHubAPI.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * In-memory patient typeahead. The first build runs on a background thread once the application
+ * is ready, so startup time does not grow with the patient table. Disable with
+ * {@code app.patient-search.enabled=false}.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(PatientSearchProperties.class)
+@ConditionalOnProperty(prefix = "app.patient-search", name = "enabled", matchIfMissing = true)
+public class PatientSearchConfig {
+
+    @Bean
+    public PatientSearchIndex patientSearchIndex(JdbcTemplate jdbcTemplate, PatientSearchProperties properties) {
+        return new PatientSearchIndex(jdbcTemplate, properties);
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> patientSearchBootstrap(PatientSearchIndex index) {
+        return event -> {
+            Thread thread = new Thread(() -> {
+                try {
+                    index.rebuild();
+                } catch (RuntimeException e) {
+                    log.error("❌ Patient search index could not be built; typeahead stays on SQL", e);
+                }
+            }, "patient-search-bootstrap");
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+}
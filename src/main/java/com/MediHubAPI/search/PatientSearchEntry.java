@@ -0,0 +1,187 @@
+package com.MediHubAPI.search;
+
+import com.MediHubAPI.model.Gender;
+import com.MediHubAPI.model.Patient;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * What the index keeps per patient: the fields typeahead displays, plus the normalized forms it
+ * matches on.
+ */
+final class PatientSearchEntry {
+
+    final long id;
+    final String firstName;
+    final String lastName;
+    final String mobileNumber;
+    final String fileNumber;
+    /** Hash of the normalized govt-ID number; only ever looked up, never shown. */
+    final long govtIdKey;
+    final LocalDate dateOfBirth;
+    final Gender sex;
+    /** Lower-cased name tokens separated by single spaces, e.g. {@code "ravi kumar"}. */
+    final String nameKey;
+
+    PatientSearchEntry(long id, String firstName, String lastName, String mobileNumber, String fileNumber,
+                       String govtIdNumber, LocalDate dateOfBirth, Gender sex) {
+        this.id = id;
+        // a few thousand distinct names cover most patients, so share them
+        this.firstName = firstName != null ? firstName.intern() : null;
+        this.lastName = lastName != null ? lastName.intern() : null;
+        this.mobileNumber = mobileNumber;
+        this.fileNumber = fileNumber;
+        this.govtIdKey = identifierKey(govtIdNumber);
+        this.dateOfBirth = dateOfBirth;
+        this.sex = sex;
+        this.nameKey = nameKey((firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName));
+    }
+
+    /**
+     * Whether the digits of the mobile number end with {@code suffix}; separators such as spaces
+     * or a {@code +91} prefix are skipped.
+     */
+    boolean mobileEndsWith(String suffix) {
+        if (mobileNumber == null) {
+            return false;
+        }
+        int s = suffix.length() - 1;
+        for (int i = mobileNumber.length() - 1; i >= 0 && s >= 0; i--) {
+            char c = mobileNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (c != suffix.charAt(s--)) {
+                    return false;
+                }
+            }
+        }
+        return s < 0;
+    }
+
+    /** Whether {@code other} is the same patient with the same indexed fields. */
+    boolean sameAs(PatientSearchEntry other) {
+        return id == other.id && govtIdKey == other.govtIdKey && sex == other.sex
+                && Objects.equals(firstName, other.firstName) && Objects.equals(lastName, other.lastName)
+                && Objects.equals(mobileNumber, other.mobileNumber) && Objects.equals(fileNumber, other.fileNumber)
+                && Objects.equals(dateOfBirth, other.dateOfBirth);
+    }
+
+    static PatientSearchEntry of(Patient patient) {
+        return new PatientSearchEntry(patient.getId(), patient.getFirstName(), patient.getLastName(),
+                patient.getMobileNumber(), patient.getFileNumber(), patient.getGovtIdNumber(),
+                patient.getDateOfBirth(), patient.getSex());
+    }
+
+    /** Letters and digits, lower-cased, with every other run of characters collapsed to one space. */
+    static String nameKey(String value) {
+        StringBuilder key = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            } else if (!key.isEmpty() && key.charAt(key.length() - 1) != ' ') {
+                key.append(' ');
+            }
+        }
+        int end = key.length();
+        return end > 0 && key.charAt(end - 1) == ' ' ? key.substring(0, end - 1) : key.toString();
+    }
+
+    /** Letters and digits only, upper-cased: {@code mrn-00 12} and {@code MRN0012} are one file number. */
+    static String identifier(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(c);
+            }
+        }
+        return key.toString().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * 64-bit hash of {@link #identifier(String)}, or {@code 0} if that is shorter than two characters.
+     */
+    static long identifierKey(String value) {
+        String identifier = identifier(value);
+        if (identifier.length() < 2) {
+            return 0;
+        }
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < identifier.length(); i++) {
+            h ^= identifier.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h == 0 ? 1 : h;
+    }
+
+    /** The last ten digits of a mobile number, or {@code null} when it has fewer than seven. */
+    static String mobileKey(String mobileNumber) {
+        String digits = digits(mobileNumber);
+        if (digits.length() < 7) {
+            return null;
+        }
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+    }
+
+    /**
+     * Keys under which a possible duplicate of this patient must share at least one: the phonetic
+     * codes of first and last name (in either order) with the date of birth, the mobile number,
+     * and the govt-ID number. Keys whose fields are missing are left out.
+     */
+    long[] blockingKeys() {
+        long[] keys = new long[3];
+        int n = 0;
+        long name = phoneticName();
+        if (dateOfBirth != null && name >= 0) {
+            keys[n++] = mix(1, name * 100_000 + dateOfBirth.toEpochDay());
+        }
+        String mobile = mobileKey(mobileNumber);
+        if (mobile != null) {
+            keys[n++] = mix(2, Long.parseLong(mobile));
+        }
+        if (govtIdKey != 0) {
+            keys[n++] = mix(3, govtIdKey);
+        }
+        return n == keys.length ? keys : Arrays.copyOf(keys, n);
+    }
+
+    /**
+     * The {@link PhoneticCode}s of the first and last name token, packed in either order so a
+     * swapped first and last name gives the same value; {@code -1} if either has no letter.
+     */
+    long phoneticName() {
+        int space = nameKey.indexOf(' ');
+        int first = PhoneticCode.of(space < 0 ? nameKey : nameKey.substring(0, space));
+        int last = PhoneticCode.of(nameKey.substring(nameKey.lastIndexOf(' ') + 1));
+        if (first < 0 || last < 0) {
+            return -1;
+        }
+        return (long) Math.min(first, last) << 16 | Math.max(first, last);
+    }
+
+    private static long mix(long kind, long value) {
+        long h = (value ^ kind * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 31;
+        return h == 0 ? kind : h;
+    }
+
+    static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+}
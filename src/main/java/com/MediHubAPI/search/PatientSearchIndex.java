@@ -0,0 +1,317 @@
+package com.MediHubAPI.search;
+
+import com.MediHubAPI.dto.PatientSuggestionDto;
+import com.MediHubAPI.model.Gender;
+import com.MediHubAPI.model.Patient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory typeahead over every patient: partial names, mobile-number suffixes and exact file
+ * or govt-ID numbers, answered without touching the database. The same index finds possible
+ * duplicates of a patient being registered or imported ({@link #findDuplicates}).
+ *
+ * <p>The index is filled by streaming {@code patients} once ({@link #rebuild()}, run in the
+ * background at startup) and kept current by {@link PatientSearchListener} and the bulk import.
+ * Those only see this instance's writes, so {@link #catchUp()} also polls for rows whose
+ * {@code updated_at} moved past the newest one indexed, picking up other instances' writes.
+ * A rebuild fills a fresh segment off-lock and swaps it in, replaying the writes that arrived
+ * meanwhile, so searches keep working on the old segment throughout. Until the first rebuild
+ * finishes {@link #isReady()} is {@code false}: callers fall back to SQL for typeahead, and
+ * {@link #findDuplicates} reads its candidates from the database itself.</p>
+ */
+@Slf4j
+public class PatientSearchIndex {
+
+    private static final String SELECT_ENTRIES = """
+            SELECT id, first_name, last_name, mobile_number, file_number, govt_id_number,
+                   date_of_birth, sex, updated_at
+            FROM patients
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PatientSearchProperties properties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private PatientSearchSegment segment = new PatientSearchSegment(16);
+    /** Writes seen while a rebuild streams the table; {@code null} when no rebuild runs. */
+    private List<Consumer<PatientSearchSegment>> pendingWrites;
+    private volatile boolean ready;
+    /** Newest {@code updated_at} indexed so far; guarded by {@code this}, like rebuilds. */
+    private LocalDateTime indexedUpTo;
+
+    public PatientSearchIndex(JdbcTemplate jdbcTemplate, PatientSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Documents left behind by updates since the last rebuild or compaction. */
+    int tombstones() {
+        lock.readLock().lock();
+        try {
+            return segment.tombstones();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code limit} matches for {@code query}: exact file or govt-ID numbers first, then
+     * mobile numbers ending in the typed digits, then names containing every typed word.
+     */
+    public List<PatientSuggestionDto> search(String query, int limit) {
+        List<PatientSearchSegment.Match> matches;
+        lock.readLock().lock();
+        try {
+            matches = segment.search(query, limit, properties.getMaxCandidates());
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<PatientSuggestionDto> suggestions = new ArrayList<>(matches.size());
+        for (PatientSearchSegment.Match match : matches) {
+            suggestions.add(toSuggestion(match.entry(), match.score()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Up to {@code limit} patients that may be the same person as {@code patient}, best first, each
+     * with its {@link DuplicateScore}; only those scoring at least
+     * {@code app.patient-search.duplicate-min-score} are returned. {@code patient} may be unsaved.
+     * Until the index is ready the candidates are read from {@code patients} instead
+     * ({@link #databaseCandidates}), so registrations are still checked during a startup build.
+     */
+    public List<PatientSuggestionDto> findDuplicates(Patient patient, int limit) {
+        PatientSearchEntry probe = new PatientSearchEntry(patient.getId() != null ? patient.getId() : 0,
+                patient.getFirstName(), patient.getLastName(), patient.getMobileNumber(), patient.getFileNumber(),
+                patient.getGovtIdNumber(), patient.getDateOfBirth(), patient.getSex());
+        List<PatientSearchSegment.Match> matches;
+        if (!ready) {
+            matches = databaseCandidates(patient).duplicates(probe, properties.getDuplicateMinScore(), limit);
+        } else {
+            lock.readLock().lock();
+            try {
+                matches = segment.duplicates(probe, properties.getDuplicateMinScore(), limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        List<PatientSuggestionDto> candidates = new ArrayList<>(matches.size());
+        for (PatientSearchSegment.Match match : matches) {
+            candidates.add(toSuggestion(match.entry(), match.score()));
+        }
+        return candidates;
+    }
+
+    /**
+     * A throwaway segment over the patients sharing the date of birth, mobile number or govt-ID
+     * number of {@code patient}, at most {@code app.patient-search.duplicate-fallback-rows} of them.
+     * Stored values are compared as they are, so a mobile number saved with other separators is
+     * missed; the index normalizes them.
+     */
+    private PatientSearchSegment databaseCandidates(Patient patient) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (patient.getDateOfBirth() != null) {
+            conditions.add("date_of_birth = ?");
+            args.add(patient.getDateOfBirth());
+        }
+        String mobile = PatientSearchEntry.mobileKey(patient.getMobileNumber());
+        if (mobile != null) {
+            conditions.add("mobile_number IN (?, ?)");
+            args.add(patient.getMobileNumber());
+            args.add(mobile);
+        }
+        if (PatientSearchEntry.identifierKey(patient.getGovtIdNumber()) != 0) {
+            conditions.add("govt_id_number = ?");
+            args.add(patient.getGovtIdNumber());
+        }
+        if (conditions.isEmpty()) {
+            return new PatientSearchSegment(16);
+        }
+        args.add(properties.getDuplicateFallbackRows());
+        List<PatientSearchEntry> candidates = jdbcTemplate.query(
+                SELECT_ENTRIES + "WHERE " + String.join(" OR ", conditions) + " LIMIT ?",
+                (rs, row) -> entry(rs), args.toArray());
+        PatientSearchSegment candidateSegment = new PatientSearchSegment(candidates.size());
+        candidates.forEach(candidateSegment::upsert);
+        return candidateSegment;
+    }
+
+    public void upsert(Patient patient) {
+        upsertAll(List.of(patient));
+    }
+
+    public void upsertAll(Collection<Patient> patients) {
+        List<PatientSearchEntry> entries = new ArrayList<>(patients.size());
+        for (Patient patient : patients) {
+            if (patient.getId() != null) {
+                entries.add(PatientSearchEntry.of(patient));
+            }
+        }
+        write(target -> entries.forEach(target::upsert));
+    }
+
+    public void remove(long patientId) {
+        write(target -> target.remove(patientId));
+    }
+
+    /**
+     * Reloads the whole index from {@code patients}. Rebuilds are serialized.
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        PatientSearchSegment fresh;
+        LocalDateTime[] newest = {null};
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM patients", Long.class);
+            fresh = new PatientSearchSegment(count == null ? 16 : (int) Math.min(count + 1024, Integer.MAX_VALUE / 4));
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(SELECT_ENTRIES,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(properties.getBootstrapFetchSize());
+                return ps;
+            }, rs -> {
+                fresh.upsert(entry(rs));
+                newest[0] = newer(newest[0], rs.getObject("updated_at", LocalDateTime.class));
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach(write -> write.accept(fresh));
+            pendingWrites = null;
+            segment = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        indexedUpTo = newest[0];
+        log.info("🔎 Patient search index built: {} patients in {} ms", fresh.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Indexes patients written since the last rebuild or catch-up, including those written by other
+     * instances. Rows up to {@code app.patient-search.catch-up-overlap} older than the newest one
+     * indexed are read again, covering clock skew between instances and transactions that commit
+     * after a later one; re-reading an unchanged row costs nothing in the index. Deleted patients
+     * are not seen.
+     */
+    @Scheduled(fixedDelayString = "${app.patient-search.catch-up-ms:5000}")
+    public synchronized void catchUp() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime since = indexedUpTo != null
+                ? indexedUpTo.minus(properties.getCatchUpOverlap())
+                : LocalDateTime.now().minus(properties.getCatchUpOverlap());
+        List<PatientSearchEntry> entries = new ArrayList<>();
+        LocalDateTime[] newest = {indexedUpTo};
+        try {
+            jdbcTemplate.query(SELECT_ENTRIES + "WHERE updated_at > ?", rs -> {
+                entries.add(entry(rs));
+                newest[0] = newer(newest[0], rs.getObject("updated_at", LocalDateTime.class));
+            }, since);
+        } catch (DataAccessException e) {
+            log.warn("⚠️ Patient search index could not catch up: {}", e.getMostSpecificCause().getMessage());
+            return;
+        }
+        if (!entries.isEmpty()) {
+            write(target -> entries.forEach(target::upsert));
+            log.debug("🔎 Patient search index caught up on {} patients", entries.size());
+        }
+        indexedUpTo = newest[0];
+    }
+
+    private void write(Consumer<PatientSearchSegment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pendingWrites != null) {
+                pendingWrites.add(change);
+            }
+            // updates leave tombstones behind; rebuild from memory once they pile up
+            if (segment.tombstones() > Math.max(1024, segment.size() / 4)) {
+                segment = segment.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static PatientSearchEntry entry(ResultSet rs) throws SQLException {
+        Date dob = rs.getDate("date_of_birth");
+        return new PatientSearchEntry(rs.getLong("id"), rs.getString("first_name"), rs.getString("last_name"),
+                rs.getString("mobile_number"), rs.getString("file_number"), rs.getString("govt_id_number"),
+                dob != null ? dob.toLocalDate() : null, gender(rs.getString("sex")));
+    }
+
+    private static LocalDateTime newer(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    // legacy rows may hold values outside the enum; they are indexed without a gender
+    private static Gender gender(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Gender.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static PatientSuggestionDto toSuggestion(PatientSearchEntry entry, int score) {
+        PatientSuggestionDto dto = new PatientSuggestionDto();
+        dto.setId(entry.id);
+        dto.setFirstName(entry.firstName);
+        dto.setLastName(entry.lastName);
+        dto.setMobileNumber(entry.mobileNumber);
+        dto.setFileNumber(entry.fileNumber);
+        dto.setDateOfBirth(entry.dateOfBirth != null ? entry.dateOfBirth.toString() : null);
+        dto.setGender(entry.sex != null ? entry.sex.name() : null);
+        dto.setScore(score);
+        return dto;
+    }
+}
@@ -0,0 +1,47 @@
+package com.MediHubAPI.search;
+
+import com.MediHubAPI.model.Patient;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on {@link Patient}: applies a change to the {@link PatientSearchIndex} once it is
+ * committed (immediately when there is no transaction), so typeahead never shows a rolled-back
+ * registration. The index is looked up lazily, as it may be disabled.
+ */
+public class PatientSearchListener {
+
+    private final ObjectProvider<PatientSearchIndex> index;
+
+    public PatientSearchListener(ObjectProvider<PatientSearchIndex> index) {
+        this.index = index;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Patient patient) {
+        afterCommit(() -> index.ifAvailable(i -> i.upsert(patient)));
+    }
+
+    @PostRemove
+    void onRemove(Patient patient) {
+        afterCommit(() -> index.ifAvailable(i -> i.remove(patient.getId())));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.MediHubAPI.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.patient-search")
+public class PatientSearchProperties {
+
+    /** Keeps the in-memory typeahead index; when off, typeahead falls back to SQL. */
+    private boolean enabled = true;
+
+    /** Fetch size of the cursor that streams {@code patients} into the index at startup. */
+    private int bootstrapFetchSize = 5000;
+
+    /**
+     * How often the index polls {@code patients} for rows other instances wrote; read by the
+     * {@code @Scheduled} {@link PatientSearchIndex#catchUp()}.
+     */
+    private long catchUpMs = 5000;
+
+    /** How far behind the newest indexed {@code updated_at} each catch-up starts reading. */
+    private Duration catchUpOverlap = Duration.ofSeconds(30);
+
+    /** Largest {@code limit} a typeahead request may ask for. */
+    private int maxResults = 50;
+
+    /**
+     * Name matches ranked per query before the scan stops; newer patients are examined first, so
+     * only queries that match more patients than this (a two-letter prefix) lose older ones.
+     */
+    private int maxCandidates = 500;
+
+    /**
+     * Lowest duplicate score (0-100) that makes a registration or imported row a possible duplicate;
+     * the same name and date of birth score 75.
+     */
+    private int duplicateMinScore = 60;
+
+    /**
+     * Most patients read per duplicate check while the index is still building, when candidates
+     * come from the database instead.
+     */
+    private int duplicateFallbackRows = 500;
+}
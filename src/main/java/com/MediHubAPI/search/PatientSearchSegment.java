@@ -0,0 +1,336 @@
+package com.MediHubAPI.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The index structures over one set of {@link PatientSearchEntry}s; not thread-safe, guarded by
+ * {@link PatientSearchIndex}.
+ * <ul>
+ *   <li><b>names</b> – trigram posting lists over every name token. Each token is padded with a
+ *       start marker, so a two-letter query still finds names that start with it;</li>
+ *   <li><b>mobile numbers</b> – buckets by the last four digits; a suffix query scans one bucket;</li>
+ *   <li><b>file and govt-ID numbers</b> – exact lookup by a hash of the normalized value;</li>
+ *   <li><b>duplicate blocks</b> – {@link PatientSearchEntry#blockingKeys()}, so possible
+ *       duplicates of a patient are found without comparing against everyone.</li>
+ * </ul>
+ * Entries are only appended: an update adds a new document and leaves the old one as a tombstone
+ * that searches skip, until {@link #compact()} drops them.
+ */
+final class PatientSearchSegment {
+
+    static final int SCORE_IDENTIFIER = 1000;
+    static final int SCORE_MOBILE = 500;
+    private static final char START = '\u0001';
+    private static final int MOBILE_BUCKET_DIGITS = 4;
+    /** Values shared by more rows than this are placeholders, not evidence. */
+    private static final int MAX_PER_KEY = 64;
+
+    private PatientSearchEntry[] entries;
+    private int size;
+    private int live;
+    private final LongIntMultiMap docsById;
+    private final LongIntMultiMap identifiers;
+    private final LongIntMultiMap blocks;
+    private final Map<Long, IntList> grams = new HashMap<>();
+    private final IntList[] mobileBuckets = new IntList[10_000];
+
+    PatientSearchSegment(int expected) {
+        this.entries = new PatientSearchEntry[Math.max(16, expected)];
+        this.docsById = new LongIntMultiMap(expected);
+        this.identifiers = new LongIntMultiMap(expected * 2);
+        this.blocks = new LongIntMultiMap(expected * 3);
+    }
+
+    void upsert(PatientSearchEntry entry) {
+        int current = liveDoc(entry.id);
+        if (current >= 0 && entries[current].sameAs(entry)) {
+            // nothing indexed changed: keep the document rather than leave a tombstone
+            return;
+        }
+        remove(entry.id);
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        int doc = size++;
+        entries[doc] = entry;
+        docsById.put(entry.id, doc);
+        live++;
+
+        forEachNameGram(entry.nameKey, gram -> {
+            IntList postings = grams.computeIfAbsent(gram, g -> new IntList());
+            // a gram repeated within one name must be listed once
+            if (postings.size() == 0 || postings.get(postings.size() - 1) != doc) {
+                postings.add(doc);
+            }
+        });
+        String digits = PatientSearchEntry.digits(entry.mobileNumber);
+        if (digits.length() >= MOBILE_BUCKET_DIGITS) {
+            int bucket = mobileBucket(digits);
+            if (mobileBuckets[bucket] == null) {
+                mobileBuckets[bucket] = new IntList();
+            }
+            mobileBuckets[bucket].add(doc);
+        }
+        long fileKey = PatientSearchEntry.identifierKey(entry.fileNumber);
+        if (fileKey != 0) {
+            identifiers.putCapped(fileKey, doc, MAX_PER_KEY, this::isLive);
+        }
+        if (entry.govtIdKey != 0 && entry.govtIdKey != fileKey) {
+            identifiers.putCapped(entry.govtIdKey, doc, MAX_PER_KEY, this::isLive);
+        }
+        for (long key : entry.blockingKeys()) {
+            blocks.putCapped(key, doc, MAX_PER_KEY, this::isLive);
+        }
+    }
+
+    void remove(long id) {
+        docsById.forEach(id, doc -> {
+            if (entries[doc] != null && entries[doc].id == id) {
+                entries[doc] = null;
+                live--;
+            }
+        });
+    }
+
+    int size() {
+        return live;
+    }
+
+    private boolean isLive(int doc) {
+        return entries[doc] != null;
+    }
+
+    private int liveDoc(long id) {
+        int[] found = {-1};
+        docsById.forEach(id, doc -> {
+            if (entries[doc] != null && entries[doc].id == id) {
+                found[0] = doc;
+            }
+        });
+        return found[0];
+    }
+
+    /** Documents left behind by updates and removals. */
+    int tombstones() {
+        return size - live;
+    }
+
+    PatientSearchSegment compact() {
+        PatientSearchSegment compacted = new PatientSearchSegment(live);
+        for (int doc = 0; doc < size; doc++) {
+            if (entries[doc] != null) {
+                compacted.upsert(entries[doc]);
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * Up to {@code limit} entries matching {@code query}, best first, with their scores. Name
+     * candidates are examined newest first and the scan stops after {@code maxCandidates}
+     * matches, which only bites for queries too vague to rank anyway (a two-letter prefix
+     * matches a large share of all patients).
+     */
+    List<Match> search(String query, int limit, int maxCandidates) {
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        IntList exactDocs = new IntList();
+
+        long identifierKey = PatientSearchEntry.identifierKey(query);
+        if (identifierKey != 0) {
+            identifiers.forEach(identifierKey, doc -> {
+                if (entries[doc] != null) {
+                    exactDocs.add(doc);
+                    offer(best, new Match(entries[doc], SCORE_IDENTIFIER), limit);
+                }
+            });
+            exactDocs.sort();
+        }
+
+        String digits = PatientSearchEntry.digits(query);
+        boolean numeric = !digits.isEmpty() && digits.length() == PatientSearchEntry.identifier(query).length();
+        if (numeric) {
+            String suffix = digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+            IntList bucket = suffix.length() >= MOBILE_BUCKET_DIGITS ? mobileBuckets[mobileBucket(suffix)] : null;
+            for (int i = bucket != null ? bucket.size() - 1 : -1; i >= 0; i--) {
+                int doc = bucket.get(i);
+                if (entries[doc] != null && !exactDocs.contains(doc) && entries[doc].mobileEndsWith(suffix)) {
+                    offer(best, new Match(entries[doc], SCORE_MOBILE + suffix.length()), limit);
+                }
+            }
+        } else {
+            searchNames(PatientSearchEntry.nameKey(query), best, exactDocs, limit, maxCandidates);
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+        return matches;
+    }
+
+    /**
+     * Patients sharing a blocking key with {@code probe} and scoring at least {@code minScore} by
+     * {@link DuplicateScore}, best first; {@code probe} itself is skipped when it is indexed.
+     */
+    List<Match> duplicates(PatientSearchEntry probe, int minScore, int limit) {
+        String swapped = PatientSearchEntry.nameKey(
+                (probe.lastName == null ? "" : probe.lastName) + " " + (probe.firstName == null ? "" : probe.firstName));
+        long phonetic = probe.phoneticName();
+        String mobile = PatientSearchEntry.mobileKey(probe.mobileNumber);
+        IntList seen = new IntList();
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (long key : probe.blockingKeys()) {
+            blocks.forEach(key, doc -> {
+                PatientSearchEntry candidate = entries[doc];
+                if (candidate == null || candidate.id == probe.id || seen.containsUnsorted(doc)) {
+                    return;
+                }
+                seen.add(doc);
+                int score = DuplicateScore.of(probe, swapped, phonetic, mobile, candidate);
+                if (score >= minScore) {
+                    offer(best, new Match(candidate, score), limit);
+                }
+            });
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+        return matches;
+    }
+
+    private void searchNames(String nameQuery, PriorityQueue<Match> best, IntList exactDocs, int limit,
+                             int maxCandidates) {
+        if (nameQuery.isEmpty()) {
+            return;
+        }
+        String[] tokens = nameQuery.split(" ");
+        List<IntList> lists = new ArrayList<>();
+        int topScore = 5;
+        for (String token : tokens) {
+            topScore += 30;
+            if (token.length() < 2) {
+                continue;
+            }
+            boolean[] missing = {false};
+            forEachQueryGram(token, gram -> {
+                IntList postings = grams.get(gram);
+                if (postings == null) {
+                    missing[0] = true;
+                } else {
+                    lists.add(postings);
+                }
+            });
+            if (missing[0]) {
+                return;
+            }
+        }
+        if (lists.isEmpty()) {
+            return;
+        }
+        lists.sort(Comparator.comparingInt(IntList::size));
+
+        IntList driver = lists.get(0);
+        int examined = 0;
+        candidates:
+        for (int i = driver.size() - 1; i >= 0 && examined < maxCandidates; i--) {
+            int doc = driver.get(i);
+            if (entries[doc] == null || exactDocs.contains(doc)) {
+                continue;
+            }
+            for (int l = 1; l < lists.size(); l++) {
+                if (!lists.get(l).contains(doc)) {
+                    continue candidates;
+                }
+            }
+            // trigrams can all be present without the token itself: confirm and score the match
+            int score = nameScore(entries[doc].nameKey, tokens);
+            if (score > 0) {
+                examined++;
+                offer(best, new Match(entries[doc], score), limit);
+                if (best.size() == limit && best.peek().score() == topScore) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Per query token: 30 for a whole name token, 20 for a prefix, 10 anywhere else (two-letter
+     * tokens only match as prefixes); 0 if any token is missing. The first name typed first
+     * earns 5 more.
+     */
+    static int nameScore(String nameKey, String[] tokens) {
+        int total = 0;
+        for (String token : tokens) {
+            int best = 0;
+            for (int at = nameKey.indexOf(token); at >= 0 && best < 30; at = nameKey.indexOf(token, at + 1)) {
+                boolean start = at == 0 || nameKey.charAt(at - 1) == ' ';
+                int end = at + token.length();
+                boolean whole = start && (end == nameKey.length() || nameKey.charAt(end) == ' ');
+                int score = whole ? 30 : start ? 20 : token.length() > 2 ? 10 : 0;
+                best = Math.max(best, score);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return nameKey.startsWith(tokens[0]) ? total + 5 : total;
+    }
+
+    private static void offer(PriorityQueue<Match> best, Match match, int limit) {
+        best.add(match);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private static int mobileBucket(String digits) {
+        return Integer.parseInt(digits.substring(digits.length() - MOBILE_BUCKET_DIGITS));
+    }
+
+    private static void forEachNameGram(String nameKey, GramConsumer consumer) {
+        int tokenStart = 0;
+        for (int i = 0; i <= nameKey.length(); i++) {
+            if (i == nameKey.length() || nameKey.charAt(i) == ' ') {
+                // grams of START + token: the first one doubles as the two-letter prefix gram
+                for (int g = tokenStart - 1; g + 2 < i; g++) {
+                    char first = g < tokenStart ? START : nameKey.charAt(g);
+                    consumer.accept(gram(first, nameKey.charAt(g + 1), nameKey.charAt(g + 2)));
+                }
+                tokenStart = i + 1;
+            }
+        }
+    }
+
+    // a two-letter token can only be a prefix; longer tokens match anywhere in a name token
+    private static void forEachQueryGram(String token, GramConsumer consumer) {
+        if (token.length() == 2) {
+            consumer.accept(gram(START, token.charAt(0), token.charAt(1)));
+            return;
+        }
+        for (int g = 0; g + 2 < token.length(); g++) {
+            consumer.accept(gram(token.charAt(g), token.charAt(g + 1), token.charAt(g + 2)));
+        }
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    @FunctionalInterface
+    private interface GramConsumer {
+        void accept(long gram);
+    }
+
+    /** Best first: score, then the shorter (closer) name, then the newer patient. */
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score).reversed()
+            .thenComparingInt(m -> m.entry().nameKey.length())
+            .thenComparing(Comparator.comparingLong((Match m) -> m.entry().id).reversed());
+
+    record Match(PatientSearchEntry entry, int score) {
+    }
+}
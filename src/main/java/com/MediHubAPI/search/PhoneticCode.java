@@ -0,0 +1,56 @@
+package com.MediHubAPI.search;
+
+/**
+ * A Soundex variant for blocking duplicate names: consonants are grouped by how they sound, vowels
+ * dropped, and the first letter is reduced to its group as well, so {@code Kumar}/{@code Cumar}
+ * and {@code Mohammed}/{@code Muhammad} share a code. Deliberately coarse; candidates are scored
+ * afterwards.
+ */
+final class PhoneticCode {
+
+    //                                  a  b  c  d  e  f  g  h  i  j  k  l  m  n  o  p  q  r  s  t  u  v  w  x  y  z
+    private static final byte[] GROUP = {0, 1, 2, 3, 0, 1, 2, 8, 0, 2, 2, 4, 5, 5, 0, 1, 2, 6, 2, 3, 0, 1, 8, 2, 0, 2};
+
+    private PhoneticCode() {
+    }
+
+    /**
+     * The code of the first {@code [a-z]} run in {@code token} (which must be lower case) as four
+     * digits in an int, or {@code -1} if it holds no letter.
+     */
+    static int of(String token) {
+        int code = -1;
+        int digits = 0;
+        int previous = -1;
+        for (int i = 0; i < token.length() && digits < 3; i++) {
+            char c = token.charAt(i);
+            if (c < 'a' || c > 'z') {
+                if (code >= 0) {
+                    break;
+                }
+                continue;
+            }
+            int group = GROUP[c - 'a'];
+            if (code < 0) {
+                // vowels open as one class; h and w as another
+                code = group == 0 ? 7 : group;
+                previous = group;
+            } else if (group == 8) {
+                // h and w do not separate repeated consonants
+            } else if (group == 0) {
+                previous = 0;
+            } else if (group != previous) {
+                code = code * 10 + group;
+                digits++;
+                previous = group;
+            }
+        }
+        if (code < 0) {
+            return -1;
+        }
+        for (; digits < 3; digits++) {
+            code *= 10;
+        }
+        return code;
+    }
+}
@@ -1,5 +1,7 @@
 package com.MediHubAPI.security;
 
+import com.MediHubAPI.tracing.Span;
+import com.MediHubAPI.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -38,7 +40,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        try {
+        try (Span ignored = Tracer.span("auth", "jwt")) {
             String jwt = getJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt)) {
@@ -65,7 +67,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                 new WebAuthenticationDetailsSource().buildDetails(request));
 
                         SecurityContextHolder.getContext().setAuthentication(authentication);
-                        logger.info("Authenticated user: {}", username);
+                        logger.debug("Authenticated user: {}", username);
                     }
                 } catch (JwtAuthenticationException ex) {
                     logger.error("JWT validation failed: {}", ex.getMessage());
@@ -1,5 +1,6 @@
 package com.MediHubAPI.security;
 
+import com.MediHubAPI.monitoring.JwtAuthenticationEvent;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -9,15 +10,30 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${app.jwt-secret}")
-    private String jwtSecret;
+    private static final long SWEEP_INTERVAL_MS = 1000;
 
-    @Value("${app.jwt-expiration-milliseconds}")
-    private long jwtExpirationMs;
+    private final long jwtExpirationMs;
+    private final Key key;
+
+    // Verified claims per token, so validate + getUsername on the same request verify the signature once.
+    // Bounded by claimsCacheSize; entries leave when their token expires, never by access order, so reads take no lock.
+    private final int claimsCacheSize;
+    private final ConcurrentHashMap<String, Claims> claimsCache;
+    private volatile long nextSweepAt;
+
+    public JwtTokenProvider(@Value("${app.jwt-secret}") String jwtSecret,
+                            @Value("${app.jwt-expiration-milliseconds}") long jwtExpirationMs,
+                            @Value("${app.jwt-claims-cache-size:10000}") int claimsCacheSize) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.claimsCacheSize = claimsCacheSize;
+        this.claimsCache = claimsCacheSize > 0 ? new ConcurrentHashMap<>(Math.min(claimsCacheSize, 1024)) : null;
+    }
 
     public String generateToken(Authentication authentication) {
         String username = authentication.getName();
@@ -28,32 +44,69 @@ public class JwtTokenProvider {
                 .setSubject(username)
                 .setIssuedAt(currentDate)
                 .setExpiration(expireDate)
-                .signWith(key(), SignatureAlgorithm.HS512)
+                .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (Exception ex) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private Claims parseClaims(String token) {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        try {
+            Date now = new Date();
+            Claims claims = claimsCache != null ? claimsCache.get(token) : null;
+            if (claims != null && !isExpired(claims, now)) {
+                event.cacheHit = true;
+            } else {
+                if (claims != null) {
+                    claimsCache.remove(token, claims);
+                }
+                claims = Jwts.parserBuilder()
+                        .setSigningKey(key)
+                        .build()
+                        .parseClaimsJws(token)
+                        .getBody();
+                cache(token, claims, now);
+            }
+            event.valid = true;
+            return claims;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private void cache(String token, Claims claims, Date now) {
+        if (claimsCache == null) {
+            return;
+        }
+        if (claimsCache.size() >= claimsCacheSize) {
+            // At most one sweep per second, so a cache full of live tokens does not turn every miss into a scan
+            if (now.getTime() < nextSweepAt) {
+                return;
+            }
+            nextSweepAt = now.getTime() + SWEEP_INTERVAL_MS;
+            claimsCache.values().removeIf(cached -> isExpired(cached, now));
+            if (claimsCache.size() >= claimsCacheSize) {
+                // Full of live tokens: skip caching rather than evict one a concurrent request may be about to hit
+                return;
+            }
+        }
+        claimsCache.put(token, claims);
+    }
+
+    private static boolean isExpired(Claims claims, Date now) {
+        return claims.getExpiration() != null && !claims.getExpiration().after(now);
+    }
+}
@@ -1,5 +1,7 @@
 package com.MediHubAPI.security;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -24,19 +26,29 @@ import java.util.List;
 @EnableMethodSecurity(prePostEnabled = true, securedEnabled = true, jsr250Enabled = true)
 public class SecurityConfig {
 
+    /** Staff who work with patient records; patient accounts and HR are kept out of other people's PHI. */
+    private static final String[] PATIENT_DATA_AUTHORITIES = {
+            "ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_DOCTOR", "ROLE_NURSE", "ROLE_RECEPTIONIST",
+            "ROLE_BILLING_CLERK", "ROLE_PHARMACIST"
+    };
+
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
     private final JwtAuthEntryPoint authEntryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
+    /** Separate actuator port, reachable only from the scrape network; {@code -1} when actuator shares the API port. */
+    private final int managementPort;
 
     public SecurityConfig(JwtTokenProvider tokenProvider,
                           UserDetailsService userDetailsService,
                           JwtAuthEntryPoint authEntryPoint,
-                          CustomAccessDeniedHandler accessDeniedHandler) {
+                          CustomAccessDeniedHandler accessDeniedHandler,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
         this.authEntryPoint = authEntryPoint;
         this.accessDeniedHandler = accessDeniedHandler;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -56,8 +68,19 @@ public class SecurityConfig {
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // the REQUEST dispatch was already authorized; the JWT context is not kept for the
+                // ASYNC re-dispatch that completes a streaming response
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**", "/v3/api-docs/**", "/swagger-ui/**", "/api/users/register-superadmin").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // Prometheus scrapes without a token only on the dedicated management port
+                .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort
+                        && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ROLE_SUPER_ADMIN")
                 .requestMatchers("/api/users/**").hasAnyAuthority("ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_HR_MANAGER")
+                .requestMatchers("/api/patients/import", "/api/patients/imports/**").hasAnyAuthority("ROLE_SUPER_ADMIN", "ROLE_ADMIN")
+                .requestMatchers("/api/patients", "/api/patients/**").hasAnyAuthority(PATIENT_DATA_AUTHORITIES)
+                .requestMatchers("/api/photos/**").hasAnyAuthority(PATIENT_DATA_AUTHORITIES)
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
@@ -3,6 +3,7 @@ package com.MediHubAPI.service;
 import com.MediHubAPI.dto.AppointmentBookingDto;
 import com.MediHubAPI.dto.AppointmentResponseDto;
 import com.MediHubAPI.dto.DoctorScheduleDto;
+import com.MediHubAPI.export.AppointmentExport;
 import com.MediHubAPI.model.Appointment;
 import com.MediHubAPI.model.enums.AppointmentStatus;
 import org.springframework.data.domain.Page;
@@ -31,4 +32,6 @@ public interface AppointmentService {
     void markAsArrived(Long appointmentId);
 
     Page<DoctorScheduleDto> getDoctorSchedulesStructured(LocalDate date, String doctorName, String specialization, Pageable pageable);
+
+    AppointmentExport exportAppointments(LocalDate from, LocalDate to, String doctorName, AppointmentStatus status);
 }
@@ -0,0 +1,26 @@
+package com.MediHubAPI.service;
+
+import com.MediHubAPI.dto.PatientCreateDto;
+import com.MediHubAPI.dto.PatientPhotoDto;
+import com.MediHubAPI.dto.PatientProfileDto;
+import com.MediHubAPI.dto.PatientResponseDto;
+import com.MediHubAPI.dto.PatientSuggestionDto;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface PatientService {
+    PatientProfileDto registerPatient(PatientCreateDto dto, boolean confirmNew);
+
+    List<PatientSuggestionDto> findDuplicates(PatientCreateDto dto);
+
+    PatientProfileDto getPatientProfile(Long id);
+
+    PatientPhotoDto updatePhoto(Long id, InputStream image) throws IOException;
+
+    Page<PatientResponseDto> searchPatients(String query, int page, int size);
+
+    List<PatientSuggestionDto> suggestPatients(String query, int limit);
+}
@@ -7,7 +7,9 @@ import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface SlotService {
     void shiftSlots(Long doctorId, SlotShiftRequestDto request);
@@ -16,6 +18,7 @@ public interface SlotService {
     List<SlotStatusDto> getSlotStatuses(Long doctorId, LocalDate date);
     Appointment bookWalkInSlot(WalkInAppointmentDto dto);
     List<Slot> getEmergencySlots(Long doctorId, LocalDate date);
+    Map<Long, List<Slot>> getEmergencySlots(Collection<Long> doctorIds, LocalDate date);
 
     Slot getSlotByDoctorAndTime(Long id, @NotNull LocalDate appointmentDate, @NotNull LocalTime slotTime);
 }
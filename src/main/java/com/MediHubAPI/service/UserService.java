@@ -2,10 +2,13 @@ package com.MediHubAPI.service;
 
 
 
+import com.MediHubAPI.dto.CursorPage;
 import com.MediHubAPI.dto.UserCreateDto;
 import com.MediHubAPI.dto.UserDto;
 import com.MediHubAPI.model.ERole;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Set;
 
@@ -13,8 +16,11 @@ public interface UserService {
     UserDto createUser(UserCreateDto userCreateDto);
     List<UserDto> getAllUsers();
     UserDto getUserById(Long id);
+    CursorPage<UserDto> getUsersAfter(Long afterId, int size);
+    long exportUsers(OutputStream out) throws IOException;
     void deleteUser(Long id);
 
     void updateUserStatus(Long userId, boolean enabled);
+    void updateUserPassword(Long userId, String password);
     UserDto updateUserRolesByUsername(String username, Set<ERole> roles);
 }
@@ -2,11 +2,16 @@ package com.MediHubAPI.service.impl;
 
 import com.MediHubAPI.dto.*;
 import com.MediHubAPI.exception.HospitalAPIException;
+import com.MediHubAPI.export.AppointmentExport;
 import com.MediHubAPI.model.Appointment;
 import com.MediHubAPI.model.Slot;
 import com.MediHubAPI.model.User;
 import com.MediHubAPI.model.enums.AppointmentStatus;
 import com.MediHubAPI.model.enums.SlotStatus;
+import com.MediHubAPI.monitoring.BookingEvent;
+import com.MediHubAPI.monitoring.BookingMetrics;
+import com.MediHubAPI.monitoring.SqlStatementStats;
+import com.MediHubAPI.query.AppointmentQueries;
 import com.MediHubAPI.repository.AppointmentRepository;
 import com.MediHubAPI.repository.UserRepository;
 import com.MediHubAPI.service.AppointmentService;
@@ -18,15 +23,19 @@ import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -39,7 +48,14 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     private final UserRepository userRepository;
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentQueries appointmentQueries;
     private final SlotService slotService;  // ✅ Injected
+    private final BookingMetrics bookingMetrics;
+
+    @Value("${app.appointment-export.fetch-size:500}")
+    private int exportFetchSize;
+    @Value("${app.appointment-export.max-days:366}")
+    private int exportMaxDays;
 
 
     @Override
@@ -49,15 +65,44 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     @Override
     public AppointmentResponseDto bookAppointment(AppointmentBookingDto dto, Appointment rescheduledFrom) {
+        BookingEvent event = new BookingEvent();
+        if (!event.isEnabled()) {
+            return book(dto, rescheduledFrom);
+        }
+        event.begin();
+        event.doctorId = dto.getDoctorId() != null ? dto.getDoctorId() : 0;
+        event.patientId = dto.getPatientId() != null ? dto.getPatientId() : 0;
+        event.reschedule = rescheduledFrom != null;
+        SqlStatementStats sql = SqlStatementStats.begin();
+        try {
+            AppointmentResponseDto booked = book(dto, rescheduledFrom);
+            event.outcome = AppointmentStatus.BOOKED.name();
+            return booked;
+        } catch (HospitalAPIException ex) {
+            event.outcome = ex.getStatus().name();
+            throw ex;
+        } catch (RuntimeException ex) {
+            event.outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            SqlStatementStats.end();
+            event.sqlStatements = sql.getStatements();
+            event.commit();
+        }
+    }
+
+    private AppointmentResponseDto book(AppointmentBookingDto dto, Appointment rescheduledFrom) {
         log.debug("🔁 Booking appointment: {}", dto);
 
         // Step 1: Validate doctor and patient
         User doctor = findUserOrThrow(dto.getDoctorId(), "Doctor");
         User patient = findUserOrThrow(dto.getPatientId(), "Patient");
+        bookingMetrics.bookingAttempt(doctor);
 
         // Step 2: Check if the slot exists and is marked AVAILABLE
         Slot slot = slotService.getSlotByDoctorAndTime(doctor.getId(), dto.getAppointmentDate(), dto.getSlotTime());
         if (slot == null || slot.getStatus() != SlotStatus.AVAILABLE) {
+            bookingMetrics.bookingConflict(doctor, "slot_unavailable");
             throw new HospitalAPIException(HttpStatus.CONFLICT, "Slot is not available");
         }
 
@@ -77,6 +122,7 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .build();
 
         Appointment saved = appointmentRepository.save(appointment);
+        bookingMetrics.bookingSuccess(doctor);
         log.info("✅ Appointment booked successfully: {}", saved.getId());
 
 
@@ -94,37 +140,54 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentResponseDto> getAppointmentsForDoctor(Long doctorId, LocalDate date) {
         log.debug("📄 Fetching appointments for doctorId={} on {}", doctorId, date);
-        return appointmentRepository.findByDoctorIdAndAppointmentDate(doctorId, date).stream()
-                .map(appointment -> modelMapper.map(appointment, AppointmentResponseDto.class))
-                .collect(Collectors.toList());
+        return appointmentQueries.forDoctorOnDate(doctorId, date);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentResponseDto> getAppointmentsForPatient(Long patientId) {
         log.debug("📄 Fetching appointments for patientId={}", patientId);
-        return appointmentRepository.findByPatientIdOrderByAppointmentDateDesc(patientId).stream()
-                .map(appointment -> modelMapper.map(appointment, AppointmentResponseDto.class))
-                .collect(Collectors.toList());
+        return appointmentQueries.forPatient(patientId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<AppointmentResponseDto> getAppointmentsForPatient(Long patientId, Pageable pageable) {
         log.debug("📄 Fetching paginated appointments for patientId={} with pageable={}", patientId, pageable);
-        return appointmentRepository.findByPatientId(patientId, pageable)
-                .map(appointment -> modelMapper.map(appointment, AppointmentResponseDto.class));
+        return appointmentQueries.forPatient(patientId, pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<AppointmentResponseDto> getAppointmentsWithFilters(LocalDate date, String doctorName, AppointmentStatus status, String range, Pageable pageable) {
         log.debug("📄 Filtering appointments with date={}, range={}, doctorName={}, status={}", date, range, doctorName, status);
 
         Specification<Appointment> spec = buildAppointmentFilterSpec(date, range, doctorName, status);
 
-        return appointmentRepository.findAll(spec, pageable)
-                .map(appointment -> modelMapper.map(appointment, AppointmentResponseDto.class));
+        return appointmentQueries.page(spec, pageable);
+    }
+    /**
+     * Validates the range up front, before a streaming response is committed; the returned export
+     * runs the query when it is written.
+     */
+    @Override
+    public AppointmentExport exportAppointments(LocalDate from, LocalDate to, String doctorName, AppointmentStatus status) {
+        if (from.isAfter(to)) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= exportMaxDays) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST,
+                    "Export range must not exceed " + exportMaxDays + " days");
+        }
+        Specification<Appointment> spec = buildAppointmentFilterSpec(null, null, doctorName, status)
+                .and((root, query, cb) -> cb.between(root.get("appointmentDate"), from, to));
+        Sort sort = Sort.by("appointmentDate", "slotTime", "id");
+        return sink -> appointmentQueries.stream(spec, sort, exportFetchSize, sink);
     }
+
     private Specification<Appointment> buildAppointmentFilterSpec(LocalDate date, String range, String doctorName, AppointmentStatus status) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -250,6 +313,7 @@ public class AppointmentServiceImpl implements AppointmentService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public Page<DoctorScheduleDto> getDoctorSchedulesStructured(LocalDate date, String doctorName, String specialization, Pageable pageable) {
         DoctorSearchCriteria criteria = new DoctorSearchCriteria();
         criteria.setName(doctorName);
@@ -259,13 +323,18 @@ public class AppointmentServiceImpl implements AppointmentService {
         Specification<User> doctorSpec = new DoctorSpecification(criteria);
         Page<User> doctorPage = userRepository.findAll(doctorSpec, pageable);
 
-        // Step 2: Build schedule DTOs
-        List<DoctorScheduleDto> dtos = doctorPage.getContent().stream()
+        List<User> doctors = doctorPage.getContent().stream()
                 .filter(doctor -> specialization == null ||
                         (doctor.getSpecialization() != null &&
                                 doctor.getSpecialization().getName().equalsIgnoreCase(specialization)))
+                .toList();
+
+        // Step 2: Load the slots of the whole page in one query and build schedule DTOs
+        Map<Long, List<Slot>> slotsByDoctor = slotService.getEmergencySlots(
+                doctors.stream().map(User::getId).toList(), date);
+        List<DoctorScheduleDto> dtos = doctors.stream()
                 .map(doctor -> {
-                    List<Slot> slots = slotService.getEmergencySlots(doctor.getId(), date);
+                    List<Slot> slots = slotsByDoctor.getOrDefault(doctor.getId(), List.of());
                     List<HourlySlotGroupDto> grouped = groupSlotsByHour(slots);
                     return DoctorScheduleDto.builder()
                             .id(doctor.getId())
@@ -280,7 +349,8 @@ public class AppointmentServiceImpl implements AppointmentService {
         // Step 3: Return paginated result
         return new PageImpl<>(dtos, pageable, doctorPage.getTotalElements());
     }
-    private List<HourlySlotGroupDto> groupSlotsByHour(List<Slot> slots) {
+    // package-private so the JMH schedule benchmarks can drive it directly
+    List<HourlySlotGroupDto> groupSlotsByHour(List<Slot> slots) {
         // Group slots into 10-min segments by base hour
         Map<String, List<TimeSlotDto>> hourlyGrouped = new TreeMap<>();
 
@@ -321,10 +391,12 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     private void validateSlotConflicts(User doctor, User patient, LocalDate date, LocalTime time) {
         if (appointmentRepository.existsByDoctorAndAppointmentDateAndSlotTime(doctor, date, time)) {
+            bookingMetrics.bookingConflict(doctor, "doctor_busy");
             throw new HospitalAPIException(HttpStatus.CONFLICT, "Doctor already has an appointment in this slot");
         }
 
         if (appointmentRepository.existsByPatientAndAppointmentDateAndSlotTime(patient, date, time)) {
+            bookingMetrics.bookingConflict(doctor, "patient_busy");
             throw new HospitalAPIException(HttpStatus.CONFLICT, "Patient already has an appointment in this slot");
         }
     }
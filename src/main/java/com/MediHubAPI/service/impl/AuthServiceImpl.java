@@ -7,7 +7,7 @@ import com.MediHubAPI.exception.HospitalAPIException;
 import com.MediHubAPI.model.ERole;
 import com.MediHubAPI.model.Role;
 import com.MediHubAPI.model.User;
-import com.MediHubAPI.repository.RoleRepository;
+import com.MediHubAPI.reference.ReferenceDataRegistry;
 import com.MediHubAPI.repository.UserRepository;
 import com.MediHubAPI.security.JwtTokenProvider;
 import com.MediHubAPI.service.AuthService;
@@ -26,18 +26,18 @@ public class AuthServiceImpl implements AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final ReferenceDataRegistry referenceData;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
 
     public AuthServiceImpl(AuthenticationManager authenticationManager,
                            UserRepository userRepository,
-                           RoleRepository roleRepository,
+                           ReferenceDataRegistry referenceData,
                            PasswordEncoder passwordEncoder,
                            JwtTokenProvider tokenProvider) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.referenceData = referenceData;
         this.passwordEncoder = passwordEncoder;
         this.tokenProvider = tokenProvider;
     }
@@ -79,7 +79,7 @@ public class AuthServiceImpl implements AuthService {
         user.setLastName(registerDto.getLastName());
 
         // Assign PATIENT role
-        Role role = roleRepository.findByName(ERole.PATIENT)
+        Role role = referenceData.findRole(ERole.PATIENT)
                 .orElseThrow(() -> new HospitalAPIException(HttpStatus.INTERNAL_SERVER_ERROR, "Role not found"));
 
         user.setRoles(Collections.singleton(role));
@@ -7,6 +7,9 @@ import com.MediHubAPI.exception.ResourceNotFoundException;
 import com.MediHubAPI.model.*;
 import com.MediHubAPI.model.enums.SlotStatus;
 import com.MediHubAPI.model.enums.SlotType;
+import com.MediHubAPI.monitoring.AvailabilityEvent;
+import com.MediHubAPI.monitoring.BookingMetrics;
+import com.MediHubAPI.query.SlotQueries;
 import com.MediHubAPI.repository.SlotRepository;
 import com.MediHubAPI.repository.UserRepository;
 import com.MediHubAPI.service.DoctorService;
@@ -19,9 +22,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,9 +36,12 @@ public class DoctorServiceImpl implements DoctorService {
 
     private final UserRepository userRepository;
     private final SlotRepository slotRepository;
+    private final SlotQueries slotQueries;
     private final ModelMapper modelMapper;
+    private final BookingMetrics bookingMetrics;
 
     @Override
+    @Transactional(readOnly = true)
     public Page<UserDto> searchDoctors(DoctorSearchCriteria criteria, Pageable pageable) {
         Specification<User> spec = new DoctorSpecification(criteria);
         return userRepository.findAll(spec, pageable)
@@ -41,6 +49,7 @@ public class DoctorServiceImpl implements DoctorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public DoctorProfileDto getDoctorById(Long id) {
         User doctor = validateDoctor(id);
         return modelMapper.map(doctor, DoctorProfileDto.class);
@@ -61,6 +70,24 @@ public class DoctorServiceImpl implements DoctorService {
      */
     @Override
     public void defineAvailability(Long doctorId, DoctorAvailabilityDto dto) {
+        AvailabilityEvent event = new AvailabilityEvent();
+        event.begin();
+        event.doctorId = doctorId != null ? doctorId : 0;
+        try {
+            event.slotsCreated = generateAvailability(doctorId, dto);
+            event.outcome = "CREATED";
+        } catch (HospitalAPIException ex) {
+            event.outcome = ex.getStatus().name();
+            throw ex;
+        } catch (RuntimeException ex) {
+            event.outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private int generateAvailability(Long doctorId, DoctorAvailabilityDto dto) {
         // Validate doctor existence
         User doctor = validateDoctor(doctorId);
 
@@ -77,6 +104,7 @@ public class DoctorServiceImpl implements DoctorService {
 
         // Track already-added time ranges per date to prevent overlaps
         Map<LocalDate, List<DoctorAvailabilityDto.TimeRange>> slotTracker = new HashMap<>();
+        AtomicInteger created = new AtomicInteger();
 
         // === Weekly Availability ===
         if (hasWeekly) {
@@ -90,7 +118,7 @@ public class DoctorServiceImpl implements DoctorService {
                                 .plusWeeks(week);
 
                         checkOverlap(slotTracker, date, range);
-                        generateSlotsWithConflictCheck(doctor, date, range.getStart(), range.getEnd(), duration);
+                        created.addAndGet(generateSlotsWithConflictCheck(doctor, date, range.getStart(), range.getEnd(), duration));
                     }
                 }
             });
@@ -107,10 +135,11 @@ public class DoctorServiceImpl implements DoctorService {
                 for (DoctorAvailabilityDto.TimeRange range : timeRanges) {
                     validateTimeRange(range, "dateWiseAvailability");
                     checkOverlap(slotTracker, date, range);
-                    generateSlotsWithConflictCheck(doctor, date, range.getStart(), range.getEnd(), duration);
+                    created.addAndGet(generateSlotsWithConflictCheck(doctor, date, range.getStart(), range.getEnd(), duration));
                 }
             });
         }
+        return created.get();
     }
     private void validateTimeRange(DoctorAvailabilityDto.TimeRange range, String source) {
         if (range.getStart() == null || range.getEnd() == null) {
@@ -120,7 +149,8 @@ public class DoctorServiceImpl implements DoctorService {
             throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "End time must be after start time in " + source);
         }
     }
-    private void checkOverlap(Map<LocalDate, List<DoctorAvailabilityDto.TimeRange>> tracker,
+    // package-private so the JMH availability benchmarks can drive it directly
+    void checkOverlap(Map<LocalDate, List<DoctorAvailabilityDto.TimeRange>> tracker,
                               LocalDate date,
                               DoctorAvailabilityDto.TimeRange newRange) {
         List<DoctorAvailabilityDto.TimeRange> existing = tracker.computeIfAbsent(date, d -> new ArrayList<>());
@@ -137,12 +167,13 @@ public class DoctorServiceImpl implements DoctorService {
     private boolean isOverlapping(LocalTime start1, LocalTime end1, LocalTime start2, LocalTime end2) {
         return !start1.isAfter(end2.minusSeconds(1)) && !start2.isAfter(end1.minusSeconds(1));
     }
-    private void generateSlotsWithConflictCheck(User doctor,
+    private int generateSlotsWithConflictCheck(User doctor,
                                                 LocalDate date,
                                                 LocalTime start,
                                                 LocalTime end,
                                                 int duration) {
         LocalTime current = start;
+        int created = 0;
 
         while (current.plusMinutes(duration).compareTo(end) <= 0) {
             LocalTime slotEnd = current.plusMinutes(duration);
@@ -171,10 +202,12 @@ public class DoctorServiceImpl implements DoctorService {
                     .build();
 
             slotRepository.save(slot);
-
+            created++;
 
             current = slotEnd;
         }
+        bookingMetrics.slotOperation("generate", created);
+        return created;
     }
 
 
@@ -206,13 +239,12 @@ public class DoctorServiceImpl implements DoctorService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<SlotResponseDto> getSlotsForDate(Long doctorId, LocalDate date) {
         validateDoctor(doctorId);
-        List<Slot> slots = slotRepository.findByDoctorIdAndDate(doctorId, date);
+        List<SlotResponseDto> slots = slotQueries.forDoctorOnDate(doctorId, date);
         log.info("✅ Fetched {} slots for doctorId={} on {}", slots.size(), doctorId, date);
-        return slots.stream()
-                .map(slot -> modelMapper.map(slot, SlotResponseDto.class))
-                .collect(Collectors.toList());
+        return slots;
     }
 
     @Override
@@ -257,11 +289,12 @@ public class DoctorServiceImpl implements DoctorService {
         }
 
         slotRepository.saveAll(slots);
+        bookingMetrics.slotOperation("generate", slots.size());
         log.info("✅ Created {} new slots for Doctor={} Date={}", slots.size(), doctor.getId(), date);
     }
 
     private User validateDoctor(Long id) {
-        User user = userRepository.findById(id)
+        User user = userRepository.findWithRolesAndSpecializationById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id=", "id", id));
 
         boolean isDoctor = user.getRoles().stream().anyMatch(r -> r.getName() == ERole.DOCTOR);
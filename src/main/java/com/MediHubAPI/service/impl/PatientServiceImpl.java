@@ -0,0 +1,231 @@
+package com.MediHubAPI.service.impl;
+
+import com.MediHubAPI.dto.PatientCreateDto;
+import com.MediHubAPI.dto.PatientPhotoDto;
+import com.MediHubAPI.dto.PatientProfileDto;
+import com.MediHubAPI.dto.PatientResponseDto;
+import com.MediHubAPI.dto.PatientSuggestionDto;
+import com.MediHubAPI.exception.HospitalAPIException;
+import com.MediHubAPI.exception.ResourceNotFoundException;
+import com.MediHubAPI.factory.PatientFactory;
+import com.MediHubAPI.model.Patient;
+import com.MediHubAPI.model.PatientPhoto;
+import com.MediHubAPI.photo.PhotoStore;
+import com.MediHubAPI.photo.StoredPhoto;
+import com.MediHubAPI.repository.PatientRepository;
+import com.MediHubAPI.search.PatientSearchIndex;
+import com.MediHubAPI.service.PatientService;
+import com.MediHubAPI.specification.PatientSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientServiceImpl implements PatientService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_DUPLICATES = 10;
+
+    private final PatientRepository patientRepository;
+    private final PatientFactory patientFactory;
+    private final ModelMapper modelMapper;
+    private final ObjectProvider<PatientSearchIndex> searchIndex;
+    private final PhotoStore photoStore;
+
+    @Value("${app.patient-search.max-results:50}")
+    private int maxSuggestions;
+
+    /**
+     * Persists the patient and every profile section present in the request with one cascaded
+     * save, in one transaction. Unless {@code confirmNew}, a patient resembling an existing one is
+     * refused with a 409 naming the candidates.
+     */
+    @Override
+    @Transactional
+    public PatientProfileDto registerPatient(PatientCreateDto dto, boolean confirmNew) {
+        Patient patient = patientFactory.createPatient(dto);
+        if (!confirmNew) {
+            List<PatientSuggestionDto> duplicates = findDuplicates(patient);
+            if (!duplicates.isEmpty()) {
+                log.info("🧾 Registration of {} {} held back: {} possible duplicate(s)",
+                        dto.getFirstName(), dto.getLastName(), duplicates.size());
+                throw new HospitalAPIException(HttpStatus.CONFLICT, "Possible duplicate of existing patient(s) "
+                        + duplicates.stream().map(d -> d.getId() + " (score " + d.getScore() + ")").toList()
+                        + "; review them with POST /api/patients/duplicates or resend with confirmNew=true");
+            }
+        }
+        Patient saved = patientRepository.save(patient);
+        log.info("🧾 Registered patient id={} fileNumber={}", saved.getId(), saved.getFileNumber());
+        return toProfile(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PatientProfileDto getPatientProfile(Long id) {
+        Patient patient = patientRepository.findWithProfileById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
+        return toProfile(patient);
+    }
+
+    /**
+     * Stores the uploaded image and makes it the patient's photo. Deliberately not transactional:
+     * the upload is streamed to disk first, so no connection is held while it arrives. The
+     * previous blob stays in the store, since other patients may share it.
+     */
+    @Override
+    public PatientPhotoDto updatePhoto(Long id, InputStream image) throws IOException {
+        if (!patientRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Patient", "id", id);
+        }
+        StoredPhoto stored = photoStore.store(image);
+        Patient patient = patientRepository.findWithProfileById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
+        PatientPhoto photo = patient.getPhoto() != null ? patient.getPhoto() : new PatientPhoto();
+        photo.setPatient(patient);
+        photo.setFilePath(photoStore.path(stored.getKey()).toString());
+        photo.setStorageKey(stored.getKey());
+        photo.setContentType(stored.getContentType());
+        photo.setSizeBytes(stored.getSizeBytes());
+        patient.setPhoto(photo);
+        patientRepository.save(patient);
+        log.info("🖼️ Patient id={} photo set to {}", id, stored.getKey());
+        return toPhotoDto(photo);
+    }
+
+    /**
+     * Existing patients that may be the same person as {@code dto}, best first. Lookups go to
+     * the in-memory index, which reads candidates from the database while it is still building.
+     * With the index disabled ({@code app.patient-search.enabled=false}) nothing is reported.
+     */
+    @Override
+    public List<PatientSuggestionDto> findDuplicates(PatientCreateDto dto) {
+        return findDuplicates(patientFactory.createPatient(dto));
+    }
+
+    private List<PatientSuggestionDto> findDuplicates(Patient patient) {
+        PatientSearchIndex index = searchIndex.getIfAvailable();
+        if (index == null) {
+            return List.of();
+        }
+        return index.findDuplicates(patient, MAX_DUPLICATES);
+    }
+
+    /**
+     * Matches {@code query} against name, mobile and file number; a blank query lists everyone.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PatientResponseDto> searchPatients(String query, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST,
+                    "page must be 0 or more and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return search(query, PageRequest.of(page, size, Sort.by("id")));
+    }
+
+    private Page<PatientResponseDto> search(String query, Pageable pageable) {
+        Specification<Patient> spec = isBlank(query)
+                ? Specification.allOf()
+                : Specification.anyOf(
+                        PatientSpecification.contains("firstName", query.trim()),
+                        PatientSpecification.contains("lastName", query.trim()),
+                        PatientSpecification.contains("mobileNumber", query.trim()),
+                        PatientSpecification.contains("fileNumber", query.trim()));
+        return patientRepository.findAll(spec, pageable).map(PatientServiceImpl::toSummary);
+    }
+
+    /**
+     * Typeahead from the in-memory index; while it is disabled or still building, the same
+     * matching runs as SQL on the first {@code limit} patients by id.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PatientSuggestionDto> suggestPatients(String query, int limit) {
+        if (limit < 1 || limit > maxSuggestions) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + maxSuggestions);
+        }
+        if (isBlank(query) || query.trim().length() < 2) {
+            return List.of();
+        }
+        PatientSearchIndex index = searchIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            return index.search(query.trim(), limit);
+        }
+        return search(query, PageRequest.of(0, limit, Sort.by("id"))).stream()
+                .map(PatientServiceImpl::toSuggestion)
+                .toList();
+    }
+
+    private PatientProfileDto toProfile(Patient patient) {
+        PatientProfileDto profile = modelMapper.map(patient, PatientProfileDto.class);
+        if (patient.getPhoto() != null) {
+            profile.setPhoto(toPhotoDto(patient.getPhoto()));
+        }
+        return profile;
+    }
+
+    private static PatientPhotoDto toPhotoDto(PatientPhoto photo) {
+        PatientPhotoDto dto = new PatientPhotoDto();
+        dto.setFilePath(photo.getFilePath());
+        dto.setStorageKey(photo.getStorageKey());
+        dto.setContentType(photo.getContentType());
+        dto.setSizeBytes(photo.getSizeBytes());
+        if (photo.getStorageKey() != null) {
+            dto.setUrl(PhotoStore.url(photo.getStorageKey()));
+            dto.setThumbnailUrl(PhotoStore.thumbnailUrl(photo.getStorageKey()));
+        }
+        return dto;
+    }
+
+    private static PatientResponseDto toSummary(Patient patient) {
+        PatientResponseDto dto = new PatientResponseDto();
+        dto.setId(patient.getId());
+        dto.setFirstName(patient.getFirstName());
+        dto.setLastName(patient.getLastName());
+        dto.setMobileNumber(patient.getMobileNumber());
+        dto.setFileNumber(patient.getFileNumber());
+        dto.setEmail(patient.getEmail());
+        dto.setDateOfBirth(patient.getDateOfBirth() != null ? patient.getDateOfBirth().toString() : null);
+        dto.setGender(patient.getSex() != null ? patient.getSex().name() : null);
+        if (patient.getDetails() != null) {
+            dto.setFatherName(patient.getDetails().getFatherName());
+            dto.setMotherName(patient.getDetails().getMotherName());
+        }
+        if (patient.getPhoto() != null && patient.getPhoto().getStorageKey() != null) {
+            dto.setThumbnailUrl(PhotoStore.thumbnailUrl(patient.getPhoto().getStorageKey()));
+        }
+        return dto;
+    }
+
+    private static PatientSuggestionDto toSuggestion(PatientResponseDto patient) {
+        PatientSuggestionDto dto = new PatientSuggestionDto();
+        dto.setId(patient.getId());
+        dto.setFirstName(patient.getFirstName());
+        dto.setLastName(patient.getLastName());
+        dto.setMobileNumber(patient.getMobileNumber());
+        dto.setFileNumber(patient.getFileNumber());
+        dto.setDateOfBirth(patient.getDateOfBirth());
+        dto.setGender(patient.getGender());
+        return dto;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -7,6 +7,9 @@ import com.MediHubAPI.model.Slot;
 import com.MediHubAPI.model.enums.AppointmentStatus;
 import com.MediHubAPI.model.enums.AppointmentType;
 import com.MediHubAPI.model.enums.SlotStatus;
+import com.MediHubAPI.monitoring.BookingMetrics;
+import com.MediHubAPI.monitoring.SlotOperationEvent;
+import com.MediHubAPI.query.SlotQueries;
 import com.MediHubAPI.repository.AppointmentRepository;
 import com.MediHubAPI.repository.SlotRepository;
 import com.MediHubAPI.repository.UserRepository;
@@ -20,8 +23,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -29,61 +35,91 @@ import java.util.Optional;
 public class SlotServiceImpl implements SlotService {
 
     private final SlotRepository slotRepository;
+    private final SlotQueries slotQueries;
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
+    private final BookingMetrics bookingMetrics;
 
     @Transactional
     public void shiftSlots(Long doctorId, SlotShiftRequestDto request) {
-        List<Slot> slots = slotRepository.findByDoctorIdAndDate(doctorId, request.getDate());
-        for (Slot slot : slots) {
-            slot.setStartTime(slot.getStartTime().plusMinutes(request.getShiftByMinutes()));
-            slot.setEndTime(slot.getEndTime().plusMinutes(request.getShiftByMinutes()));
+        SlotOperationEvent event = new SlotOperationEvent();
+        event.begin();
+        int rows = 0;
+        boolean succeeded = false;
+        try {
+            List<Slot> slots = slotRepository.findByDoctorIdAndDate(doctorId, request.getDate());
+            for (Slot slot : slots) {
+                slot.setStartTime(slot.getStartTime().plusMinutes(request.getShiftByMinutes()));
+                slot.setEndTime(slot.getEndTime().plusMinutes(request.getShiftByMinutes()));
+            }
+            rows = slots.size();
+            bookingMetrics.timeSlotWrite("shift", () -> slotRepository.saveAllAndFlush(slots));
+            bookingMetrics.slotOperation("shift", rows);
+            succeeded = true;
+        } finally {
+            commitSlotOperation(event, "shift", doctorId, request.getDate(), rows, succeeded);
         }
-        slotRepository.saveAll(slots);
+        bookingMetrics.slotShift(request.getShiftByMinutes());
         log.info("Doctor {} slots shifted by {} mins", doctorId, request.getShiftByMinutes());
     }
 
     @Transactional
     public void blockSlots(Long doctorId, SlotBlockRequestDto request) {
-        List<Slot> slots = slotRepository.findByDoctorIdAndDateAndStartTimeBetween(
-                doctorId, request.getDate(), request.getStartTime(), request.getEndTime());
-
-        for (Slot slot : slots) {
-            if (request.isCancelExisting() && slot.getAppointment() != null) {
-                Appointment appointment = slot.getAppointment();
-                appointment.setStatus(AppointmentStatus.CANCELLED);
-                appointmentRepository.save(appointment);
+        SlotOperationEvent event = new SlotOperationEvent();
+        event.begin();
+        int rows = 0;
+        boolean succeeded = false;
+        try {
+            List<Slot> slots = slotRepository.findByDoctorIdAndDateAndStartTimeBetween(
+                    doctorId, request.getDate(), request.getStartTime(), request.getEndTime());
+
+            for (Slot slot : slots) {
+                if (request.isCancelExisting() && slot.getAppointment() != null) {
+                    Appointment appointment = slot.getAppointment();
+                    appointment.setStatus(AppointmentStatus.CANCELLED);
+                    appointmentRepository.save(appointment);
+                }
+                slot.setStatus(SlotStatus.BLOCKED);
             }
-            slot.setStatus(SlotStatus.BLOCKED);
+            rows = slots.size();
+            bookingMetrics.timeSlotWrite("block", () -> slotRepository.saveAllAndFlush(slots));
+            bookingMetrics.slotOperation("block", rows);
+            succeeded = true;
+        } finally {
+            commitSlotOperation(event, "block", doctorId, request.getDate(), rows, succeeded);
         }
-        slotRepository.saveAll(slots);
-        log.info("Doctor {} blocked {} slots", doctorId, slots.size());
+        log.info("Doctor {} blocked {} slots", doctorId, rows);
     }
 
     @Transactional
     public void unblockSlots(Long doctorId, SlotUnblockRequestDto request) {
-        List<Slot> slots = slotRepository.findByDoctorIdAndDateAndStartTimeBetween(
-                doctorId, request.getDate(), request.getStartTime(), request.getEndTime());
-
-        for (Slot slot : slots) {
-            if (slot.getStatus() == SlotStatus.BLOCKED) {
-                slot.setStatus(SlotStatus.AVAILABLE);
+        SlotOperationEvent event = new SlotOperationEvent();
+        event.begin();
+        int rows = 0;
+        boolean succeeded = false;
+        try {
+            List<Slot> slots = slotRepository.findByDoctorIdAndDateAndStartTimeBetween(
+                    doctorId, request.getDate(), request.getStartTime(), request.getEndTime());
+
+            for (Slot slot : slots) {
+                if (slot.getStatus() == SlotStatus.BLOCKED) {
+                    slot.setStatus(SlotStatus.AVAILABLE);
+                }
             }
+            rows = slots.size();
+            bookingMetrics.timeSlotWrite("unblock", () -> slotRepository.saveAllAndFlush(slots));
+            bookingMetrics.slotOperation("unblock", rows);
+            succeeded = true;
+        } finally {
+            commitSlotOperation(event, "unblock", doctorId, request.getDate(), rows, succeeded);
         }
-        slotRepository.saveAll(slots);
-        log.info("Doctor {} unblocked {} slots", doctorId, slots.size());
+        log.info("Doctor {} unblocked {} slots", doctorId, rows);
     }
 
+    @Transactional(readOnly = true)
     public List<SlotStatusDto> getSlotStatuses(Long doctorId, LocalDate date) {
-        List<Slot> slots = slotRepository.findByDoctorIdAndDate(doctorId, date);
-        return slots.stream().map(slot -> SlotStatusDto.builder()
-                .startTime(slot.getStartTime())
-                .endTime(slot.getEndTime())
-                .status(slot.getStatus().name())
-                .type(slot.getType().name())
-                .color(slot.getStatus().getColorCode())
-                .build()).toList();
+        return slotQueries.statuses(doctorId, date);
     }
 
     @Transactional
@@ -109,15 +145,41 @@ public class SlotServiceImpl implements SlotService {
         appointment.setStatus(AppointmentStatus.BOOKED);
 
         slot.setAppointment(appointment);
-        slotRepository.save(slot);
+        bookingMetrics.timeSlotWrite("walk_in", () -> slotRepository.saveAndFlush(slot));
         return appointmentRepository.save(appointment);
     }
 
+    @Transactional(readOnly = true)
     public List<Slot> getEmergencySlots(Long doctorId, LocalDate date) {
         return slotRepository.findByDoctorIdAndDateAndStatusIn(
                 doctorId, date, List.of(SlotStatus.WALKIN, SlotStatus.AVAILABLE));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<Slot>> getEmergencySlots(Collection<Long> doctorIds, LocalDate date) {
+        if (doctorIds.isEmpty()) {
+            return Map.of();
+        }
+        return slotRepository.findWithAppointmentsByDoctorIdInAndDate(
+                        doctorIds, date, List.of(SlotStatus.WALKIN, SlotStatus.AVAILABLE))
+                .stream()
+                .collect(Collectors.groupingBy(slot -> slot.getDoctor().getId()));
+    }
+
+    private static void commitSlotOperation(SlotOperationEvent event, String operation, Long doctorId,
+                                            LocalDate date, int rows, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.doctorId = doctorId;
+            event.date = String.valueOf(date);
+            event.rowsAffected = rows;
+            event.outcome = succeeded ? "success" : "error";
+            event.commit();
+        }
+    }
+
     @Override
     public Slot getSlotByDoctorAndTime(Long doctorId, LocalDate appointmentDate, LocalTime slotTime) {
         log.debug("🔍 Fetching slot for doctorId={}, date={}, time={}", doctorId, appointmentDate, slotTime);
@@ -1,6 +1,7 @@
 package com.MediHubAPI.service.impl;
 
 import com.MediHubAPI.config.RolePermissionMatrix;
+import com.MediHubAPI.dto.CursorPage;
 import com.MediHubAPI.dto.UserCreateDto;
 import com.MediHubAPI.dto.UserDto;
 import com.MediHubAPI.exception.HospitalAPIException;
@@ -10,17 +11,25 @@ import com.MediHubAPI.factory.UserFactory;
 import com.MediHubAPI.model.ERole;
 import com.MediHubAPI.model.Role;
 import com.MediHubAPI.model.User;
-import com.MediHubAPI.repository.RoleRepository;
+import com.MediHubAPI.query.UserQueries;
+import com.MediHubAPI.reference.ReferenceDataRegistry;
 import com.MediHubAPI.repository.UserRepository;
 import com.MediHubAPI.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -31,16 +40,30 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final ModelMapper mapper;
     private final UserFactory userFactory;
-    @Autowired
-    private RoleRepository roleRepository;
+    private final UserQueries userQueries;
+    private final ObjectWriter exportWriter;
+    private final ReferenceDataRegistry referenceData;
+    private final PasswordEncoder passwordEncoder;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
 
 
     public UserServiceImpl(UserRepository userRepository,
                            ModelMapper mapper,
-                           UserFactory userFactory) {
+                           UserFactory userFactory,
+                           UserQueries userQueries,
+                           ReferenceDataRegistry referenceData,
+                           PasswordEncoder passwordEncoder,
+                           ObjectMapper objectMapper) {
         this.userRepository = userRepository;
         this.mapper = mapper;
         this.userFactory = userFactory;
+        this.userQueries = userQueries;
+        this.referenceData = referenceData;
+        this.passwordEncoder = passwordEncoder;
+        // flushed once per chunk instead of after every user
+        this.exportWriter = objectMapper.writerFor(UserDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Override
@@ -132,15 +155,50 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public List<UserDto> getAllUsers() {
-        return userRepository.findAll()
+        return userRepository.findAllWithRolesAndSpecialization()
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<UserDto> getUsersAfter(Long afterId, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new HospitalAPIException(HttpStatus.BAD_REQUEST,
+                    "Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return userQueries.page(afterId != null ? afterId : 0L, size);
+    }
+
+    /**
+     * Writes every user as one JSON object per line (NDJSON). The caller owns {@code out}.
+     */
+    @Override
+    public long exportUsers(OutputStream out) throws IOException {
+        JsonGenerator generator = exportWriter.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            return userQueries.stream(chunk -> {
+                try {
+                    for (UserDto user : chunk) {
+                        exportWriter.writeValue(generator, user);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            generator.close();
+        }
+    }
+
     @Override
     public UserDto getUserById(Long id) {
-        User user = userRepository.findById(id)
+        User user = userRepository.findWithRolesAndSpecializationById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         return mapToDTO(user);
     }
@@ -153,6 +211,16 @@ public class UserServiceImpl implements UserService {
         userRepository.save(user);
     }
 
+    /** Sets a new password, e.g. for an imported patient account created without a usable one. */
+    @Override
+    public void updateUserPassword(Long userId, String password) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        user.setPassword(passwordEncoder.encode(password));
+        userRepository.save(user);
+    }
+
     @Override
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
@@ -178,7 +246,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
         Set<Role> roleEntities = roles.stream()
-                .map(erole -> roleRepository.findByName(erole)
+                .map(erole -> referenceData.findRole(erole)
                         .orElseThrow(() -> new ResourceNotFoundException("Role", "name", erole.name())))
                 .collect(Collectors.toSet());
 
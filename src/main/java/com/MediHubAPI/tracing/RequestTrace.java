@@ -0,0 +1,91 @@
+package com.MediHubAPI.tracing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Span tree of one HTTP request, built on the request thread. Spans beyond {@code maxSpans} are
+ * counted in {@link #getDroppedSpans()} instead of recorded, so an N+1 cannot blow up the heap.
+ */
+@Getter
+public class RequestTrace {
+
+    private final String requestId;
+    private final String method;
+    private String uri;
+    private int status;
+    private final Instant startedAt = Instant.now();
+    private final Span root;
+    private int spanCount = 1;
+    private int droppedSpans;
+    @JsonIgnore
+    private final int maxSpans;
+    @JsonIgnore
+    private final Deque<Span> open = new ArrayDeque<>();
+
+    RequestTrace(String requestId, String method, String uri, int maxSpans) {
+        this.requestId = requestId;
+        this.method = method;
+        this.uri = uri;
+        this.maxSpans = maxSpans;
+        this.root = new Span(this, null, "http", method + " " + uri, System.nanoTime());
+        open.push(root);
+    }
+
+    Span push(String kind, String name) {
+        if (spanCount >= maxSpans) {
+            droppedSpans++;
+            return Span.NOOP;
+        }
+        Span parent = open.peek();
+        Span span = new Span(this, parent, kind, name, System.nanoTime());
+        parent.getChildren().add(span);
+        open.push(span);
+        spanCount++;
+        return span;
+    }
+
+    void pop(Span span) {
+        // tolerate spans closed out of order: unwind to the span being closed
+        while (!open.isEmpty()) {
+            if (open.pop() == span) {
+                return;
+            }
+        }
+    }
+
+    void finish(String uri, int status) {
+        this.uri = uri;
+        this.status = status;
+        root.close();
+    }
+
+    public long getDurationMillis() {
+        return root.durationNanos() / 1_000_000;
+    }
+
+    /** Where the time went: self time per span kind in milliseconds, largest first. */
+    public Map<String, Double> getSelfTimeByKind() {
+        Map<String, Long> nanos = new TreeMap<>();
+        accumulate(root, nanos);
+        Map<String, Double> millis = new LinkedHashMap<>();
+        nanos.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> millis.put(e.getKey(), e.getValue() / 1_000_000.0));
+        return millis;
+    }
+
+    private static void accumulate(Span span, Map<String, Long> nanos) {
+        nanos.merge(span.getKind(), span.selfNanos(), Long::sum);
+        for (Span child : span.getChildren()) {
+            accumulate(child, nanos);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.MediHubAPI.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/slowtraces} lists the slowest recorded requests with their time per span kind;
+ * {@code /actuator/slowtraces/{requestId}} returns the full span tree of one of them.
+ */
+@Endpoint(id = "slowtraces")
+@RequiredArgsConstructor
+public class SlowTracesEndpoint {
+
+    private final TraceRecorder recorder;
+
+    @ReadOperation
+    public List<Map<String, Object>> slowest() {
+        return recorder.slowest().stream().map(SlowTracesEndpoint::summary).toList();
+    }
+
+    @ReadOperation
+    public RequestTrace trace(@Selector String requestId) {
+        return recorder.find(requestId).orElse(null);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        recorder.clear();
+    }
+
+    private static Map<String, Object> summary(RequestTrace trace) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requestId", trace.getRequestId());
+        summary.put("method", trace.getMethod());
+        summary.put("uri", trace.getUri());
+        summary.put("status", trace.getStatus());
+        summary.put("startedAt", trace.getStartedAt());
+        summary.put("durationMillis", trace.getDurationMillis());
+        summary.put("spanCount", trace.getSpanCount());
+        summary.put("droppedSpans", trace.getDroppedSpans());
+        summary.put("selfTimeByKind", trace.getSelfTimeByKind());
+        return summary;
+    }
+}
@@ -0,0 +1,66 @@
+package com.MediHubAPI.tracing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One timed step of a {@link RequestTrace}: the filter chain, JWT authentication, a controller,
+ * service or repository method, or a single SQL execution. Close it to end the step.
+ */
+@Getter
+public class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, null, "noop", "noop", 0);
+
+    private final String kind;
+    private final String name;
+    private final List<Span> children = new ArrayList<>();
+    @JsonIgnore
+    private final RequestTrace trace;
+    @JsonIgnore
+    private final Span parent;
+    @JsonIgnore
+    private final long startNanos;
+    @JsonIgnore
+    private long endNanos;
+
+    Span(RequestTrace trace, Span parent, String kind, String name, long startNanos) {
+        this.trace = trace;
+        this.parent = parent;
+        this.kind = kind;
+        this.name = name;
+        this.startNanos = startNanos;
+    }
+
+    public long getStartOffsetMicros() {
+        return trace != null ? (startNanos - trace.getRoot().startNanos) / 1_000 : 0;
+    }
+
+    public long getDurationMicros() {
+        return durationNanos() / 1_000;
+    }
+
+    long durationNanos() {
+        return (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    /** Own time, i.e. not spent in child spans. */
+    long selfNanos() {
+        long self = durationNanos();
+        for (Span child : children) {
+            self -= child.durationNanos();
+        }
+        return Math.max(0, self);
+    }
+
+    @Override
+    public void close() {
+        if (trace != null && endNanos == 0) {
+            endNanos = System.nanoTime();
+            trace.pop(this);
+        }
+    }
+}
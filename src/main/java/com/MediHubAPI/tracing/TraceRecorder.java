@@ -0,0 +1,48 @@
+package com.MediHubAPI.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the slowest N finished traces: a min-heap on duration, so a new trace only gets in by
+ * evicting the fastest one kept.
+ */
+public class TraceRecorder {
+
+    private static final Comparator<RequestTrace> BY_DURATION = Comparator.comparingLong(RequestTrace::getDurationMillis);
+
+    private final int capacity;
+    private final PriorityQueue<RequestTrace> slowest;
+
+    public TraceRecorder(int capacity) {
+        this.capacity = capacity;
+        this.slowest = new PriorityQueue<>(capacity + 1, BY_DURATION);
+    }
+
+    public synchronized void record(RequestTrace trace) {
+        if (slowest.size() < capacity) {
+            slowest.add(trace);
+        } else if (!slowest.isEmpty() && trace.getDurationMillis() > slowest.peek().getDurationMillis()) {
+            slowest.poll();
+            slowest.add(trace);
+        }
+    }
+
+    /** Slowest first. */
+    public synchronized List<RequestTrace> slowest() {
+        List<RequestTrace> traces = new ArrayList<>(slowest);
+        traces.sort(BY_DURATION.reversed());
+        return traces;
+    }
+
+    public synchronized Optional<RequestTrace> find(String requestId) {
+        return slowest.stream().filter(t -> t.getRequestId().equals(requestId)).findFirst();
+    }
+
+    public synchronized void clear() {
+        slowest.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package com.MediHubAPI.tracing;
+
+/**
+ * Entry point for in-process tracing. The {@link TracingFilter} opens a {@link RequestTrace} per
+ * request; everything below it calls {@link #span(String, String)} in a try-with-resources block.
+ * Outside a traced request the returned span is a no-op.
+ */
+public final class Tracer {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private Tracer() {
+    }
+
+    public static Span span(String kind, String name) {
+        RequestTrace trace = CURRENT.get();
+        return trace != null ? trace.push(kind, name) : Span.NOOP;
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    static RequestTrace begin(String requestId, String method, String uri, int maxSpans) {
+        RequestTrace trace = new RequestTrace(requestId, method, uri, maxSpans);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,45 @@
+package com.MediHubAPI.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Opens a span for every controller, service and Spring Data repository call made inside a
+ * traced request.
+ */
+@Aspect
+public class TracingAspect {
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("controller", joinPoint);
+    }
+
+    @Around("within(com.MediHubAPI.service..*) && execution(public * *(..))")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("service", joinPoint);
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (Tracer.current() == null) {
+            return joinPoint.proceed();
+        }
+        Class<?>[] interfaces = joinPoint.getTarget().getClass().getInterfaces();
+        String repository = interfaces.length > 0 ? interfaces[0].getSimpleName() : "Repository";
+        try (Span ignored = Tracer.span("repository", repository + "." + joinPoint.getSignature().getName())) {
+            return joinPoint.proceed();
+        }
+    }
+
+    private static Object trace(String kind, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (Tracer.current() == null) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        try (Span ignored = Tracer.span(kind, name)) {
+            return joinPoint.proceed();
+        }
+    }
+}
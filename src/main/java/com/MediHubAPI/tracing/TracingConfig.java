@@ -0,0 +1,39 @@
+package com.MediHubAPI.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public TraceRecorder traceRecorder(TracingProperties properties) {
+        return new TraceRecorder(properties.getSlowestCapacity());
+    }
+
+    // Only the span tree needs the aspect; with tracing off, no advice wraps controllers, services or repositories
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TracingAspect tracingAspect() {
+        return new TracingAspect();
+    }
+
+    @Bean
+    public SlowTracesEndpoint slowTracesEndpoint(TraceRecorder recorder) {
+        return new SlowTracesEndpoint(recorder);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(TracingProperties properties, TraceRecorder recorder) {
+        FilterRegistrationBean<TracingFilter> registration =
+                new FilterRegistrationBean<>(new TracingFilter(properties, recorder));
+        // outermost: the request id must be in the MDC before anything else logs
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 30);
+        return registration;
+    }
+}
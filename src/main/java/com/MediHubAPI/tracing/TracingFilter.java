@@ -0,0 +1,65 @@
+package com.MediHubAPI.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Outermost filter: assigns the request id (an incoming {@code X-Request-ID} is kept when it is up to
+ * 64 letters, digits and dashes, so it cannot forge log lines or headers), puts it in
+ * the MDC and the response, and records the request's span tree into the {@link TraceRecorder}.
+ */
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-ID";
+    public static final String REQUEST_ID_MDC = "requestId";
+    public static final String REQUEST_ID_ATTRIBUTE = TracingFilter.class.getName() + ".requestId";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private final TracingProperties properties;
+    private final TraceRecorder recorder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requestId = requestId(request);
+        request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_MDC, requestId);
+
+        RequestTrace trace = properties.isEnabled()
+                ? Tracer.begin(requestId, request.getMethod(), request.getRequestURI(), properties.getMaxSpans())
+                : null;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID_MDC);
+            if (trace != null) {
+                Tracer.end();
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                trace.finish(pattern != null ? pattern.toString() : request.getRequestURI(), response.getStatus());
+                recorder.record(trace);
+            }
+        }
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        String incoming = request.getHeader(REQUEST_ID_HEADER);
+        if (incoming != null && VALID_REQUEST_ID.matcher(incoming).matches()) {
+            return incoming;
+        }
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.MediHubAPI.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    /** Builds a span tree per request; the request id and MDC are set either way. */
+    private boolean enabled = true;
+
+    /** How many of the slowest traces are kept for /actuator/slowtraces. */
+    private int slowestCapacity = 50;
+
+    /** Span cap per trace; further spans are only counted. */
+    private int maxSpans = 2_000;
+}
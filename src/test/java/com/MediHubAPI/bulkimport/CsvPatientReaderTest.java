@@ -0,0 +1,111 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.exception.HospitalAPIException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvPatientReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void byteOrderMarkIsNotPartOfTheFirstColumn() throws IOException {
+        List<PatientRecord> records = read("﻿firstName,lastName\r\nRavi,Shah\r\n");
+
+        assertEquals(1, records.size());
+        assertEquals("Ravi", records.get(0).dto.getFirstName());
+        assertEquals("Shah", records.get(0).dto.getLastName());
+    }
+
+    @Test
+    void quotedFieldsFollowRfc4180() throws IOException {
+        List<PatientRecord> records = read("""
+                firstName,lastName,address.city
+                "Ravi, Jr.","O""Brien","Mumbai"
+                Asha,"multi
+                line",Pune
+                Meera,Nair,Delhi
+                """);
+
+        assertEquals(3, records.size());
+        assertEquals("Ravi, Jr.", records.get(0).dto.getFirstName());
+        assertEquals("O\"Brien", records.get(0).dto.getLastName());
+        assertEquals("Mumbai", records.get(0).dto.getAddress().getCity());
+        assertEquals("multi\nline", records.get(1).dto.getLastName());
+        // line numbers count physical lines, so the row after the two-line field starts on line 5
+        assertEquals(2, records.get(0).line);
+        assertEquals(3, records.get(1).line);
+        assertEquals(5, records.get(2).line);
+    }
+
+    @Test
+    void emptyCellsAreAbsentAndBlankLinesAreSkipped() throws IOException {
+        List<PatientRecord> records = read("firstName,lastName,email\nRavi,,  \n\nAsha,Rao,\n");
+
+        assertEquals(2, records.size());
+        assertNull(records.get(0).dto.getLastName());
+        assertNull(records.get(0).dto.getEmail());
+        assertEquals("Rao", records.get(1).dto.getLastName());
+    }
+
+    @Test
+    void wrongColumnCountIsAMalformedRecordNotAFailure() throws IOException {
+        List<PatientRecord> records = read("firstName,lastName\nRavi\nAsha,Rao\n");
+
+        assertEquals("Expected 2 columns but found 1", records.get(0).error);
+        assertEquals("Asha", records.get(1).dto.getFirstName());
+    }
+
+    @Test
+    void recordLongerThanTheCapFailsTheStream() {
+        String unbalanced = "firstName,lastName\n\"Ravi," + "x".repeat(PatientRecordReader.MAX_RECORD_CHARS) + "\n";
+
+        IOException e = assertThrows(IOException.class, () -> read(unbalanced));
+        assertTrue(e.getMessage().contains("exceeds " + PatientRecordReader.MAX_RECORD_CHARS), e.getMessage());
+    }
+
+    @Test
+    void recordJustUnderTheCapIsRead() throws IOException {
+        // the terminating newline counts towards the record
+        String name = "x".repeat(PatientRecordReader.MAX_RECORD_CHARS - 1);
+
+        List<PatientRecord> records = read("firstName\n" + name + "\n");
+
+        assertEquals(name, records.get(0).dto.getFirstName());
+    }
+
+    @Test
+    void unknownOrDuplicateColumnsAreRejectedUpFront() {
+        assertBadHeader("firstName,favouriteColour\n", "Invalid header: Unknown field: favouriteColour");
+        assertBadHeader("firstName,firstName\n", "Duplicate column: firstName");
+        assertBadHeader("firstName,,lastName\n", "Column 2 has no name");
+        assertBadHeader("", "Import file is empty");
+    }
+
+    private void assertBadHeader(String csv, String message) {
+        HospitalAPIException e = assertThrows(HospitalAPIException.class, () -> read(csv));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        assertEquals(message, e.getMessage());
+    }
+
+    private List<PatientRecord> read(String csv) throws IOException {
+        List<PatientRecord> records = new ArrayList<>();
+        try (PatientRecordReader reader = PatientRecordReader.open(ImportFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), objectMapper)) {
+            PatientRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
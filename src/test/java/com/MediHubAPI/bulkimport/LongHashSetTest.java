@@ -0,0 +1,73 @@
+package com.MediHubAPI.bulkimport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void addReportsWhetherTheValueWasNew() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.add(-42));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(42));
+        assertTrue(set.contains(-42));
+        assertFalse(set.contains(43));
+    }
+
+    @Test
+    void growsPastItsInitialCapacityWithoutLosingValues() {
+        LongHashSet set = new LongHashSet(1);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+        while (expected.size() < 10_000) {
+            long value = random.nextLong();
+            if (value != 0) {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long value : expected) {
+            assertTrue(set.contains(value));
+        }
+        assertFalse(set.contains(1));
+    }
+
+    @Test
+    void collidingSlotsAreProbedLinearly() {
+        // multiples of a large power of two share their low bits before mixing
+        LongHashSet set = new LongHashSet(16);
+        for (long i = 1; i <= 20; i++) {
+            assertTrue(set.add(i << 40));
+        }
+        for (long i = 1; i <= 20; i++) {
+            assertTrue(set.contains(i << 40));
+        }
+        assertFalse(set.contains(21L << 40));
+    }
+
+    @Test
+    void zeroIsReservedForEmptySlots() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(0));
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    void hashIsSeededAndNeverZero() {
+        assertEquals(LongHashSet.hash("ABC", 1), LongHashSet.hash("ABC", 1));
+        assertNotEquals(LongHashSet.hash("ABC", 1), LongHashSet.hash("ABC", 2));
+        assertNotEquals(LongHashSet.hash("ABC", 1), LongHashSet.hash("ABD", 1));
+        assertNotEquals(0, LongHashSet.hash("", 0xcbf29ce484222325L));
+    }
+}
@@ -0,0 +1,175 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.bulkimport.PatientImportReport.Issue;
+import com.MediHubAPI.bulkimport.PatientImportReport.IssueKind;
+import com.MediHubAPI.model.Patient;
+import com.MediHubAPI.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Chunk writes against a bare H2 schema; {@code first_name} is capped at 20 characters so a
+ * single row can be made to fail its batch.
+ */
+class PatientImportWriterTest {
+
+    private static final int PATIENT_ROLE_ID = 2;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbc;
+    private Connection connection;
+    private final List<Long> committedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("patient-import-" + UUID.randomUUID())
+                .build();
+        jdbc = new JdbcTemplate(database);
+        jdbc.execute("""
+                CREATE TABLE patients (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(16),
+                    first_name VARCHAR(20), last_name VARCHAR(64), mobile_number VARCHAR(32),
+                    landline_number VARCHAR(32), file_number VARCHAR(32), date_of_birth DATE, age_years INT,
+                    age_months INT, age_days INT, sex VARCHAR(16), marital_status VARCHAR(16),
+                    mother_tongue VARCHAR(32), govt_id_type VARCHAR(32), govt_id_number VARCHAR(32),
+                    other_hospital_ids VARCHAR(64), email VARCHAR(128), updated_at TIMESTAMP)
+                """);
+        jdbc.execute("CREATE TABLE referrers (referrer_type VARCHAR(32), referrer_name VARCHAR(64), "
+                + "referrer_number VARCHAR(32), referrer_email VARCHAR(64), consulting_dept VARCHAR(64), "
+                + "consulting_doctor VARCHAR(64), main_complaint VARCHAR(255), patient_id BIGINT)");
+        jdbc.execute("CREATE TABLE patient_addresses (address VARCHAR(255), area VARCHAR(64), city VARCHAR(64), "
+                + "pin_code VARCHAR(16), state VARCHAR(64), country VARCHAR(64), nationality VARCHAR(64), "
+                + "international_patient BOOLEAN, patient_id BIGINT)");
+        jdbc.execute("CREATE TABLE patient_photos (file_path VARCHAR(255), patient_id BIGINT)");
+        jdbc.execute("CREATE TABLE patient_details (blood_group VARCHAR(8), father_name VARCHAR(64), "
+                + "mother_name VARCHAR(64), spouse_name VARCHAR(64), alternate_contact VARCHAR(32), "
+                + "education VARCHAR(64), occupation VARCHAR(64), religion VARCHAR(64), ivr_language VARCHAR(32), "
+                + "birth_weight VARCHAR(16), patient_id BIGINT)");
+        jdbc.execute("CREATE TABLE patient_notes (needs_attention BOOLEAN, notes VARCHAR(255), patient_id BIGINT)");
+        jdbc.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(64), "
+                + "email VARCHAR(128), password VARCHAR(128), first_name VARCHAR(64), last_name VARCHAR(64), "
+                + "enabled BOOLEAN, activation_date DATE)");
+        jdbc.execute("CREATE TABLE user_roles (user_id BIGINT, role_id INT, activation_date DATE)");
+        connection = database.getConnection();
+        connection.setAutoCommit(false);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+        database.shutdown();
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRowAndOnlyTheBadRowIsReported() throws SQLException {
+        PatientImportReport report = report();
+        try (PatientImportWriter writer = writer(report, null)) {
+            writer.write(List.of(
+                    record(2, "Ravi", "F-1"),
+                    record(3, "A-name-far-longer-than-twenty", "F-2"),
+                    record(4, "Asha", "F-3")), false);
+        }
+
+        assertEquals(List.of("Ravi", "Asha"), jdbc.queryForList("SELECT first_name FROM patients ORDER BY id", String.class));
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        Issue issue = report.getIssues().get(0);
+        assertEquals(3, issue.getLine());
+        assertEquals(IssueKind.FAILED, issue.getKind());
+        assertEquals(2, committedIds.size());
+    }
+
+    @Test
+    void chunkWhereEveryRowFailsStopsTheImport() {
+        PatientImportReport report = report();
+
+        assertThrows(SQLException.class, () -> {
+            try (PatientImportWriter writer = writer(report, null)) {
+                writer.write(List.of(
+                        record(2, "A-name-far-longer-than-twenty", "F-1"),
+                        record(3, "Another-name-longer-than-twenty", "F-2")), false);
+            }
+        });
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM patients", Integer.class));
+        assertEquals(2, report.getFailed());
+    }
+
+    @Test
+    void duplicatesOfCommittedAndSameChunkRowsAreSkipped() throws SQLException {
+        PatientImportReport report = report();
+        try (PatientImportWriter writer = writer(report, null)) {
+            writer.write(List.of(record(2, "Ravi", "F-1"), record(3, "Ravi", "f 1")), false);
+            writer.write(List.of(record(4, "Asha", "F-1"), record(5, "Asha", "F-2")), false);
+        }
+
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(List.of(3L, 4L), report.getIssues().stream().map(Issue::getLine).toList());
+    }
+
+    @Test
+    void importedAccountsGetDistinctUnusablePasswords() throws SQLException {
+        PatientImportReport report = report();
+        try (PatientImportWriter writer = writer(report, PATIENT_ROLE_ID)) {
+            writer.write(List.of(withAccount(record(2, "Ravi", "F-1")), withAccount(record(3, "Asha", "F-2"))), false);
+        }
+
+        List<String> passwords = jdbc.queryForList("SELECT password FROM users", String.class);
+        assertEquals(2, passwords.size());
+        assertNotEquals(passwords.get(0), passwords.get(1));
+        for (String password : passwords) {
+            assertTrue(password.startsWith(PatientImportWriter.UNUSABLE_PASSWORD_PREFIX), password);
+            assertFalse(password.startsWith("$2"), "must never be a BCrypt hash");
+        }
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM user_roles WHERE role_id = ?", Integer.class,
+                PATIENT_ROLE_ID));
+        assertEquals(2, report.getAccountsCreated());
+    }
+
+    private PatientImportWriter writer(PatientImportReport report, Integer roleId) throws SQLException {
+        PatientKeyIndex index = PatientKeyIndex.load(connection, 100);
+        return new PatientImportWriter(connection, index, report, 10, roleId, 100,
+                patients -> patients.forEach(p -> committedIds.add(p.getId())),
+                patient -> List.of());
+    }
+
+    private static PatientImportReport report() {
+        return new PatientImportReport(ImportFormat.CSV, false, false, 100);
+    }
+
+    private static ValidatedRecord record(long line, String firstName, String fileNumber) {
+        Patient patient = new Patient();
+        patient.setFirstName(firstName);
+        patient.setLastName("Test");
+        patient.setFileNumber(fileNumber);
+        patient.setEmail(firstName.toLowerCase() + "@example.com");
+        long[] keys = PatientKeyIndex.keysOf(fileNumber, null, null, firstName);
+        return ValidatedRecord.valid(line, patient, null, keys);
+    }
+
+    private static ValidatedRecord withAccount(ValidatedRecord record) {
+        User account = new User();
+        account.setUsername(record.patient.getFirstName().toLowerCase());
+        account.setEmail(record.patient.getEmail());
+        account.setFirstName(record.patient.getFirstName());
+        account.setLastName(record.patient.getLastName());
+        account.setEnabled(true);
+        account.setActivationDate(LocalDate.of(2025, 1, 1));
+        return ValidatedRecord.valid(record.line, record.patient, account, record.keys);
+    }
+}
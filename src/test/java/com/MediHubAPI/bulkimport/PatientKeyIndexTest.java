@@ -0,0 +1,89 @@
+package com.MediHubAPI.bulkimport;
+
+import com.MediHubAPI.bulkimport.PatientKeyIndex.Kind;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientKeyIndexTest {
+
+    @Test
+    void fileAndGovtIdIgnoreCaseSpacesAndPunctuation() throws SQLException {
+        PatientKeyIndex index = load(new String[]{"MRN-0042", "ab 1234 cd", null, null});
+
+        assertEquals(Kind.FILE_NUMBER, index.findDuplicate(PatientKeyIndex.keysOf("mrn 0042", null, null, null)));
+        assertEquals(Kind.GOVT_ID, index.findDuplicate(PatientKeyIndex.keysOf(null, "AB-1234-CD", null, null)));
+        assertNull(index.findDuplicate(PatientKeyIndex.keysOf("MRN-0043", "AB1234CE", null, null)));
+    }
+
+    @Test
+    void mobileMatchesOnTheLastTenDigitsAndTheFirstName() throws SQLException {
+        PatientKeyIndex index = load(new String[]{null, null, "+91 98200 12345", "Ravi"});
+
+        assertEquals(Kind.MOBILE, index.findDuplicate(PatientKeyIndex.keysOf(null, null, "098200-12345", "RAVI")));
+        // a family sharing one phone: same number, different first name
+        assertNull(index.findDuplicate(PatientKeyIndex.keysOf(null, null, "9820012345", "Asha")));
+    }
+
+    @Test
+    void tooShortOrMissingValuesAreNotKeys() {
+        long[] keys = PatientKeyIndex.keysOf("", null, "12345", "Ravi");
+
+        assertArrayEquals(new long[3], keys);
+        assertArrayEquals(new long[3], PatientKeyIndex.keysOf(null, null, "9820012345", " - "));
+    }
+
+    @Test
+    void equalValuesOfDifferentKindsDoNotCollide() throws SQLException {
+        PatientKeyIndex index = load(new String[]{"12345", null, null, null});
+
+        assertNull(index.findDuplicate(PatientKeyIndex.keysOf(null, "12345", null, null)));
+    }
+
+    @Test
+    void pendingKeysCatchRepeatsWithinAChunkUntilCommitted() throws SQLException {
+        PatientKeyIndex index = load();
+        long[] first = PatientKeyIndex.keysOf("F-1", null, "9820012345", "Ravi");
+        long[] repeat = PatientKeyIndex.keysOf("F-2", null, "9820012345", "Ravi");
+
+        PatientKeyIndex.Pending chunk = index.pending();
+        assertNull(chunk.findDuplicate(first));
+        chunk.add(first);
+        assertEquals(Kind.MOBILE, chunk.findDuplicate(repeat));
+
+        // a rolled-back chunk never reaches the index, so the next chunk starts clean
+        assertNull(index.pending().findDuplicate(repeat));
+        index.add(first);
+        assertEquals(Kind.FILE_NUMBER, index.pending().findDuplicate(first));
+        assertEquals(2, index.size());
+    }
+
+    /** Loads an index over a patients table holding one row per {fileNumber, govtId, mobile, firstName}. */
+    private static PatientKeyIndex load(String[]... patients) throws SQLException {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("patient-keys-" + UUID.randomUUID())
+                .build();
+        try {
+            JdbcTemplate jdbc = new JdbcTemplate(database);
+            jdbc.execute("CREATE TABLE patients (file_number VARCHAR(32), govt_id_number VARCHAR(32), "
+                    + "mobile_number VARCHAR(32), first_name VARCHAR(64))");
+            for (String[] patient : patients) {
+                jdbc.update("INSERT INTO patients VALUES (?, ?, ?, ?)", (Object[]) patient);
+            }
+            try (Connection connection = database.getConnection()) {
+                return PatientKeyIndex.load(connection, 100);
+            }
+        } finally {
+            database.shutdown();
+        }
+    }
+}
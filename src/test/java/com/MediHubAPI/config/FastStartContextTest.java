@@ -0,0 +1,47 @@
+package com.MediHubAPI.config;
+
+import com.MediHubAPI.bulkimport.PatientImportService;
+import com.MediHubAPI.monitoring.BookingMetrics;
+import com.MediHubAPI.photo.PhotoGarbageCollector;
+import com.MediHubAPI.search.PatientSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code fast-start} profile creates beans on first use; beans owning a {@code @Scheduled} job
+ * must still be created at startup, or the job never runs.
+ */
+@SpringBootTest(properties = {
+        // own database, so create-drop here cannot wipe the shared h2 context's data
+        "spring.datasource.url=jdbc:h2:mem:fast-start;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE,TYPE,VALUE,USER;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@ActiveProfiles({"fast-start", "h2"})
+class FastStartContextTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void scheduledBeansAreCreatedAtStartup() {
+        for (Class<?> type : new Class<?>[]{PhotoGarbageCollector.class, BookingMetrics.class, PatientSearchIndex.class}) {
+            assertTrue(isCreated(type), type.getSimpleName() + " was not created");
+        }
+    }
+
+    @Test
+    void otherBeansWaitForFirstUse() {
+        assertFalse(isCreated(PatientImportService.class));
+    }
+
+    private boolean isCreated(Class<?> type) {
+        String[] names = context.getBeanNamesForType(type, false, false);
+        assertEquals(1, names.length, type.getSimpleName());
+        return context.getBeanFactory().containsSingleton(names[0]);
+    }
+}
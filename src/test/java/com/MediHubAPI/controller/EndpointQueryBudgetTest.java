@@ -0,0 +1,121 @@
+package com.MediHubAPI.controller;
+
+import com.MediHubAPI.dataset.GeneratedDataset;
+import com.MediHubAPI.perf.QueryBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement and allocation budgets for the read-heavy endpoints, measured on a generated
+ * {@code SMALL} dataset in H2. A failure here usually means an N+1 crept back in: the assertion
+ * message lists the most repeated statement shapes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@WithMockUser(username = "superadmin1", authorities = "ROLE_SUPER_ADMIN")
+class EndpointQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // entity listings run on fetch plans: a doctors page (plus its count when not the last page),
+    // then one query for all of the page's slots or, for the search, one batch of roles
+    @Test
+    @QueryBudget(statements = 3, allocatedBytes = 2_500_000)
+    void doctorSchedulesPage(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/appointments/doctor-schedules/paged")
+                        .param("date", dataset.getAnchorDate().toString())
+                        .param("page", "0")
+                        .param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 3, allocatedBytes = 1_500_000)
+    void doctorSearchPage(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/doctors")
+                        .param("page", "0")
+                        .param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 1, allocatedBytes = 12_000_000)
+    void usersWithRoles(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/api/users/users-with-roles"))
+                .andExpect(status().isOk());
+    }
+
+    // projected listings: one select, plus a count when the page is not the last one
+    @Test
+    @QueryBudget(statements = 1, allocatedBytes = 1_000_000)
+    void doctorAppointmentsForDay(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/appointments/" + dataset.getDoctorIds().get(0))
+                        .param("date", dataset.getAnchorDate().toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 2, allocatedBytes = 1_000_000)
+    void patientAppointmentsPage(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/appointments/patient/" + dataset.getPatientUserIds().get(0))
+                        .param("page", "0")
+                        .param("size", "20"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 2, allocatedBytes = 1_500_000)
+    void filteredAppointmentsPage(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/appointments")
+                        .param("range", "WEEK")
+                        .param("page", "0")
+                        .param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 1, allocatedBytes = 1_000_000)
+    void slotStatusesForDay(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/api/slots/status")
+                        .param("doctorId", dataset.getDoctorIds().get(0).toString())
+                        .param("date", dataset.getAnchorDate().toString()))
+                .andExpect(status().isOk());
+    }
+
+    // patient profile sections are mappedBy one-to-ones: one select only if the query fetches all five
+    @Test
+    @QueryBudget(statements = 1, allocatedBytes = 1_000_000)
+    void patientProfile(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/api/patients/" + dataset.getPatientIds().get(0)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 2, allocatedBytes = 1_000_000)
+    void patientSearchPage(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/api/patients")
+                        .param("page", "0")
+                        .param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    // answered from the in-memory index, which the dataset generator rebuilds after loading
+    @Test
+    @QueryBudget(statements = 0, allocatedBytes = 500_000)
+    void patientTypeahead(GeneratedDataset dataset) throws Exception {
+        mockMvc.perform(get("/api/patients/typeahead")
+                        .param("q", "arj")
+                        .param("limit", "10"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,121 @@
+package com.MediHubAPI.controller;
+
+import com.MediHubAPI.exception.ResourceNotFoundException;
+import com.MediHubAPI.photo.PhotoStore;
+import com.MediHubAPI.photo.PhotoStoreProperties;
+import com.MediHubAPI.photo.StoredPhoto;
+import com.MediHubAPI.photo.ThumbnailCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhotoControllerTest {
+
+    @TempDir
+    Path root;
+
+    private PhotoController controller;
+    private StoredPhoto photo;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PhotoStoreProperties properties = new PhotoStoreProperties();
+        properties.setRoot(root.toString());
+        PhotoStore store = new PhotoStore(properties);
+        controller = new PhotoController(store, new ThumbnailCache(1024 * 1024));
+
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB), "jpg", jpeg);
+        photo = store.store(new ByteArrayInputStream(jpeg.toByteArray()));
+        etag = "\"" + photo.getKey().substring(0, 64) + "\"";
+    }
+
+    @Test
+    void servesThePhotoWithItsKeyAsStrongETag() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getPhoto(photo.getKey(), new MockHttpServletRequest("GET", PhotoStore.url(photo.getKey())), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+        assertEquals(photo.getSizeBytes(), response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void aMatchingIfNoneMatchGets304WithoutABody() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PhotoStore.url(photo.getKey()));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getPhoto(photo.getKey(), request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void aStaleIfNoneMatchGetsThePhoto() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PhotoStore.url(photo.getKey()));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + "0".repeat(64) + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getPhoto(photo.getKey(), request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(photo.getSizeBytes(), response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void thumbnailsHaveTheirOwnETag() {
+        String thumbnailEtag = "\"" + photo.getKey().substring(0, 64) + "-thumb\"";
+        ResponseEntity<byte[]> first = controller.getThumbnail(photo.getKey(), webRequest(null));
+        assertEquals(200, first.getStatusCode().value());
+        assertEquals(thumbnailEtag, first.getHeaders().getETag());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<byte[]> second = controller.getThumbnail(photo.getKey(), webRequest(thumbnailEtag, response));
+
+        assertNull(second);
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void unknownAndMalformedKeysAre404() {
+        String unknown = "0".repeat(64) + ".jpg";
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.getPhoto(unknown, new MockHttpServletRequest(), new MockHttpServletResponse()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> controller.getPhoto("../secret.jpg", new MockHttpServletRequest(), new MockHttpServletResponse()));
+        assertThrows(ResourceNotFoundException.class, () -> controller.getThumbnail("nope", webRequest(null)));
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        return webRequest(ifNoneMatch, new MockHttpServletResponse());
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/photos/x/thumbnail");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -0,0 +1,48 @@
+package com.MediHubAPI.exception;
+
+import com.MediHubAPI.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ErrorBodyCacheTest {
+
+    // Same settings as application.properties: ISO dates in UTC
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .timeZone("UTC")
+            .build();
+
+    private final ErrorBodyCache cache = new ErrorBodyCache();
+
+    static Stream<Arguments> bodies() {
+        return Stream.of(
+                Arguments.of(HttpStatus.NOT_FOUND, "User not found with id : '42'", "uri=/api/users/42"),
+                Arguments.of(HttpStatus.CONFLICT, "Slot conflict: \"quoted\" \\ back\tslash", "uri=/api/slots"),
+                Arguments.of(HttpStatus.BAD_REQUEST, "Ungültige Eingabe – ✓ \u0001", "uri=/api/patients?q=a\"b"),
+                Arguments.of(HttpStatus.FORBIDDEN, null, null),
+                Arguments.of(HttpStatus.I_AM_A_TEAPOT, "", "uri=/"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("bodies")
+    void rendersTheSameBytesAsJackson(HttpStatus status, String message, String path) throws Exception {
+        // Render twice so the second call comes from the cached prefix
+        cache.render(status, message, path);
+        byte[] rendered = cache.render(status, message, path);
+        Instant timestamp = Instant.parse(objectMapper.readTree(rendered).get("timestamp").asText());
+        byte[] expected = objectMapper.writeValueAsBytes(
+                new ErrorResponse(status.value(), status.getReasonPhrase(), message, path, timestamp));
+
+        assertArrayEquals(expected, rendered, () -> new String(rendered));
+    }
+}
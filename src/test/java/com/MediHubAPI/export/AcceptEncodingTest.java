@@ -0,0 +1,34 @@
+package com.MediHubAPI.export;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AcceptEncodingTest {
+
+    @ParameterizedTest(name = "[{0}] -> {1}")
+    @CsvSource(delimiter = '|', nullValues = "NULL", value = {
+            "NULL                      | false",
+            "''                        | false",
+            "gzip                      | true",
+            "GZIP                      | true",
+            "x-gzip                    | true",
+            "'gzip, deflate, br'       | true",
+            "deflate, br               | false",
+            "gzip;q=0                  | false",
+            "gzip; q=0.0               | false",
+            "gzip;q=0.5                | true",
+            "gzip;Q=0.001              | true",
+            "gzip;q=oops               | false",
+            "'br;q=1.0, gzip;q=0'      | false",
+            "*                         | true",
+            "*;q=0                     | false",
+            "'*, gzip;q=0'             | false",
+            "'*;q=0, gzip'             | true",
+            "gzipper                   | false",
+    })
+    void allowsGzipHonoursQValues(String header, boolean expected) {
+        assertEquals(expected, AcceptEncoding.allowsGzip(header));
+    }
+}
@@ -0,0 +1,167 @@
+package com.MediHubAPI.export;
+
+import com.MediHubAPI.dto.AppointmentResponseDto;
+import com.MediHubAPI.dto.SlotInfoDto;
+import com.MediHubAPI.model.enums.AppointmentType;
+import com.MediHubAPI.model.enums.SlotStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppointmentExportWriterTest {
+
+    private static final String HEADER =
+            "id,appointmentDate,slotTime,status,type,doctorName,patientName,slotId,slotStartTime,slotEndTime,slotStatus\r\n";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void csvWritesHeaderAndPlainRows() throws IOException {
+        String csv = csv(row(1L, "Dr. Who", "Amy Pond"), row(2L, "Dr. Grey", null));
+
+        assertEquals(HEADER
+                + "1,2025-08-01,10:00,BOOKED,ONLINE,Dr. Who,Amy Pond,7,10:00,10:30,BOOKED\r\n"
+                + "2,2025-08-01,10:00,BOOKED,ONLINE,Dr. Grey,,7,10:00,10:30,BOOKED\r\n", csv);
+    }
+
+    @Test
+    void csvLeavesSlotColumnsEmptyWithoutASlot() throws IOException {
+        AppointmentResponseDto row = row(3L, "Dr. Who", "Rory");
+        row.setSlot(null);
+
+        assertTrue(csv(row).endsWith("3,2025-08-01,10:00,BOOKED,ONLINE,Dr. Who,Rory,,,,\r\n"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', quoteCharacter = '`', value = {
+            "Smith, John      | \"Smith, John\"",
+            "Say \"hi\"       | \"Say \"\"hi\"\"\"",
+            "`line\nbreak`    | `\"line\nbreak\"`",
+            "`cr\rinside`     | `\"cr\rinside\"`",
+            "plain            | plain",
+    })
+    void csvQuotesPerRfc4180(String name, String expected) throws IOException {
+        assertEquals(expected, patientColumn(csv(row(1L, "Dr", name))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', quoteCharacter = '`', value = {
+            "=HYPERLINK(\"x\") | \"'=HYPERLINK(\"\"x\"\")\"",
+            "+1234             | '+1234",
+            "-2+3              | '-2+3",
+            "@SUM(A1)          | '@SUM(A1)",
+            "`\tcmd`           | `'\tcmd`",
+            "a=b               | a=b",
+    })
+    void csvNeutralisesLeadingFormulaCharacters(String name, String expected) throws IOException {
+        assertEquals(expected, patientColumn(csv(row(1L, "Dr", name))));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AppointmentExportWriter writer = AppointmentExportWriter.open(ExportFormat.NDJSON, out, false, objectMapper)) {
+            writer.accept(row(1L, "Dr. Who", "Line\nBreak"));
+            writer.accept(row(2L, "Dr. Grey", "Meredith"));
+            writer.finish();
+        }
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("Line\nBreak", first.get("patientName").asText());
+        assertEquals("2025-08-01", first.get("appointmentDate").asText());
+        assertEquals(7, first.get("slot").get("slotId").asLong());
+        assertEquals("Meredith", objectMapper.readTree(lines[1]).get("patientName").asText());
+    }
+
+    @Test
+    void gzipOutputDecompressesToTheSameCsv() throws IOException {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        write(plain, false, AppointmentExportWriter.FLUSH_EVERY * 2 + 1);
+        write(compressed, true, AppointmentExportWriter.FLUSH_EVERY * 2 + 1);
+
+        assertArrayEquals(plain.toByteArray(), gunzip(compressed.toByteArray()));
+        assertTrue(compressed.size() < plain.size());
+    }
+
+    @Test
+    void closeWithoutFinishLeavesNoGzipTrailer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AppointmentExportWriter writer = AppointmentExportWriter.open(ExportFormat.CSV, out, true, objectMapper)) {
+            for (int i = 0; i < AppointmentExportWriter.FLUSH_EVERY; i++) {
+                writer.accept(row((long) i, "Dr", "Patient " + i));
+            }
+            // the export fails here: no finish()
+        }
+
+        assertThrows(EOFException.class, () -> gunzip(out.toByteArray()));
+    }
+
+    private void write(ByteArrayOutputStream out, boolean compress, int rows) throws IOException {
+        try (AppointmentExportWriter writer = AppointmentExportWriter.open(ExportFormat.CSV, out, compress, objectMapper)) {
+            for (int i = 0; i < rows; i++) {
+                writer.accept(row((long) i, "Dr", "Patient " + i));
+            }
+            writer.finish();
+        }
+    }
+
+    private String csv(AppointmentResponseDto... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AppointmentExportWriter writer = AppointmentExportWriter.open(ExportFormat.CSV, out, false, objectMapper)) {
+            for (AppointmentResponseDto row : rows) {
+                writer.accept(row);
+            }
+            writer.finish();
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // patientName is the only free-text value after "Dr," on the row, the slot columns follow it
+    private static String patientColumn(String csv) {
+        String row = csv.substring(HEADER.length());
+        String afterDoctor = row.substring(row.indexOf(",Dr,") + 4);
+        return afterDoctor.substring(0, afterDoctor.lastIndexOf(",7,10:00,10:30,BOOKED\r\n"));
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static AppointmentResponseDto row(Long id, String doctor, String patient) {
+        AppointmentResponseDto row = new AppointmentResponseDto();
+        row.setId(id);
+        row.setDoctorName(doctor);
+        row.setPatientName(patient);
+        row.setAppointmentDate(LocalDate.of(2025, 8, 1));
+        row.setSlotTime(LocalTime.of(10, 0));
+        row.setStatus("BOOKED");
+        row.setType(AppointmentType.ONLINE);
+        row.setSlot(new SlotInfoDto(7L, LocalTime.of(10, 0), LocalTime.of(10, 30), SlotStatus.BOOKED));
+        return row;
+    }
+}
@@ -0,0 +1,318 @@
+package com.MediHubAPI.load;
+
+import com.MediHubAPI.dataset.DatasetProfile;
+import com.MediHubAPI.dataset.GeneratedDataset;
+import com.MediHubAPI.dataset.HospitalDatasetGenerator;
+import com.MediHubAPI.dto.AppointmentBookingDto;
+import com.MediHubAPI.model.ERole;
+import com.MediHubAPI.model.Role;
+import com.MediHubAPI.model.User;
+import com.MediHubAPI.model.enums.AppointmentType;
+import com.MediHubAPI.repository.RoleRepository;
+import com.MediHubAPI.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * In-JVM end-to-end load harness: boots the full application on in-memory H2, loads a
+ * {@link HospitalDatasetGenerator} dataset, then drives a mixed login / search / schedule / book / cancel / reschedule
+ * workload through MockMvc from concurrent workers and reports p50/p99/p999 latency and
+ * throughput per endpoint.
+ *
+ * <p>Excluded from the default build; run with {@code mvn -Pload-test test}. Tunables are system
+ * properties, e.g. {@code -Dload.threads=32 -Dload.durationSeconds=60 -Dload.dataset=MEDIUM}.
+ * The report is printed and written to {@code target/load-harness/<label>.txt}.</p>
+ *
+ * <p>{@code -Dload.mode} picks the execution model. With {@code platform} (the default) each request
+ * is handed to a fixed pool of {@code load.serverThreads} platform threads, as Tomcat does, and the
+ * client waits for it. With {@code virtual} (Java 21 runtime) each client runs on a virtual thread
+ * and executes its requests on that thread, with the {@code virtual-threads} profile and its DB
+ * bulkhead active. {@code -Dload.sqlLatencyMs} adds a fixed delay to every SQL execution to
+ * simulate a slow database.</p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles(resolver = LoadProfilesResolver.class)
+@Tag("load")
+class BookingLoadHarnessTest {
+
+    private static final String USERNAME = "superadmin1";
+    private static final String PASSWORD = "supersecurepassword";
+
+    private final int threads = Integer.getInteger("load.threads", 16);
+    private final int warmupSeconds = Integer.getInteger("load.warmupSeconds", 5);
+    private final int durationSeconds = Integer.getInteger("load.durationSeconds", 30);
+    private final DatasetProfile datasetProfile = DatasetProfile.valueOf(System.getProperty("load.dataset", "SMALL"));
+    private final long seed = Long.getLong("load.seed", 42L);
+    private final String label = System.getProperty("load.label", "default");
+    private final boolean virtual = "virtual".equals(System.getProperty("load.mode", "platform"));
+    private final int serverThreads = Integer.getInteger("load.serverThreads", 200);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private HospitalDatasetGenerator datasetGenerator;
+
+    private static GeneratedDataset dataset;
+
+    private final List<LocalTime> slotStarts = HospitalDatasetGenerator.dailySlotStarts();
+    private final List<String> doctorNames = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> bookedAppointments = new ConcurrentLinkedQueue<>();
+    private ExecutorService serverPool;
+
+    /** Delays every SQL execution by {@code load.sqlLatencyMs} while the connection is held. */
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        @Bean
+        static BeanPostProcessor slowDatabasePostProcessor() {
+            long latencyMs = Long.getLong("load.sqlLatencyMs", 0L);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (latencyMs <= 0 || !(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName + "-slow")
+                            .beforeQuery((execInfo, queries) -> sleep(latencyMs))
+                            .build();
+                }
+            };
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (dataset == null) {
+            Role superAdmin = roleRepository.findByName(ERole.SUPER_ADMIN).orElseThrow();
+            User admin = new User();
+            admin.setUsername(USERNAME);
+            admin.setEmail(USERNAME + "@medihub.test");
+            admin.setPassword(passwordEncoder.encode(PASSWORD));
+            admin.setFirstName("Super");
+            admin.setLastName("Admin");
+            admin.setEnabled(true);
+            admin.setRoles(Set.of(superAdmin));
+            userRepository.save(admin);
+
+            dataset = datasetGenerator.generate(datasetProfile, seed, LocalDate.now().plusDays(1));
+        }
+        userRepository.findAllById(dataset.getDoctorIds()).forEach(d -> doctorNames.add(d.getFirstName()));
+    }
+
+    @Test
+    void mixedBookingWorkload() throws Exception {
+        serverPool = virtual ? null : Executors.newFixedThreadPool(serverThreads);
+        run(new EndpointLatencyRecorder(), Duration.ofSeconds(warmupSeconds));
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        threadBean.resetPeakThreadCount();
+        EndpointLatencyRecorder recorder = new EndpointLatencyRecorder();
+        Duration measured = run(recorder, Duration.ofSeconds(durationSeconds));
+        if (serverPool != null) {
+            serverPool.shutdownNow();
+        }
+
+        String mode = (virtual ? "virtual threads" : "platform, " + serverThreads + " server threads")
+                + ", sql +" + Long.getLong("load.sqlLatencyMs", 0L) + " ms";
+        String report = recorder.report(label, measured, threads, mode)
+                + String.format("peak platform threads: %d%n", threadBean.getPeakThreadCount());
+        System.out.println(report);
+        Path out = Path.of("target", "load-harness", label + ".txt");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, report);
+
+        assertThat(recorder.serverErrors()).as("5xx responses under load").isZero();
+        for (String endpoint : List.of("login", "doctor-search", "schedule-view", "book")) {
+            assertThat(recorder.count(endpoint)).as(endpoint + " requests").isPositive();
+        }
+    }
+
+    private Duration run(EndpointLatencyRecorder recorder, Duration duration) throws Exception {
+        ExecutorService pool = virtual ? newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < threads; i++) {
+            pool.submit(() -> {
+                try {
+                    String token = login(recorder);
+                    while (System.nanoTime() < deadline) {
+                        int pick = ThreadLocalRandom.current().nextInt(100);
+                        if (pick < 5) {
+                            token = login(recorder);
+                        } else if (pick < 25) {
+                            doctorSearch(recorder, token);
+                        } else if (pick < 55) {
+                            scheduleView(recorder, token);
+                        } else if (pick < 80) {
+                            book(recorder, token);
+                        } else if (pick < 90) {
+                            cancel(recorder, token);
+                        } else {
+                            reschedule(recorder, token);
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(duration.toSeconds() + 120, TimeUnit.SECONDS);
+        pool.shutdownNow();
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private String login(EndpointLatencyRecorder recorder) throws Exception {
+        MvcResult result = perform(recorder, "login", post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("username", USERNAME, "password", PASSWORD))));
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        return "Bearer " + body.get("accessToken").asText();
+    }
+
+    private void doctorSearch(EndpointLatencyRecorder recorder, String token) throws Exception {
+        perform(recorder, "doctor-search", get("/doctors")
+                .header("Authorization", token)
+                .param("name", doctorNames.get(random(doctorNames.size())))
+                .param("page", "0")
+                .param("size", "10"));
+    }
+
+    private void scheduleView(EndpointLatencyRecorder recorder, String token) throws Exception {
+        perform(recorder, "schedule-view", get("/appointments/doctor-schedules/paged")
+                .header("Authorization", token)
+                .param("date", randomDay().toString())
+                .param("page", String.valueOf(random(Math.max(1, dataset.getDoctorIds().size() / 10))))
+                .param("size", "10"));
+    }
+
+    private void book(EndpointLatencyRecorder recorder, String token) throws Exception {
+        MvcResult result = perform(recorder, "book", post("/appointments/book")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(randomBooking())));
+        rememberAppointment(result);
+    }
+
+    private void cancel(EndpointLatencyRecorder recorder, String token) throws Exception {
+        Long id = bookedAppointments.poll();
+        if (id != null) {
+            perform(recorder, "cancel", delete("/appointments/" + id).header("Authorization", token));
+        }
+    }
+
+    private void reschedule(EndpointLatencyRecorder recorder, String token) throws Exception {
+        Long id = bookedAppointments.poll();
+        if (id != null) {
+            MvcResult result = perform(recorder, "reschedule", put("/appointments/" + id + "/reschedule")
+                    .header("Authorization", token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(randomBooking())));
+            rememberAppointment(result);
+        }
+    }
+
+    private MvcResult perform(EndpointLatencyRecorder recorder, String endpoint, RequestBuilder request) throws Exception {
+        long started = System.nanoTime();
+        MvcResult result = handle(() -> mockMvc.perform(request).andReturn());
+        recorder.record(endpoint, System.nanoTime() - started, result.getResponse().getStatus());
+        return result;
+    }
+
+    /** Runs a request the way the server would: on a pooled platform thread, or on the caller's virtual thread. */
+    private MvcResult handle(Callable<MvcResult> request) throws Exception {
+        return serverPool == null ? request.call() : serverPool.submit(request).get();
+    }
+
+    // via reflection so the harness still compiles for Java 17
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    private void rememberAppointment(MvcResult result) throws Exception {
+        if (result.getResponse().getStatus() / 100 == 2) {
+            JsonNode data = objectMapper.readTree(result.getResponse().getContentAsString()).path("data");
+            if (data.hasNonNull("id")) {
+                bookedAppointments.add(data.get("id").asLong());
+            }
+        }
+    }
+
+    private AppointmentBookingDto randomBooking() {
+        return AppointmentBookingDto.builder()
+                .doctorId(dataset.getDoctorIds().get(random(dataset.getDoctorIds().size())))
+                .patientId(dataset.getPatientUserIds().get(random(dataset.getPatientUserIds().size())))
+                .appointmentDate(randomDay())
+                .slotTime(slotStarts.get(random(slotStarts.size())))
+                .appointmentType(AppointmentType.IN_PERSON)
+                .build();
+    }
+
+    private LocalDate randomDay() {
+        return dataset.getAnchorDate().plusDays(random(datasetProfile.getSlotDays()));
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -0,0 +1,86 @@
+package com.MediHubAPI.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe per-endpoint latency recorder backed by HdrHistogram.
+ *
+ * <p>Latencies are recorded in microseconds with 3 significant digits, which keeps p999 exact
+ * enough to compare runs while each histogram stays a few tens of KB.</p>
+ */
+class EndpointLatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> clientErrors = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> serverErrors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, int httpStatus) {
+        histograms.computeIfAbsent(endpoint, k -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+        if (httpStatus >= 500) {
+            serverErrors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+        } else if (httpStatus >= 400) {
+            clientErrors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+        }
+    }
+
+    long count(String endpoint) {
+        Histogram histogram = histograms.get(endpoint);
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    long serverErrors() {
+        return serverErrors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Renders one row per endpoint plus an {@code ALL} row; latencies are in milliseconds.
+     */
+    String report(String label, Duration elapsed, int threads, String mode) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Load harness [%s] - %d threads (%s), %.1f s measured%n",
+                label, threads, mode, seconds));
+        out.append(String.format(Locale.ROOT, "%-16s %9s %9s %6s %6s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "4xx", "5xx", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            Histogram histogram = entry.getValue().copy();
+            all.add(histogram);
+            out.append(row(entry.getKey(), histogram, seconds,
+                    sum(clientErrors.get(entry.getKey())), sum(serverErrors.get(entry.getKey()))));
+        }
+        out.append(row("ALL", all, seconds,
+                clientErrors.values().stream().mapToLong(LongAdder::sum).sum(), serverErrors()));
+        return out.toString();
+    }
+
+    private static String row(String name, Histogram histogram, double seconds, long clientErrors, long serverErrors) {
+        return String.format(Locale.ROOT, "%-16s %9d %9.1f %6d %6d %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                clientErrors,
+                serverErrors,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static long sum(LongAdder adder) {
+        return adder == null ? 0 : adder.sum();
+    }
+}
@@ -0,0 +1,24 @@
+package com.MediHubAPI.load;
+
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Always {@code h2}, plus {@code virtual-threads} when {@code -Dload.mode=virtual}, plus any
+ * profiles listed in {@code -Dload.profiles} (e.g. {@code prod} to measure with production logging).
+ */
+public class LoadProfilesResolver implements ActiveProfilesResolver {
+
+    @Override
+    public String[] resolve(Class<?> testClass) {
+        String extra = System.getProperty("load.profiles", "");
+        Stream<String> base = "virtual".equals(System.getProperty("load.mode"))
+                ? Stream.of("h2", "virtual-threads")
+                : Stream.of("h2");
+        return Stream.concat(base, Arrays.stream(extra.split(",")).map(String::trim).filter(p -> !p.isEmpty()))
+                .distinct()
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,34 @@
+package com.MediHubAPI.perf;
+
+import com.MediHubAPI.dataset.DatasetProfile;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how much work a test body may cause: at most {@link #statements()} SQL statements and
+ * {@link #allocatedBytes()} bytes allocated on the test thread, measured against a
+ * {@link #dataset()} loaded once per application context.
+ *
+ * <p>The body runs {@link #warmup()} times unmeasured first (class loading, ModelMapper type maps,
+ * Hibernate query plans), so only use it on side-effect free requests.</p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    int statements();
+
+    /** 0 means the allocation is reported but not enforced. */
+    long allocatedBytes() default 0;
+
+    DatasetProfile dataset() default DatasetProfile.SMALL;
+
+    long seed() default 42L;
+
+    int warmup() default 1;
+}
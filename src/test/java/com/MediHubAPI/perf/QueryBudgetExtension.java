@@ -0,0 +1,103 @@
+package com.MediHubAPI.perf;
+
+import com.MediHubAPI.dataset.GeneratedDataset;
+import com.MediHubAPI.dataset.HospitalDatasetGenerator;
+import com.MediHubAPI.monitoring.SqlStatementStats;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enforces {@link QueryBudget}. Statements are counted through the same {@link SqlStatementStats}
+ * scopes the production SQL monitor uses; MockMvc runs requests on the test thread, so every
+ * statement of the request lands in the scope opened here.
+ *
+ * <p>Datasets are generated once per application context and profile and handed to test methods
+ * that declare a {@link GeneratedDataset} parameter.</p>
+ */
+public class QueryBudgetExtension implements InvocationInterceptor, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation,
+                                    ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        QueryBudget budget = invocationContext.getExecutable().getAnnotation(QueryBudget.class);
+        if (budget == null) {
+            invocation.proceed();
+            return;
+        }
+
+        Method method = invocationContext.getExecutable();
+        method.setAccessible(true);
+        for (int i = 0; i < budget.warmup(); i++) {
+            method.invoke(invocationContext.getTarget().orElseThrow(), invocationContext.getArguments().toArray());
+        }
+
+        SqlStatementStats stats = SqlStatementStats.begin();
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            invocation.proceed();
+        } finally {
+            SqlStatementStats.end();
+        }
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        String name = extensionContext.getDisplayName();
+        System.out.printf("Query budget [%s] statements=%d/%d jdbc=%.1fms allocated=%,d/%s bytes%n",
+                name, stats.getStatements(), budget.statements(), stats.getJdbcMillis(), allocated,
+                budget.allocatedBytes() > 0 ? String.format("%,d", budget.allocatedBytes()) : "-");
+
+        assertThat(stats.getStatements())
+                .as("SQL statements for %s on %s dataset; most repeated: %s",
+                        name, budget.dataset(), describe(stats.repeatedShapes(2)))
+                .isLessThanOrEqualTo(budget.statements());
+        if (budget.allocatedBytes() > 0) {
+            assertThat(allocated)
+                    .as("bytes allocated on the test thread for %s on %s dataset", name, budget.dataset())
+                    .isLessThanOrEqualTo(budget.allocatedBytes());
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == GeneratedDataset.class
+                && extensionContext.getTestMethod().map(m -> m.isAnnotationPresent(QueryBudget.class)).orElse(false);
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        QueryBudget budget = extensionContext.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(extensionContext);
+        // keyed by context as well: each cached Spring context has its own in-memory database
+        String key = System.identityHashCode(applicationContext) + ":" + budget.dataset() + ":" + budget.seed();
+        return extensionContext.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(key,
+                k -> applicationContext.getBean(HospitalDatasetGenerator.class)
+                        .generate(budget.dataset(), budget.seed(), LocalDate.now().plusDays(1)),
+                GeneratedDataset.class);
+    }
+
+    private static String describe(Map<String, Integer> repeated) {
+        return repeated.isEmpty() ? "none" : repeated.entrySet().stream()
+                .limit(3)
+                .map(e -> e.getValue() + "x " + e.getKey())
+                .collect(Collectors.joining(" | "));
+    }
+}
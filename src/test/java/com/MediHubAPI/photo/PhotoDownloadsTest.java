@@ -0,0 +1,133 @@
+package com.MediHubAPI.photo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhotoDownloadsTest {
+
+    private static final String ETAG = "\"abc\"";
+
+    @TempDir
+    Path dir;
+
+    /** {@code expected} is {@code start-end} (end exclusive), {@code whole} for the whole file, {@code 416} for none. */
+    @ParameterizedTest(name = "{0} of 1000 bytes")
+    @CsvSource(delimiter = '|', textBlock = """
+            bytes=0-499         | 0-500
+            bytes=500-          | 500-1000
+            bytes=990-2000      | 990-1000
+            bytes=999-999       | 999-1000
+            bytes=-100          | 900-1000
+            bytes=-5000         | 0-1000
+            bytes=1000-         | 416
+            bytes=1500-1600     | 416
+            bytes=-0            | 416
+            bytes=0-99,200-299  | whole
+            bytes=500-100       | whole
+            bytes=abc-          | whole
+            bytes=100           | whole
+            items=0-99          | whole
+            """)
+    void parseRange(String header, String expected) {
+        long[] bounds = PhotoDownloads.parseRange(header, 1000);
+
+        switch (expected) {
+            case "416" -> assertNull(bounds);
+            case "whole" -> assertArrayEquals(new long[0], bounds);
+            default -> assertArrayEquals(Arrays.stream(expected.split("-")).mapToLong(Long::parseLong).toArray(), bounds);
+        }
+    }
+
+    @Test
+    void anEmptyFileCannotSatisfyASuffixRange() {
+        assertNull(PhotoDownloads.parseRange("bytes=-10", 0));
+    }
+
+    @Test
+    void sendsTheWholeFileWithoutARange() throws IOException {
+        MockHttpServletResponse response = send(new MockHttpServletRequest());
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(1000, response.getContentLengthLong());
+        assertArrayEquals(content(), response.getContentAsByteArray());
+    }
+
+    @Test
+    void sendsASingleRangeAs206() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-199/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(content(), 100, 200), response.getContentAsByteArray());
+    }
+
+    @Test
+    void answersAnUnsatisfiableRangeWith416() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void ignoresTheRangeWhenIfRangeNoLongerMatches() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1000, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void handsTheRangeToTomcatSendfileWhenSupported() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=-100");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(900L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(1000L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        Path file = dir.resolve("photo.jpg");
+        Files.write(file, content());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        PhotoDownloads.send(file, 1000, "image/jpeg", ETAG, request, response);
+        return response;
+    }
+
+    private static byte[] content() {
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+}
@@ -0,0 +1,144 @@
+package com.MediHubAPI.photo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhotoGarbageCollectorTest {
+
+    @TempDir
+    Path root;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbc;
+    private PhotoStore store;
+    private ThumbnailCache thumbnails;
+    private PhotoGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("photo-gc-" + UUID.randomUUID())
+                .build();
+        jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE patient_photos (id BIGINT AUTO_INCREMENT PRIMARY KEY, storage_key VARCHAR(80))");
+        PhotoStoreProperties properties = new PhotoStoreProperties();
+        properties.setRoot(root.toString());
+        store = new PhotoStore(properties);
+        thumbnails = new ThumbnailCache(1024 * 1024);
+        collector = new PhotoGarbageCollector(store, thumbnails, jdbc, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void deletesOnlyBlobsNoPatientRefersTo() throws IOException {
+        String kept = store(Color.RED);
+        String orphan = store(Color.BLUE);
+        jdbc.update("INSERT INTO patient_photos (storage_key) VALUES (?)", kept);
+        thumbnails.get(orphan, store.thumbnailPath(orphan));
+
+        int deleted = collector.collect(Instant.now().plusSeconds(60));
+
+        assertEquals(1, deleted);
+        assertTrue(Files.exists(store.path(kept)));
+        assertTrue(Files.exists(store.thumbnailPath(kept)));
+        assertFalse(Files.exists(store.path(orphan)));
+        assertFalse(Files.exists(store.thumbnailPath(orphan)));
+        assertEquals(0, thumbnails.size());
+    }
+
+    @Test
+    void keepsRecentUploadsWhoseRowMayNotBeCommittedYet() throws IOException {
+        String orphan = store(Color.BLUE);
+
+        collector.collect();
+
+        assertTrue(Files.exists(store.path(orphan)));
+    }
+
+    @Test
+    void reusingABlobRenewsItsGracePeriod() throws IOException {
+        String key = store(Color.GREEN);
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        Files.setLastModifiedTime(store.path(key), FileTime.from(old));
+
+        // an old unreferenced blob about to become some patient's photo again
+        assertEquals(key, store(Color.GREEN));
+        collector.collect();
+
+        assertTrue(Files.exists(store.path(key)));
+    }
+
+    @Test
+    void anUploadDuringCollectionKeepsItsBlob() throws IOException {
+        String key = store(Color.GREEN);
+        Files.setLastModifiedTime(store.path(key), FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        // the same image is uploaded after the walk listed the blob, before the collector deletes it
+        JdbcTemplate uploadingMeanwhile = new JdbcTemplate(database) {
+            @Override
+            public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+                try {
+                    assertEquals(key, store(Color.GREEN));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return super.queryForList(sql, elementType, args);
+            }
+        };
+
+        int deleted = new PhotoGarbageCollector(store, thumbnails, uploadingMeanwhile, Duration.ofHours(1))
+                .collect(Instant.now().minus(Duration.ofHours(1)));
+
+        assertEquals(0, deleted);
+        assertTrue(Files.exists(store.path(key)));
+    }
+
+    @Test
+    void aCollectedBlobCanBeStoredAgain() throws IOException {
+        String key = store(Color.GREEN);
+        collector.collect(Instant.now().plusSeconds(60));
+
+        assertEquals(key, store(Color.GREEN));
+        assertTrue(Files.exists(store.path(key)));
+        assertTrue(Files.exists(store.thumbnailPath(key)));
+    }
+
+    private String store(Color color) throws IOException {
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = image.getGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 64, 48);
+        graphics.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return store.store(new ByteArrayInputStream(png.toByteArray())).getKey();
+    }
+}
@@ -0,0 +1,191 @@
+package com.MediHubAPI.query;
+
+import com.MediHubAPI.dto.CursorPage;
+import com.MediHubAPI.dto.UserDto;
+import com.MediHubAPI.model.ERole;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset paging and chunked streaming of {@link UserQueries} against a bare H2 schema, counting the
+ * statements each call issues.
+ */
+class UserQueriesTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate setup;
+    private UserQueries queries;
+    private final List<String> statements = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("user-queries-" + UUID.randomUUID())
+                .build();
+        setup = new JdbcTemplate(database);
+        setup.execute("CREATE TABLE specializations (id BIGINT PRIMARY KEY, name VARCHAR(64))");
+        setup.execute("""
+                CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(64), email VARCHAR(128),
+                    first_name VARCHAR(64), last_name VARCHAR(64), enabled BOOLEAN, specialization_id BIGINT)
+                """);
+        setup.execute("CREATE TABLE roles (id INT PRIMARY KEY, name VARCHAR(32))");
+        setup.execute("CREATE TABLE user_roles (user_id BIGINT, role_id INT)");
+        setup.update("INSERT INTO specializations VALUES (1, 'Cardiology')");
+        setup.update("INSERT INTO roles VALUES (1, 'DOCTOR'), (2, 'ADMIN'), (3, 'PATIENT')");
+
+        DataSource counted = ProxyDataSourceBuilder.create(database)
+                .afterQuery((execInfo, queryInfos) -> queryInfos.forEach(q -> statements.add(q.getQuery())))
+                .build();
+        queries = new UserQueries(new JdbcTemplate(counted), new NamedParameterJdbcTemplate(counted), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void exactlyOnePageOfRowsHasNoNextCursor() {
+        insertUsers(1, 2, 3);
+
+        CursorPage<UserDto> page = queries.page(0, 3);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(page));
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursorId());
+    }
+
+    @Test
+    void lookAheadRowIsNotReturnedButSetsTheCursor() {
+        insertUsers(1, 2, 3, 4);
+
+        CursorPage<UserDto> page = queries.page(0, 3);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(page));
+        assertTrue(page.isHasMore());
+        assertEquals(3L, page.getNextCursorId());
+    }
+
+    @Test
+    void followingCursorsVisitsEveryRowOnceAndEndsOnAShortLastPage() {
+        insertUsers(1, 2, 3, 4, 5, 6, 7);
+
+        List<Long> seen = new ArrayList<>();
+        long cursor = 0;
+        int pages = 0;
+        CursorPage<UserDto> page;
+        do {
+            page = queries.page(cursor, 3);
+            seen.addAll(ids(page));
+            pages++;
+            if (page.isHasMore()) {
+                cursor = page.getNextCursorId();
+            }
+        } while (page.isHasMore());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), seen);
+        assertEquals(3, pages);
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursorId());
+    }
+
+    @Test
+    void pageAfterTheLastIdIsEmpty() {
+        insertUsers(1, 2);
+
+        CursorPage<UserDto> page = queries.page(2, 5);
+
+        assertTrue(page.getContent().isEmpty());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursorId());
+    }
+
+    @Test
+    void identicalNamesAreOrderedAndSplitById() {
+        // inserted out of order with the same name: only the id decides order and page boundaries
+        for (long id : new long[]{30, 10, 20, 40}) {
+            setup.update("INSERT INTO users VALUES (?, ?, ?, 'Sam', 'Lee', TRUE, NULL)", id, "sam" + id, id + "@x");
+        }
+
+        CursorPage<UserDto> first = queries.page(0, 2);
+        CursorPage<UserDto> second = queries.page(first.getNextCursorId(), 2);
+
+        assertEquals(List.of(10L, 20L), ids(first));
+        assertEquals(20L, first.getNextCursorId());
+        assertEquals(List.of(30L, 40L), ids(second));
+        assertFalse(second.isHasMore());
+    }
+
+    @Test
+    void rolesOfAPageAreLoadedWithOneQuery() {
+        insertUsers(1, 2, 3, 4);
+        setup.update("UPDATE users SET specialization_id = 1 WHERE id = 1");
+        setup.update("INSERT INTO user_roles VALUES (1, 1), (1, 2), (2, 3), (4, 3)");
+        statements.clear();
+
+        CursorPage<UserDto> page = queries.page(0, 3);
+
+        assertEquals(Set.of(ERole.DOCTOR, ERole.ADMIN), page.getContent().get(0).getRoles());
+        assertEquals(Set.of(ERole.PATIENT), page.getContent().get(1).getRoles());
+        assertEquals(Set.of(), page.getContent().get(2).getRoles());
+        assertEquals("Cardiology", page.getContent().get(0).getSpecialization());
+        assertNull(page.getContent().get(1).getSpecialization());
+        // the look-ahead row (id 4) is not part of the roles lookup
+        assertEquals(2, statements.size(), statements::toString);
+        assertTrue(statements.get(1).contains("user_roles"));
+    }
+
+    @Test
+    void emptyPageSkipsTheRolesQuery() {
+        CursorPage<UserDto> page = queries.page(0, 3);
+
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(1, statements.size());
+    }
+
+    @Test
+    void streamDeliversFetchSizeChunksWithOneRolesQueryEach() {
+        insertUsers(1, 2, 3, 4, 5);
+        setup.update("INSERT INTO user_roles VALUES (5, 1)");
+        statements.clear();
+        List<List<Long>> chunks = new ArrayList<>();
+        List<UserDto> users = new ArrayList<>();
+
+        long total = queries.stream(chunk -> {
+            chunks.add(chunk.stream().map(UserDto::getId).toList());
+            users.addAll(chunk);
+        });
+
+        assertEquals(5, total);
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), chunks);
+        assertEquals(Set.of(ERole.DOCTOR), users.get(4).getRoles());
+        assertEquals(1 + chunks.size(), statements.size(), statements::toString);
+    }
+
+    private void insertUsers(long... ids) {
+        for (long id : ids) {
+            setup.update("INSERT INTO users VALUES (?, ?, ?, 'First', 'Last', TRUE, NULL)",
+                    id, "user" + id, "user" + id + "@example.com");
+        }
+    }
+
+    private static List<Long> ids(CursorPage<UserDto> page) {
+        return page.getContent().stream().map(UserDto::getId).toList();
+    }
+}
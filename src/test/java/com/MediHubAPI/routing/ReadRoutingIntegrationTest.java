@@ -0,0 +1,156 @@
+package com.MediHubAPI.routing;
+
+import com.MediHubAPI.dataset.DatasetProfile;
+import com.MediHubAPI.dataset.GeneratedDataset;
+import com.MediHubAPI.dataset.HospitalDatasetGenerator;
+import com.MediHubAPI.model.User;
+import com.MediHubAPI.repository.UserRepository;
+import com.MediHubAPI.routing.ReadRoutingDataSource.Route;
+import com.MediHubAPI.service.DoctorService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read/write routing against two in-memory H2 databases. The "replica" is a point-in-time copy
+ * of the primary ({@link #replicate()}), so anything written afterwards is visible on the primary
+ * only and shows where a read was served from.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE,TYPE,VALUE,USER;DB_CLOSE_DELAY=-1",
+        "app.read-routing.enabled=true",
+        "app.read-routing.replicas[0].url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE,TYPE,VALUE,USER;DB_CLOSE_DELAY=-1",
+        "app.read-routing.lag-check-ms=3600000"
+})
+@ActiveProfiles("h2")
+class ReadRoutingIntegrationTest {
+
+    private static final String PRIMARY_EMAIL = "changed-on-primary@medihub.test";
+
+    private static GeneratedDataset dataset;
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ReplicaLagMonitor monitor;
+    @Autowired
+    private DoctorService doctorService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private HospitalDatasetGenerator generator;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ReadRoutingDataSource routing;
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private Long doctorId;
+
+    @BeforeEach
+    void replicateAndDiverge() throws Exception {
+        routing = dataSource.unwrap(ReadRoutingDataSource.class);
+        primary = new JdbcTemplate(routing.getPrimary());
+        replica = new JdbcTemplate(routing.getReplicas().get(0).getDataSource());
+        if (dataset == null) {
+            dataset = generator.generate(DatasetProfile.SMALL, 41L, LocalDate.now().plusDays(1));
+        }
+        doctorId = dataset.getDoctorIds().get(0);
+        primary.update("UPDATE users SET email = ? WHERE id = ?", "doctor-" + doctorId + "@medihub.test", doctorId);
+        monitor.check();
+        replicate();
+        monitor.check();
+        primary.update("UPDATE users SET email = ? WHERE id = ?", PRIMARY_EMAIL, doctorId);
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyServiceWorkIsServedByTheReplica() {
+        long before = routing.routedCount(Route.REPLICA);
+
+        assertThat(doctorService.getDoctorById(doctorId).getEmail()).isNotEqualTo(PRIMARY_EMAIL);
+        assertThat(routing.routedCount(Route.REPLICA)).isGreaterThan(before);
+    }
+
+    @Test
+    void repositoryCallsOutsideServiceTransactionsStayOnThePrimary() {
+        assertThat(userRepository.findById(doctorId).map(User::getEmail)).contains(PRIMARY_EMAIL);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        replica.update("UPDATE medihub_replica_heartbeat SET beat_ms = ? WHERE id = 1",
+                System.currentTimeMillis() - 60_000);
+        monitor.check();
+        long before = routing.routedCount(Route.LAGGING);
+
+        assertThat(doctorService.getDoctorById(doctorId).getEmail()).isEqualTo(PRIMARY_EMAIL);
+        assertThat(routing.routedCount(Route.LAGGING)).isGreaterThan(before);
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromThePrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("reception1", "n/a", "ROLE_RECEPTIONIST"));
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(doctorId).orElseThrow().setEmail("written-by-reception1@medihub.test"));
+
+        assertThat(doctorService.getDoctorById(doctorId).getEmail()).isEqualTo("written-by-reception1@medihub.test");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("reception2", "n/a", "ROLE_RECEPTIONIST"));
+        assertThat(doctorService.getDoctorById(doctorId).getEmail()).isNotEqualTo("written-by-reception1@medihub.test");
+    }
+
+    @Test
+    void writeAfterReplicaReadInOneOpenSessionGoesToThePrimary() {
+        // what open-in-view does for every request: one EntityManager across all transactions
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+        try {
+            doctorService.getDoctorById(doctorId);
+            primary.update("UPDATE users SET enabled = TRUE WHERE id = ?", doctorId);
+            doctorService.deactivateDoctor(doctorId);
+        } finally {
+            ((EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory))
+                    .getEntityManager().close();
+        }
+
+        assertThat(primary.queryForObject("SELECT enabled FROM users WHERE id = ?", Boolean.class, doctorId)).isFalse();
+        primary.update("UPDATE users SET enabled = TRUE WHERE id = ?", doctorId);
+    }
+
+    /** Copies the primary, heartbeat row included, into the replica database. */
+    private void replicate() {
+        String script = tempDir.resolve("primary.sql").toString();
+        primary.execute("SCRIPT TO '" + script + "'");
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM '" + script + "'");
+    }
+}
@@ -0,0 +1,64 @@
+package com.MediHubAPI.search;
+
+import com.MediHubAPI.model.Gender;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateScoreTest {
+
+    /** The default {@code app.patient-search.duplicate-min-score}. */
+    private static final int MIN_SCORE = 60;
+
+    @ParameterizedTest
+    @CsvSource({
+            "martha, marhta,   0.9611",
+            "dwayne, duane,    0.8400",
+            "dixon,  dicksonx, 0.8133",
+            "ravi,   ravi,     1.0",
+            "'',     ravi,     0.0",
+            "abc,    xyz,      0.0",
+    })
+    void jaroWinkler(String a, String b, double expected) {
+        assertEquals(expected, DuplicateScore.jaroWinkler(a, b), 0.0001);
+        assertEquals(expected, DuplicateScore.jaroWinkler(b, a), 0.0001);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            # case                        | probe                                        | candidate                                       | score | reported
+            same name and birthday        | Ravi,Sharma,,,1980-05-17,                    | Ravi,Sharma,,,1980-05-17,                       | 75    | true
+            first and last name swapped   | Sharma,Ravi,,,1980-05-17,                    | Ravi,Sharma,,,1980-05-17,                       | 75    | true
+            one letter off                | Ravi,Sharma,,,1980-05-17,                    | Ravi,Sarma,,,1980-05-17,                        | 72    | true
+            sounds alike                  | Mohammed,Khan,,,1980-05-17,                  | Muhammad,Kahn,,,1980-05-17,                     | 65    | true
+            govt ID, little else          | Ravi,Sharma,,AB1234,1980-05-17,              | R,Sharma,,ab-1234,,                             | 67    | true
+            everything, formatted apart   | Ravi,Sharma,9820012345,AB1234,1980-05-17,    | Ravi,Sharma,+91 98200 12345,AB1234,1980-05-17,  | 100   | true
+            siblings sharing phone, dob   | Ravi,Sharma,9820012345,,1980-05-17,          | Asha,Sharma,9820012345,,1980-05-17,             | 50    | false
+            same name, sex differs        | Ravi,Sharma,,,1980-05-17,MALE                | Ravi,Sharma,,,1980-05-17,FEMALE                 | 45    | false
+            same name, birthday differs   | Ravi,Sharma,,,1980-05-17,                    | Ravi,Sharma,,,1981-05-17,                       | 20    | false
+            """)
+    void scores(String name, String probe, String candidate, int expected, boolean reported) {
+        PatientSearchEntry p = entry(probe);
+        String swapped = PatientSearchEntry.nameKey(p.lastName + " " + p.firstName);
+        int score = DuplicateScore.of(p, swapped, p.phoneticName(), PatientSearchEntry.mobileKey(p.mobileNumber),
+                entry(candidate));
+
+        assertEquals(expected, score);
+        assertEquals(reported, score >= MIN_SCORE);
+    }
+
+    /** {@code firstName,lastName,mobile,govtId,dateOfBirth,sex}, blanks for missing values. */
+    private static PatientSearchEntry entry(String fields) {
+        String[] f = fields.split(",", -1);
+        return new PatientSearchEntry(0, blank(f[0]), blank(f[1]), blank(f[2]), null, blank(f[3]),
+                f[4].isBlank() ? null : LocalDate.parse(f[4].trim()),
+                f[5].isBlank() ? null : Gender.valueOf(f[5].trim()));
+    }
+
+    private static String blank(String value) {
+        return value.isBlank() ? null : value.trim();
+    }
+}
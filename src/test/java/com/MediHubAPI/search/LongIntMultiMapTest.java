@@ -0,0 +1,77 @@
+package com.MediHubAPI.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntMultiMapTest {
+
+    @Test
+    void keepsEveryValueOfAKeyInInsertionOrder() {
+        LongIntMultiMap map = new LongIntMultiMap(4);
+        map.put(7, 1);
+        map.put(8, 2);
+        map.put(7, 3);
+
+        assertEquals(List.of(1, 3), values(map, 7));
+        assertEquals(List.of(2), values(map, 8));
+        assertEquals(List.of(), values(map, 9));
+        assertEquals(2, map.count(7));
+    }
+
+    @Test
+    void growsPastItsInitialCapacityWithoutLosingPairs() {
+        LongIntMultiMap map = new LongIntMultiMap(1);
+        for (int i = 0; i < 5_000; i++) {
+            // multiples of a large power of two share their low bits before mixing
+            map.put((long) (i % 100 + 1) << 40, i);
+        }
+
+        for (int k = 0; k < 100; k++) {
+            List<Integer> values = values(map, (long) (k + 1) << 40);
+            assertEquals(50, values.size());
+            for (int value : values) {
+                assertEquals(k, value % 100);
+            }
+        }
+    }
+
+    @Test
+    void putCappedRefusesOnceTheKeyIsFull() {
+        LongIntMultiMap map = new LongIntMultiMap(4);
+
+        assertTrue(map.putCapped(5, 1, 2, value -> true));
+        assertTrue(map.putCapped(5, 2, 2, value -> true));
+        assertFalse(map.putCapped(5, 3, 2, value -> true));
+        assertEquals(List.of(1, 2), values(map, 5));
+    }
+
+    @Test
+    void putCappedIgnoresValuesThatAreNotCounted() {
+        LongIntMultiMap map = new LongIntMultiMap(4);
+        map.put(5, 1);
+        map.put(5, 2);
+
+        // 1 and 2 went stale: the key still has room
+        assertTrue(map.putCapped(5, 3, 2, value -> value > 2));
+        assertTrue(map.putCapped(5, 4, 2, value -> value > 2));
+        assertFalse(map.putCapped(5, 5, 2, value -> value > 2));
+        assertEquals(2, map.count(5, value -> value > 2));
+    }
+
+    @Test
+    void zeroIsReservedForEmptySlots() {
+        LongIntMultiMap map = new LongIntMultiMap(4);
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+    }
+
+    private static List<Integer> values(LongIntMultiMap map, long key) {
+        List<Integer> values = new ArrayList<>();
+        map.forEach(key, values::add);
+        return values;
+    }
+}
@@ -0,0 +1,138 @@
+package com.MediHubAPI.search;
+
+import com.MediHubAPI.dto.PatientSuggestionDto;
+import com.MediHubAPI.model.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientSearchIndexTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbc;
+    private PatientSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("patient-search-" + UUID.randomUUID())
+                .build();
+        jdbc = new JdbcTemplate(database);
+        jdbc.execute("""
+                CREATE TABLE patients (id BIGINT PRIMARY KEY, first_name VARCHAR(20), last_name VARCHAR(64),
+                    mobile_number VARCHAR(32), file_number VARCHAR(32), govt_id_number VARCHAR(32),
+                    date_of_birth DATE, sex VARCHAR(16), updated_at TIMESTAMP)
+                """);
+        index = new PatientSearchIndex(jdbc, new PatientSearchProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void catchUpIsIdleUntilTheFirstRebuild() {
+        insert(1, "Ravi", "MRN-1", LocalDateTime.now());
+
+        index.catchUp();
+
+        assertFalse(index.isReady());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void catchUpPicksUpRowsWrittenElsewhereSinceTheRebuild() {
+        LocalDateTime built = LocalDateTime.now().minusMinutes(10);
+        insert(1, "Ravi", "MRN-1", built);
+        insert(2, "Legacy", "MRN-2", null);
+        index.rebuild();
+
+        // another instance registers one patient and renames another
+        insert(3, "Asha", "MRN-3", built.plusMinutes(5));
+        jdbc.update("UPDATE patients SET first_name = 'Mohan', updated_at = ? WHERE id = 1", built.plusMinutes(6));
+        index.catchUp();
+
+        assertEquals(3, index.size());
+        assertEquals(List.of(3L), ids(index.search("asha", 10)));
+        assertEquals(List.of(1L), ids(index.search("mohan", 10)));
+        assertEquals(List.of(), ids(index.search("ravi", 10)));
+        assertEquals(List.of(2L), ids(index.search("MRN-2", 10)));
+    }
+
+    @Test
+    void duplicatesAreReadFromTheDatabaseUntilTheIndexIsReady() {
+        jdbc.update("INSERT INTO patients VALUES (1, 'Ravi', 'Sharma', '9820012345', 'MRN-1', NULL, DATE '1980-05-17', "
+                + "'MALE', NULL)");
+        jdbc.update("INSERT INTO patients VALUES (2, 'Asha', 'Verma', '9820099999', 'MRN-2', NULL, DATE '1980-05-17', "
+                + "'FEMALE', NULL)");
+        Patient registering = patient(0, "Ravi");
+        registering.setId(null);
+        registering.setDateOfBirth(LocalDate.of(1980, 5, 17));
+
+        List<PatientSuggestionDto> duplicates = index.findDuplicates(registering, 10);
+
+        assertFalse(index.isReady());
+        assertEquals(List.of(1L), ids(duplicates));
+        assertEquals(75, duplicates.get(0).getScore());
+    }
+
+    @Test
+    void rowsReadAgainInTheOverlapLeaveNoTombstones() {
+        LocalDateTime now = LocalDateTime.now();
+        insert(1, "Ravi", "MRN-1", now);
+        index.rebuild();
+
+        index.catchUp();
+        index.catchUp();
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.tombstones());
+    }
+
+    @Test
+    void updatesRollOverToACompactedSegment() {
+        insert(1, "Ravi", "MRN-1", LocalDateTime.now());
+        index.rebuild();
+
+        // the segment is rebuilt from memory once tombstones exceed max(1024, size / 4)
+        for (int i = 0; i <= 1024; i++) {
+            index.upsert(patient(1, "Ravi" + i));
+        }
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.tombstones());
+        assertEquals(List.of(1L), ids(index.search("ravi1024", 10)));
+        assertEquals(List.of(1L), ids(index.search("MRN-1", 10)));
+    }
+
+    private void insert(long id, String firstName, String fileNumber, LocalDateTime updatedAt) {
+        jdbc.update("INSERT INTO patients VALUES (?, ?, 'Sharma', NULL, ?, NULL, NULL, 'MALE', ?)",
+                id, firstName, fileNumber, updatedAt);
+    }
+
+    private static Patient patient(long id, String firstName) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setFirstName(firstName);
+        patient.setLastName("Sharma");
+        patient.setFileNumber("MRN-" + id);
+        return patient;
+    }
+
+    private static List<Long> ids(List<PatientSuggestionDto> suggestions) {
+        return suggestions.stream().map(PatientSuggestionDto::getId).toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.MediHubAPI.search;
+
+import com.MediHubAPI.model.Gender;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientSearchSegmentTest {
+
+    private static final LocalDate DOB = LocalDate.of(1980, 5, 17);
+
+    @Test
+    void anUpdateTombstonesTheOldDocument() {
+        PatientSearchSegment segment = new PatientSearchSegment(16);
+        segment.upsert(entry(1, "Ravi", "Sharma", "MRN-1"));
+        segment.upsert(entry(1, "Mohan", "Sharma", "MRN-1"));
+
+        assertEquals(1, segment.size());
+        assertEquals(1, segment.tombstones());
+        assertEquals(List.of(), ids(segment.search("ravi", 10, 500)));
+        assertEquals(List.of(1L), ids(segment.search("mohan sharma", 10, 500)));
+        assertEquals(List.of(1L), ids(segment.search("MRN-1", 10, 500)));
+    }
+
+    @Test
+    void anUnchangedUpsertLeavesNoTombstone() {
+        PatientSearchSegment segment = new PatientSearchSegment(16);
+        segment.upsert(entry(1, "Ravi", "Sharma", "MRN-1"));
+        segment.upsert(entry(1, "Ravi", "Sharma", "MRN-1"));
+
+        assertEquals(1, segment.size());
+        assertEquals(0, segment.tombstones());
+    }
+
+    @Test
+    void removeHidesThePatientFromEveryLookup() {
+        PatientSearchSegment segment = new PatientSearchSegment(16);
+        segment.upsert(entry(1, "Ravi", "Sharma", "MRN-1"));
+        segment.upsert(entry(2, "Ravi", "Sharma", "MRN-2"));
+        segment.remove(1);
+
+        assertEquals(1, segment.size());
+        assertEquals(List.of(2L), ids(segment.search("ravi", 10, 500)));
+        assertEquals(List.of(), ids(segment.search("MRN-1", 10, 500)));
+        assertEquals(List.of(2L), ids(segment.duplicates(entry(0, "Ravi", "Sharma", null), 60, 10)));
+    }
+
+    @Test
+    void tombstonesDoNotUseUpAKeysCap() {
+        PatientSearchSegment segment = new PatientSearchSegment(16);
+        // well past the 64 documents a key holds: only the live one may count
+        for (int i = 0; i < 200; i++) {
+            segment.upsert(entry(1, "Ravi" + i, "Sharma", "MRN-1"));
+        }
+
+        assertEquals(List.of(1L), ids(segment.search("MRN-1", 10, 500)));
+        PatientSearchEntry sameMobile = new PatientSearchEntry(0, "Ravi199", "Sharma", "9820000001", null, null,
+                DOB, Gender.MALE);
+        assertEquals(List.of(1L), ids(segment.duplicates(sameMobile, 60, 10)));
+    }
+
+    @Test
+    void aKeySharedByTooManyLivePatientsStopsGrowing() {
+        PatientSearchSegment segment = new PatientSearchSegment(16);
+        for (int id = 1; id <= 100; id++) {
+            segment.upsert(entry(id, "Patient" + id, "Placeholder", "UNKNOWN"));
+        }
+
+        assertEquals(64, segment.search("UNKNOWN", 100, 500).size());
+    }
+
+    @Test
+    void compactDropsTombstonesAndKeepsEveryLivePatient() {
+        PatientSearchSegment segment = new PatientSearchSegment(16);
+        for (int id = 1; id <= 50; id++) {
+            segment.upsert(entry(id, "Ravi", "Sharma" + id, "MRN-" + id));
+            segment.upsert(entry(id, "Asha", "Sharma" + id, "MRN-" + id));
+        }
+        segment.remove(50);
+
+        PatientSearchSegment compacted = segment.compact();
+
+        assertEquals(51, segment.tombstones());
+        assertEquals(49, compacted.size());
+        assertEquals(0, compacted.tombstones());
+        assertEquals(List.of(), ids(compacted.search("ravi", 100, 500)));
+        assertEquals(49, compacted.search("asha", 100, 500).size());
+        assertEquals(List.of(7L), ids(compacted.search("MRN-7", 10, 500)));
+    }
+
+    private static PatientSearchEntry entry(long id, String firstName, String lastName, String fileNumber) {
+        return new PatientSearchEntry(id, firstName, lastName, "98200" + String.format("%05d", id), fileNumber,
+                null, DOB, Gender.MALE);
+    }
+
+    private static List<Long> ids(List<PatientSearchSegment.Match> matches) {
+        return matches.stream().map(match -> match.entry().id).toList();
+    }
+}
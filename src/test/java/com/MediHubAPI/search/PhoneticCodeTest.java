@@ -0,0 +1,48 @@
+package com.MediHubAPI.search;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneticCodeTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "kumar,    2560",
+            "mohammed, 5530",
+            // a vowel opens as 7 and separates repeated consonants; h does not
+            "ashok,    7220",
+            "shah,     2000",
+            "a,        7000",
+            // only the first run of letters counts
+            "r2d2,     6000",
+            "123,      -1",
+            "'',       -1",
+    })
+    void codes(String token, int expected) {
+        assertEquals(expected, PhoneticCode.of(token));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "kumar,    cumar",
+            "mohammed, muhammad",
+            "shah,     sha",
+            "singh,    sing",
+            "rao,      rau",
+    })
+    void spellingVariantsShareACode(String a, String b) {
+        assertEquals(PhoneticCode.of(a), PhoneticCode.of(b));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "ravi,  asha",
+            "kumar, kapoor",
+            "patel, pal",
+    })
+    void differentNamesDoNot(String a, String b) {
+        assertNotEquals(PhoneticCode.of(a), PhoneticCode.of(b));
+    }
+}
@@ -10,11 +10,15 @@ import com.MediHubAPI.model.User;
 import com.MediHubAPI.model.enums.AppointmentStatus;
 import com.MediHubAPI.model.enums.AppointmentType;
 import com.MediHubAPI.model.enums.SlotStatus;
+import com.MediHubAPI.monitoring.BookingMetrics;
+import com.MediHubAPI.query.AppointmentQueries;
 import com.MediHubAPI.repository.AppointmentRepository;
 import com.MediHubAPI.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -44,6 +48,12 @@ class AppointmentServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    @Mock
+    private AppointmentQueries appointmentQueries;
+
     @InjectMocks
     private AppointmentServiceImpl appointmentService;
 
@@ -62,6 +72,8 @@ class AppointmentServiceImplTest {
         slot.setStatus(SlotStatus.AVAILABLE);
         slot.setStartTime(LocalTime.of(10, 0));
         slot.setEndTime(LocalTime.of(10, 30));
+        ReflectionTestUtils.setField(appointmentService, "exportFetchSize", 500);
+        ReflectionTestUtils.setField(appointmentService, "exportMaxDays", 31);
     }
 
 
@@ -236,6 +248,28 @@ class AppointmentServiceImplTest {
         verify(appointmentRepository, atLeastOnce()).save(any());
     }
 
+    @Test
+    void exportRejectsFromAfterTo() {
+        HospitalAPIException ex = assertThrows(HospitalAPIException.class,
+                () -> appointmentService.exportAppointments(date, date.minusDays(1), null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+        verifyNoInteractions(appointmentQueries);
+    }
+
+    @Test
+    void exportRejectsRangeOfMaxDays() {
+        HospitalAPIException ex = assertThrows(HospitalAPIException.class,
+                () -> appointmentService.exportAppointments(date, date.plusDays(31), null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+    }
 
+    @Test
+    void exportAcceptsSingleDayAndLongestRange() {
+        assertNotNull(appointmentService.exportAppointments(date, date, null, null));
+
+        appointmentService.exportAppointments(date, date.plusDays(30), null, AppointmentStatus.BOOKED)
+                .forEach(row -> { });
 
-}
\ No newline at end of file
+        verify(appointmentQueries).stream(any(), any(), eq(500), any());
+    }
+}
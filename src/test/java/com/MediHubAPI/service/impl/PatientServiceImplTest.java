@@ -0,0 +1,118 @@
+package com.MediHubAPI.service.impl;
+
+import com.MediHubAPI.dto.PatientCreateDto;
+import com.MediHubAPI.dto.PatientSuggestionDto;
+import com.MediHubAPI.exception.HospitalAPIException;
+import com.MediHubAPI.factory.PatientFactory;
+import com.MediHubAPI.model.Patient;
+import com.MediHubAPI.photo.PhotoStore;
+import com.MediHubAPI.repository.PatientRepository;
+import com.MediHubAPI.search.PatientSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PatientServiceImplTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PatientFactory patientFactory;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @Mock
+    private ObjectProvider<PatientSearchIndex> searchIndex;
+
+    @Mock
+    private PhotoStore photoStore;
+
+    @Mock
+    private PatientSearchIndex index;
+
+    @InjectMocks
+    private PatientServiceImpl patientService;
+
+    private final PatientCreateDto dto = new PatientCreateDto();
+    private final Patient patient = new Patient();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dto.setFirstName("Ravi");
+        dto.setLastName("Sharma");
+        when(patientFactory.createPatient(dto)).thenReturn(patient);
+        when(patientRepository.save(patient)).thenReturn(patient);
+        when(searchIndex.getIfAvailable()).thenReturn(index);
+    }
+
+    @Test
+    void registrationResemblingAPatientIsRefusedWith409() {
+        when(index.findDuplicates(eq(patient), anyInt())).thenReturn(List.of(candidate(42, 75), candidate(7, 61)));
+
+        HospitalAPIException ex = assertThrows(HospitalAPIException.class,
+                () -> patientService.registerPatient(dto, false));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+        assertTrue(ex.getMessage().contains("42 (score 75)"), ex.getMessage());
+        assertTrue(ex.getMessage().contains("7 (score 61)"), ex.getMessage());
+        verify(patientRepository, never()).save(any());
+    }
+
+    @Test
+    void confirmNewRegistersWithoutLookingForDuplicates() {
+        patientService.registerPatient(dto, true);
+
+        verify(patientRepository).save(patient);
+        verifyNoInteractions(index);
+    }
+
+    @Test
+    void registrationWithoutCandidatesIsSaved() {
+        when(index.findDuplicates(eq(patient), anyInt())).thenReturn(List.of());
+
+        patientService.registerPatient(dto, false);
+
+        verify(patientRepository).save(patient);
+    }
+
+    @Test
+    void duplicatesAreLookedUpEvenWhileTheIndexBuilds() {
+        // the index reads candidates from the database until it is ready
+        when(index.isReady()).thenReturn(false);
+        when(index.findDuplicates(eq(patient), anyInt())).thenReturn(List.of(candidate(42, 75)));
+
+        assertThrows(HospitalAPIException.class, () -> patientService.registerPatient(dto, false));
+        assertEquals(1, patientService.findDuplicates(dto).size());
+    }
+
+    @Test
+    void withTheIndexDisabledRegistrationIsNotChecked() {
+        when(searchIndex.getIfAvailable()).thenReturn(null);
+
+        patientService.registerPatient(dto, false);
+
+        verify(patientRepository).save(patient);
+        assertEquals(List.of(), patientService.findDuplicates(dto));
+    }
+
+    private static PatientSuggestionDto candidate(long id, int score) {
+        PatientSuggestionDto candidate = new PatientSuggestionDto();
+        candidate.setId(id);
+        candidate.setScore(score);
+        return candidate;
+    }
+}